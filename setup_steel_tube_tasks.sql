@@ -4,65 +4,73 @@
 
 -- Primeiro, eliminar todas as tarefas existentes
 DELETE FROM task_comments WHERE task_id IN (SELECT id FROM tasks);
+DELETE FROM task_tags;
 DELETE FROM tasks;
 
--- Reiniciar o AUTO_INCREMENT 
-ALTER TABLE tasks AUTO_INCREMENT = 1;
+-- Os IDs das tarefas vêm do gerador da aplicação (linha 'tasks' de id_generators), não de
+-- AUTO_INCREMENT: reservar aqui um bloco acima do próximo valor do gerador, com a margem de
+-- um bloco da aplicação (50), para não usar IDs que uma instância em execução já reservou.
+-- Correr depois de a aplicação ter arrancado uma vez (cria as tabelas e o gerador) e
+-- reiniciá-la no fim, para preencher as colunas de ordenação, as etiquetas e o índice de pesquisa.
+START TRANSACTION;
+SELECT next_val INTO @task_id FROM id_generators WHERE name = 'tasks' FOR UPDATE;
+UPDATE id_generators SET next_val = next_val + 27 + 50 WHERE name = 'tasks';
+COMMIT;
 
 -- ========================================
 -- TAREFAS POR EQUIPA
 -- ========================================
 
 -- ============ DIREÇÃO (ID: 18) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Planeamento Estratégico 2025', 'Definir objetivos estratégicos da empresa para o próximo ano, incluindo metas de vendas e expansão de mercado', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 15 DAY), 'estrategia,planeamento', 40),
-('Reunião com Investidores', 'Apresentar resultados do trimestre e discutir planos de investimento em novas linhas de produção', 'EM_ANDAMENTO', 'URGENTE', 68, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'investidores,financeiro', 8),
-('Certificação ISO 9001', 'Coordenar processo de renovação da certificação ISO 9001 para garantir qualidade dos tubos de aço', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 45 DAY), 'certificacao,qualidade', 60);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 1, FALSE, 'Planeamento Estratégico 2025', 'Definir objetivos estratégicos da empresa para o próximo ano, incluindo metas de vendas e expansão de mercado', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 15 DAY), 'estrategia,planeamento', 40),
+(@task_id + 2, FALSE, 'Reunião com Investidores', 'Apresentar resultados do trimestre e discutir planos de investimento em novas linhas de produção', 'EM_ANDAMENTO', 'URGENTE', 68, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'investidores,financeiro', 8),
+(@task_id + 3, FALSE, 'Certificação ISO 9001', 'Coordenar processo de renovação da certificação ISO 9001 para garantir qualidade dos tubos de aço', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 45 DAY), 'certificacao,qualidade', 60);
 
 -- ============ GESTÃO ADMINISTRATIVA (ID: 19) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Implementação Sistema ERP', 'Supervisionar implementação do novo sistema ERP para gestão integrada da empresa', 'EM_ANDAMENTO', 'ALTA', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 60 DAY), 'erp,sistema,gestao', 120),
-('Auditoria Anual Contabilidade', 'Coordenar auditoria anual dos registos contabilísticos e fiscais da empresa', 'PENDENTE', 'NORMAL', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 30 DAY), 'auditoria,contabilidade', 24),
-('Políticas de Recursos Humanos', 'Atualizar manual de políticas de RH incluindo procedimentos de segurança na produção', 'PENDENTE', 'NORMAL', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 20 DAY), 'rh,politicas,seguranca', 16);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 4, FALSE, 'Implementação Sistema ERP', 'Supervisionar implementação do novo sistema ERP para gestão integrada da empresa', 'EM_ANDAMENTO', 'ALTA', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 60 DAY), 'erp,sistema,gestao', 120),
+(@task_id + 5, FALSE, 'Auditoria Anual Contabilidade', 'Coordenar auditoria anual dos registos contabilísticos e fiscais da empresa', 'PENDENTE', 'NORMAL', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 30 DAY), 'auditoria,contabilidade', 24),
+(@task_id + 6, FALSE, 'Políticas de Recursos Humanos', 'Atualizar manual de políticas de RH incluindo procedimentos de segurança na produção', 'PENDENTE', 'NORMAL', 41, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 20 DAY), 'rh,politicas,seguranca', 16);
 
 -- ============ COMERCIAL (ID: 20) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Prospecção Mercado Construção Civil', 'Identificar e contactar potenciais clientes no setor da construção civil para tubos estruturais', 'EM_ANDAMENTO', 'ALTA', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 10 DAY), 'prospeccao,construcao', 20),
-('Catálogo Produtos 2025', 'Criar novo catálogo com especificações técnicas de todos os tipos de tubos de aço disponíveis', 'PENDENTE', 'NORMAL', 71, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 25 DAY), 'catalogo,marketing', 30),
-('Proposta Cliente ABC Construções', 'Elaborar proposta comercial detalhada para fornecimento de 500 toneladas de tubos galvanizados', 'URGENTE', 'URGENTE', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 2 DAY), 'proposta,cliente', 4),
-('Feira Internacional do Aço', 'Organizar participação na feira internacional do aço em Madrid - stand e apresentações', 'PENDENTE', 'NORMAL', 71, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 90 DAY), 'feira,internacional', 50);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 7, FALSE, 'Prospecção Mercado Construção Civil', 'Identificar e contactar potenciais clientes no setor da construção civil para tubos estruturais', 'EM_ANDAMENTO', 'ALTA', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 10 DAY), 'prospeccao,construcao', 20),
+(@task_id + 8, FALSE, 'Catálogo Produtos 2025', 'Criar novo catálogo com especificações técnicas de todos os tipos de tubos de aço disponíveis', 'PENDENTE', 'NORMAL', 71, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 25 DAY), 'catalogo,marketing', 30),
+(@task_id + 9, FALSE, 'Proposta Cliente ABC Construções', 'Elaborar proposta comercial detalhada para fornecimento de 500 toneladas de tubos galvanizados', 'PENDENTE', 'URGENTE', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 2 DAY), 'proposta,cliente', 4),
+(@task_id + 10, FALSE, 'Feira Internacional do Aço', 'Organizar participação na feira internacional do aço em Madrid - stand e apresentações', 'PENDENTE', 'NORMAL', 71, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 90 DAY), 'feira,internacional', 50);
 
 -- ============ COMPRAS (ID: 21) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Negociação Fornecedores Aço', 'Renegociar contratos com fornecedores de aço bruto para reduzir custos em 15%', 'EM_ANDAMENTO', 'ALTA', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 14 DAY), 'fornecedores,negociacao', 25),
-('Qualificação Novos Fornecedores', 'Avaliar e qualificar novos fornecedores de matéria-prima na Europa de Leste', 'PENDENTE', 'NORMAL', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 40 DAY), 'fornecedores,qualificacao', 35),
-('Compra Equipamentos Galvanização', 'Processar compra de novos equipamentos para linha de galvanização dos tubos', 'URGENTE', 'URGENTE', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 5 DAY), 'equipamentos,galvanizacao', 8);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 11, FALSE, 'Negociação Fornecedores Aço', 'Renegociar contratos com fornecedores de aço bruto para reduzir custos em 15%', 'EM_ANDAMENTO', 'ALTA', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 14 DAY), 'fornecedores,negociacao', 25),
+(@task_id + 12, FALSE, 'Qualificação Novos Fornecedores', 'Avaliar e qualificar novos fornecedores de matéria-prima na Europa de Leste', 'PENDENTE', 'NORMAL', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 40 DAY), 'fornecedores,qualificacao', 35),
+(@task_id + 13, FALSE, 'Compra Equipamentos Galvanização', 'Processar compra de novos equipamentos para linha de galvanização dos tubos', 'PENDENTE', 'URGENTE', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 5 DAY), 'equipamentos,galvanizacao', 8);
 
 -- ============ LOGÍSTICA (ID: 22) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Otimização Rotas Distribuição', 'Analisar e otimizar rotas de distribuição para reduzir custos de transporte em 20%', 'PENDENTE', 'ALTA', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 21 DAY), 'distribuicao,otimizacao', 28),
-('Sistema Rastreamento Cargas', 'Implementar sistema de rastreamento GPS para todos os camiões de distribuição', 'EM_ANDAMENTO', 'NORMAL', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 35 DAY), 'rastreamento,tecnologia', 40),
-('Ampliação Armazém Principal', 'Coordenar obras de ampliação do armazém para acomodar aumento de 40% no stock', 'PENDENTE', 'ALTA', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 120 DAY), 'armazem,ampliacao', 80);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 14, FALSE, 'Otimização Rotas Distribuição', 'Analisar e otimizar rotas de distribuição para reduzir custos de transporte em 20%', 'PENDENTE', 'ALTA', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 21 DAY), 'distribuicao,otimizacao', 28),
+(@task_id + 15, FALSE, 'Sistema Rastreamento Cargas', 'Implementar sistema de rastreamento GPS para todos os camiões de distribuição', 'EM_ANDAMENTO', 'NORMAL', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 35 DAY), 'rastreamento,tecnologia', 40),
+(@task_id + 16, FALSE, 'Ampliação Armazém Principal', 'Coordenar obras de ampliação do armazém para acomodar aumento de 40% no stock', 'PENDENTE', 'ALTA', NULL, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 120 DAY), 'armazem,ampliacao', 80);
 
 -- ============ PRODUÇÃO (ID: 23) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Manutenção Preventiva Máquinas', 'Executar manutenção preventiva em todas as máquinas de corte e soldadura', 'PENDENTE', 'URGENTE', 61, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 3 DAY), 'manutencao,maquinas', 16),
-('Linha Produção Tubos Inox', 'Configurar nova linha de produção especializada em tubos de aço inoxidável', 'EM_ANDAMENTO', 'ALTA', 63, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 45 DAY), 'inox,linha-producao', 60),
-('Controle Qualidade Soldaduras', 'Implementar novos procedimentos de controle de qualidade para soldaduras dos tubos', 'PENDENTE', 'ALTA', 61, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 18 DAY), 'qualidade,soldadura', 24),
-('Produção Lote Especial', 'Produzir lote especial de 200 tubos com especificações personalizadas para cliente VIP', 'URGENTE', 'URGENTE', 63, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 4 DAY), 'lote-especial,vip', 12);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 17, FALSE, 'Manutenção Preventiva Máquinas', 'Executar manutenção preventiva em todas as máquinas de corte e soldadura', 'PENDENTE', 'URGENTE', 61, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 3 DAY), 'manutencao,maquinas', 16),
+(@task_id + 18, FALSE, 'Linha Produção Tubos Inox', 'Configurar nova linha de produção especializada em tubos de aço inoxidável', 'EM_ANDAMENTO', 'ALTA', 63, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 45 DAY), 'inox,linha-producao', 60),
+(@task_id + 19, FALSE, 'Controle Qualidade Soldaduras', 'Implementar novos procedimentos de controle de qualidade para soldaduras dos tubos', 'PENDENTE', 'ALTA', 61, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 18 DAY), 'qualidade,soldadura', 24),
+(@task_id + 20, FALSE, 'Produção Lote Especial', 'Produzir lote especial de 200 tubos com especificações personalizadas para cliente VIP', 'PENDENTE', 'URGENTE', 63, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 4 DAY), 'lote-especial,vip', 12);
 
 -- ============ APOIO AO CLIENTE (ID: 24) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Manual Técnico Instalação', 'Criar manual técnico detalhado para instalação de tubos estruturais em construções', 'PENDENTE', 'NORMAL', 46, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 30 DAY), 'manual,instalacao', 20),
-('Formação Equipa Suporte', 'Formar equipa de suporte técnico sobre novas especificações de tubos galvanizados', 'EM_ANDAMENTO', 'NORMAL', 66, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 14 DAY), 'formacao,suporte', 16),
-('Sistema Tickets Online', 'Implementar sistema online para gestão de tickets de suporte e reclamações', 'PENDENTE', 'ALTA', 46, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 40 DAY), 'sistema,tickets', 35),
-('Resolução Reclamação Urgente', 'Resolver reclamação urgente sobre qualidade de tubos fornecidos à empresa XYZ', 'URGENTE', 'URGENTE', 66, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 1 DAY), 'reclamacao,qualidade', 6);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 21, FALSE, 'Manual Técnico Instalação', 'Criar manual técnico detalhado para instalação de tubos estruturais em construções', 'PENDENTE', 'NORMAL', 46, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 30 DAY), 'manual,instalacao', 20),
+(@task_id + 22, FALSE, 'Formação Equipa Suporte', 'Formar equipa de suporte técnico sobre novas especificações de tubos galvanizados', 'EM_ANDAMENTO', 'NORMAL', 66, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 14 DAY), 'formacao,suporte', 16),
+(@task_id + 23, FALSE, 'Sistema Tickets Online', 'Implementar sistema online para gestão de tickets de suporte e reclamações', 'PENDENTE', 'ALTA', 46, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 40 DAY), 'sistema,tickets', 35),
+(@task_id + 24, FALSE, 'Resolução Reclamação Urgente', 'Resolver reclamação urgente sobre qualidade de tubos fornecidos à empresa XYZ', 'PENDENTE', 'URGENTE', 66, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 1 DAY), 'reclamacao,qualidade', 6);
 
 -- ============ FINANCEIRO (ID: 25) ============
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Análise Fluxo de Caixa', 'Analisar projeção de fluxo de caixa para próximos 6 meses considerando novos investimentos', 'EM_ANDAMENTO', 'ALTA', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 12 DAY), 'fluxo-caixa,analise', 18),
-('Relatório Rentabilidade Produtos', 'Gerar relatório detalhado de rentabilidade por tipo de tubo produzido', 'PENDENTE', 'NORMAL', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 20 DAY), 'rentabilidade,relatorio', 12),
-('Negociação Financiamento', 'Negociar condições de financiamento bancário para expansão da fábrica', 'URGENTE', 'URGENTE', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'financiamento,banco', 10);
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 25, FALSE, 'Análise Fluxo de Caixa', 'Analisar projeção de fluxo de caixa para próximos 6 meses considerando novos investimentos', 'EM_ANDAMENTO', 'ALTA', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 12 DAY), 'fluxo-caixa,analise', 18),
+(@task_id + 26, FALSE, 'Relatório Rentabilidade Produtos', 'Gerar relatório detalhado de rentabilidade por tipo de tubo produzido', 'PENDENTE', 'NORMAL', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 20 DAY), 'rentabilidade,relatorio', 12),
+(@task_id + 27, FALSE, 'Negociação Financiamento', 'Negociar condições de financiamento bancário para expansão da fábrica', 'PENDENTE', 'URGENTE', 42, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'financiamento,banco', 10);
 
 -- ========================================
 -- INFORMAÇÕES ADICIONAIS
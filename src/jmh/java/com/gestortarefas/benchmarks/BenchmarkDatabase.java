@@ -0,0 +1,115 @@
+package com.gestortarefas.benchmarks;
+
+import com.gestortarefas.BackendOnlyApplication;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TeamRepository;
+import com.gestortarefas.repository.UserRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Backend completo (Spring Boot) sobre uma base H2 em memória, com os dados iniciais
+ * (RealUsersInitializer) mais "tasks" tarefas geradas, distribuídas pelos utilizadores e
+ * equipas com estados, prioridades e datas variados. As tarefas são gravadas pelos
+ * repositórios, pelo que os índices e agregados em memória ficam coerentes.
+ * Uma instância por valor de "tasks" (arranque e carga fora da medição).
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    private static final int SEED_BATCH = 1000;
+
+    @Param({"1000", "10000", "50000"})
+    public int tasks;
+
+    public ConfigurableApplicationContext context;
+    public User admin;
+    public List<Team> teams;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Os controllers escrevem em System.out a cada pedido
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        // Argumentos de linha de comandos: sobrepõem-se a application.properties
+        context = new SpringApplicationBuilder(BackendOnlyApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark-" + tasks + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.devtools.restart.enabled=false",
+            "--logging.level.root=WARN",
+            // Sem tarefas periódicas durante a medição
+            "--gestortarefas.archive.initial-delay-ms=86400000",
+            "--gestortarefas.retention.cron=-");
+
+        admin = bean(UserRepository.class).findByUsername("martim.sottomayor").orElseThrow();
+        teams = bean(TeamRepository.class).findAll();
+        seedTasks();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seedTasks() {
+        List<User> users = bean(UserRepository.class).findAll();
+        TaskRepository taskRepository = bean(TaskRepository.class);
+        TransactionTemplate transaction = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int start = 0; start < tasks; start += SEED_BATCH) {
+            int end = Math.min(start + SEED_BATCH, tasks);
+            int first = start;
+            transaction.executeWithoutResult(status -> {
+                List<Task> batch = new ArrayList<>();
+                for (int i = first; i < end; i++) {
+                    User user = users.get(random.nextInt(users.size()));
+                    Task task = new Task("Tarefa " + i + " relatório " + (i % 97),
+                        "Descrição da tarefa gerada " + i, priorities[random.nextInt(priorities.length)], user);
+                    task.setCreatedBy(admin);
+                    if (random.nextInt(3) > 0) {
+                        task.setAssignedTeam(teams.get(random.nextInt(teams.size())));
+                    }
+                    task.setStatus(statuses[random.nextInt(statuses.length)]);
+                    task.setCreatedAt(now.minusDays(random.nextInt(365)));
+                    task.setDueDate(now.plusDays(random.nextInt(60) - 20));
+                    batch.add(task);
+                }
+                taskRepository.saveAll(batch);
+            });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gestortarefas.benchmarks;
+
+import com.gestortarefas.controller.DashboardController;
+import com.gestortarefas.model.User;
+import com.gestortarefas.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/dashboard/{employee,manager,admin}/{userId} (DashboardController): consultas
+ * das 4 colunas, contagens de comentários em lote e conversão para a resposta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DashboardBenchmark {
+
+    private DashboardController controller;
+    private Long employeeId;
+    private Long managerId;
+    private Long adminId;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        controller = database.bean(DashboardController.class);
+        List<User> users = database.bean(UserRepository.class).findAll();
+        employeeId = users.stream().filter(user -> !user.isManagerOrAbove()).findFirst().orElseThrow().getId();
+        managerId = users.stream().filter(user -> user.isManagerOrAbove() && !user.isAdmin()).findFirst().orElseThrow().getId();
+        adminId = database.admin.getId();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> employee() {
+        return controller.getEmployeeDashboard(employeeId, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> manager() {
+        return controller.getManagerDashboard(managerId, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> admin() {
+        return controller.getAdminDashboard(adminId, request());
+    }
+
+    /**
+     * Pedido sem If-None-Match: o dashboard é sempre construído
+     */
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/dashboard"));
+    }
+}
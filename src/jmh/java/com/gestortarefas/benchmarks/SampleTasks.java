@@ -0,0 +1,58 @@
+package com.gestortarefas.benchmarks;
+
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.model.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tarefas em memória (sem base de dados) para os benchmarks de conversão e serialização:
+ * 30 utilizadores, 8 equipas e estados, prioridades e datas variados, como nos dados iniciais
+ */
+public final class SampleTasks {
+
+    private SampleTasks() {
+    }
+
+    public static List<Task> create(int count) {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            User user = new User("utilizador" + id, "utilizador" + id + "@empresa.pt", "x",
+                "Utilizador " + id, id <= 3 ? UserRole.ADMINISTRADOR : id <= 10 ? UserRole.GERENTE : UserRole.FUNCIONARIO);
+            user.setId(id);
+            users.add(user);
+        }
+        List<Team> teams = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            Team team = new Team("Equipa " + id, "Descrição da equipa " + id, users.get((int) id + 1));
+            team.setId(id);
+            teams.add(team);
+        }
+
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Tarefa " + i, "Descrição da tarefa " + i,
+                priorities[random.nextInt(priorities.length)], users.get(random.nextInt(users.size())));
+            task.setId((long) i + 1);
+            task.setCreatedBy(users.get(0));
+            if (random.nextInt(3) > 0) {
+                task.setAssignedTeam(teams.get(random.nextInt(teams.size())));
+            }
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            task.setDueDate(now.plusDays(random.nextInt(60) - 20));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gestortarefas.benchmarks;
+
+import com.gestortarefas.controller.TaskController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tasks (TaskController.getAllTasks): filtros, ordenação e paginação na base de
+ * dados e conversão da página para a resposta, com e sem filtros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskListBenchmark {
+
+    private TaskController controller;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        controller = database.bean(TaskController.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> firstPage() {
+        return controller.getAllTasks(null, null, null, null, null, null, null,
+            "createdAt", "desc", 0, 50, null, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> statusFilterSortedByDueDate() {
+        return controller.getAllTasks("PENDENTE", null, null, null, null, null, null,
+            "dueDate", "asc", 0, 50, null, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> teamFilterSortedByPriority() {
+        return controller.getAllTasks(null, null, null, null, 2L, null, null,
+            "priority", "desc", 0, 50, null, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> textSearch() {
+        return controller.getAllTasks(null, null, null, null, null, null, "relatório 42",
+            "createdAt", "desc", 0, 50, null, request());
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> deepPage() {
+        return controller.getAllTasks(null, null, null, null, null, null, null,
+            "title", "asc", 100, 50, null, request());
+    }
+
+    /**
+     * Pedido sem If-None-Match: a resposta é sempre construída
+     */
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.gestortarefas.benchmarks;
+
+import com.gestortarefas.model.Team;
+import com.gestortarefas.service.TeamService;
+import com.gestortarefas.service.TeamStatsAggregate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TeamService.getTeamStats de todas as equipas: lendo as contagens mantidas em
+ * team_task_counts (caso normal) e depois de as reconstruir por GROUP BY (como após
+ * uma operação em lote).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TeamStatsBenchmark {
+
+    private BenchmarkDatabase database;
+    private TeamService teamService;
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        this.database = database;
+        teamService = database.bean(TeamService.class);
+        teamStatsAggregate = database.bean(TeamStatsAggregate.class);
+    }
+
+    @Benchmark
+    public void allTeams(Blackhole blackhole) {
+        for (Team team : database.teams) {
+            blackhole.consume(teamService.getTeamStats(team.getId(), database.admin));
+        }
+    }
+
+    @Benchmark
+    public void allTeamsAfterRebuild(Blackhole blackhole) {
+        teamStatsAggregate.rebuild();
+        for (Team team : database.teams) {
+            blackhole.consume(teamService.getTeamStats(team.getId(), database.admin));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.gestortarefas.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sha256PasswordEncoder.matches, executado em cada pedido autenticado por HTTP Basic
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordEncoderBenchmark {
+
+    private final Sha256PasswordEncoder encoder = new Sha256PasswordEncoder();
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        encoded = encoder.encode("martim.sottomayor123");
+    }
+
+    @Benchmark
+    public boolean matchesCorrect() {
+        return encoder.matches("martim.sottomayor123", encoded);
+    }
+
+    @Benchmark
+    public boolean matchesWrong() {
+        return encoder.matches("password-errada", encoded);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gestortarefas.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestortarefas.benchmarks.SampleTasks;
+import com.gestortarefas.dto.TaskView;
+import com.gestortarefas.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de uma listagem de tarefas: entidades Task (com utilizador, equipa e
+ * criador) contra os mapas de resposta de TaskController (TaskView + createTaskResponse),
+ * com a conversão incluída ou já feita. ObjectMapper com a configuração base do Spring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskJsonBenchmark {
+
+    @Param({"50", "1000"})
+    public int tasks;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TaskController controller = new TaskController();
+    private List<Task> entities;
+    private List<Map<String, Object>> responses;
+
+    @Setup
+    public void setup() {
+        entities = SampleTasks.create(tasks);
+        responses = toResponses();
+    }
+
+    @Benchmark
+    public byte[] entities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] responseMaps() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toResponses());
+    }
+
+    @Benchmark
+    public byte[] responseMapsPrebuilt() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private List<Map<String, Object>> toResponses() {
+        return entities.stream().map(task -> controller.createTaskResponse(TaskView.from(task))).toList();
+    }
+}
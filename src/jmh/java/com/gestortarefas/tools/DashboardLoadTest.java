@@ -0,0 +1,109 @@
+package com.gestortarefas.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CLI load test for the dashboard endpoints, used to compare the default (platform threads)
+ * and "virtual" (virtual threads) server modes under a login burst.
+ * Each client sends requests back to back, without If-None-Match, so every request reaches
+ * the database. Prints throughput, error counts and latency percentiles.
+ *
+ * Usage: java com.gestortarefas.tools.DashboardLoadTest <user> <password> <clients> <seconds> [baseUrl] [paths]
+ * paths is a comma separated list, by default /api/dashboard/admin/1,/api/dashboard/manager/1,/api/dashboard/employee/1
+ */
+public class DashboardLoadTest {
+
+    private static final String DEFAULT_PATHS =
+        "/api/dashboard/admin/1,/api/dashboard/manager/1,/api/dashboard/employee/1";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.out.println("Usage: java com.gestortarefas.tools.DashboardLoadTest <user> <password> <clients> <seconds> [baseUrl] [paths]");
+            System.exit(1);
+        }
+
+        String credentials = Base64.getEncoder()
+            .encodeToString((args[0] + ":" + args[1]).getBytes(StandardCharsets.UTF_8));
+        int clients = Integer.parseInt(args[2]);
+        long durationMs = Long.parseLong(args[3]) * 1000;
+        String baseUrl = args.length > 4 ? args[4] : "http://localhost:8080";
+        String[] paths = (args.length > 5 ? args[5] : DEFAULT_PATHS).split(",");
+
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newFixedThreadPool(Math.min(clients, 64)))
+            .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path.trim()))
+                .header("Authorization", "Basic " + credentials)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build());
+        }
+
+        System.out.println("Load test: " + clients + " clients for " + args[3] + "s against " + baseUrl);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        long end = start + durationMs;
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int offset = c;
+            pool.submit(() -> {
+                int i = offset;
+                List<Long> own = new ArrayList<>();
+                while (System.currentTimeMillis() < end) {
+                    HttpRequest request = requests.get(i++ % requests.size());
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        } else if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    own.add(System.nanoTime() - t0);
+                }
+                latencies.addAll(own);
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(durationMs + 120_000, TimeUnit.MILLISECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.println("Requests:   " + sorted.size() + " (" + errors.get() + " errors, " + rejected.get() + " rejected with 503)");
+        System.out.printf("Throughput: %.1f req/s%n", sorted.size() * 1000.0 / elapsed);
+        System.out.println("Latency ms: p50=" + percentile(sorted, 50) + " p95=" + percentile(sorted, 95)
+            + " p99=" + percentile(sorted, 99) + " max=" + percentile(sorted, 100));
+        System.exit(0);
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(index, 0)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.gestortarefas.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita o número de pedidos à API processados em simultâneo.
+ *
+ * Com threads virtuais (perfil "virtual") o Tomcat deixa de ter um máximo de threads:
+ * um pico de logins criaria centenas de pedidos à espera de ligação no pool do Hikari,
+ * que acabariam em erro ao fim do connection-timeout. Este filtro deixa entrar no máximo
+ * maxConcurrent pedidos; os restantes esperam por vez (por ordem de chegada) até
+ * acquireTimeoutMs e, se não a obtiverem, recebem 503 com Retry-After.
+ *
+ * Um pedido assíncrono (ex.: a exportação em streaming, que lê da base de dados durante
+ * toda a escrita) mantém a vaga até terminar, e não apenas até o thread do pedido sair
+ * do filtro. A exceção é o stream de eventos (/api/events): usa a base de dados só ao
+ * abrir (utilizador e equipas) e fica fora do open-in-view (WebConfig), pelo que não
+ * segura nenhuma ligação enquanto está aberto e liberta a vaga quando o stream começa.
+ * Só é ativo com gestortarefas.db.max-concurrent-requests definido.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "gestortarefas.db.max-concurrent-requests")
+public class DatabaseConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyFilter.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+
+    public DatabaseConcurrencyFilter(@Value("${gestortarefas.db.max-concurrent-requests}") int maxConcurrent,
+                                     @Value("${gestortarefas.db.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+                                     MeterRegistry meterRegistry) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("gestortarefas.db.max-concurrent-requests deve ser positivo");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejected = meterRegistry.counter("gestortarefas.db.requests.rejected");
+        Gauge.builder("gestortarefas.db.requests.active", permits, p -> maxConcurrent - p.availablePermits())
+            .register(meterRegistry);
+        Gauge.builder("gestortarefas.db.requests.waiting", permits, Semaphore::getQueueLength)
+            .register(meterRegistry);
+        logger.info("Limite de pedidos simultâneos à API: {} (espera máxima {} ms)", maxConcurrent, acquireTimeoutMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servidor ocupado (" + maxConcurrent + " pedidos em curso), tente novamente");
+            return;
+        }
+        boolean releaseOnComplete = false;
+        try {
+            chain.doFilter(request, response);
+            releaseOnComplete = request.isAsyncStarted() && !isEventStream(request);
+        } finally {
+            if (releaseOnComplete) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length()).startsWith("/api/events");
+    }
+
+    /**
+     * Liberta a vaga de um pedido assíncrono quando termina (onError e onTimeout são
+     * seguidos de onComplete; a vaga é libertada uma só vez)
+     */
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Novo ciclo assíncrono no mesmo pedido: os listeners têm de voltar a ser registados
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.gestortarefas.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Taxa de acertos da cache de segundo nível por região (gestortarefas.cache.hit.ratio),
+ * incluindo a dos resultados de consultas, desde o arranque. Os contadores de acertos/falhas
+ * em bruto já existem em hibernate.second.level.cache.requests (hibernate-micrometer).
+ */
+@Component
+public class HibernateCacheMetrics {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void register() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Gauge.builder("gestortarefas.cache.hit.ratio", regionStatistics,
+                    r -> ratio(r.getHitCount(), r.getMissCount()))
+                .description("Acertos / pedidos à cache de segundo nível")
+                .tag("region", region)
+                .register(meterRegistry);
+        }
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
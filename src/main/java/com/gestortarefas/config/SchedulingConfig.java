@@ -0,0 +1,12 @@
+package com.gestortarefas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Ativa as tarefas periódicas (@Scheduled), ex.: movimento de tarefas arquivadas
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
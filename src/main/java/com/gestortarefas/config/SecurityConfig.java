@@ -60,7 +60,7 @@ public class SecurityConfig {
                 // Endpoints públicos
                 .requestMatchers("/", "/actuator/health", "/error", "/api/users/login").permitAll()
                 // Endpoints de dashboard temporariamente públicos para funcionamento do frontend
-                .requestMatchers("/api/dashboard/**", "/api/users/**", "/api/teams/**", "/api/tasks/**").permitAll()
+                .requestMatchers("/api/dashboard/**", "/api/users/**", "/api/teams/**", "/api/tasks/**", "/api/events").permitAll()
                 // Todas as outras requisições requerem autenticação
                 .anyRequest().authenticated()
             )
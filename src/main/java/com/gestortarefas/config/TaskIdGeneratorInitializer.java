@@ -0,0 +1,55 @@
+package com.gestortarefas.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Acerta o gerador de IDs das tarefas (linha "tasks" de id_generators) antes de
+ * qualquer insert.
+ *
+ * As tarefas existentes podem ter IDs atribuídos por AUTO_INCREMENT (antes do gerador
+ * por tabela); o próximo valor é colocado acima do maior ID (incluindo o arquivo), com
+ * a margem de um bloco, para que o gerador nunca devolva um ID já usado.
+ */
+@Component
+public class TaskIdGeneratorInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIdGeneratorInitializer.class);
+
+    // Igual ao allocationSize do @TableGenerator de Task
+    private static final long ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Garante que o esquema (tasks, id_generators) já foi criado/atualizado pelo Hibernate
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void seed() {
+        // Tarefas movidas para o arquivo mantêm o ID e podem voltar a tasks
+        Long maxId = Math.max(
+            jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class),
+            jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM archived_tasks", Long.class));
+        long minNext = maxId + ALLOCATION_SIZE + 1;
+
+        List<Long> current = jdbcTemplate.queryForList(
+            "SELECT next_val FROM id_generators WHERE name = 'tasks'", Long.class);
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO id_generators (name, next_val) VALUES ('tasks', ?)", minNext);
+        } else if (current.get(0) < minNext) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = 'tasks'", minNext);
+        } else {
+            return;
+        }
+        logger.info("Gerador de IDs de tarefas iniciado em {}", minNext);
+    }
+}
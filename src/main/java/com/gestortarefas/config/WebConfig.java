@@ -0,0 +1,95 @@
+package com.gestortarefas.config;
+
+import com.gestortarefas.service.SqlStatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-in-view (sessão JPA aberta até ao fim do pedido) em todos os pedidos exceto:
+ * - nos dashboards de gerente e administrador, cujas consultas correm em paralelo noutros
+ *   threads (DashboardQueryExecutor) e não devem segurar uma ligação do pool à espera delas;
+ * - nos pedidos assíncronos de longa duração (stream de eventos /api/events e exportação
+ *   /api/tasks/export), em que a sessão ficaria aberta, com a sua ligação, até ao fim do
+ *   stream; as suas consultas usam transações curtas dos serviços.
+ * Substitui o registo automático do Spring Boot (spring.jpa.open-in-view).
+ *
+ * Regista também, por endpoint, as instruções SQL de cada pedido à API
+ * (gestortarefas.http.sql.statements e gestortarefas.http.sql.time).
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementInterceptor()).addPathPatterns("/api/**");
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+            .excludePathPatterns("/api/dashboard/manager/**", "/api/dashboard/admin/**",
+                "/api/events/**", "/api/tasks/export");
+    }
+
+    /**
+     * Conta as instruções SQL do pedido (SqlStatementStatistics) e regista-as com o padrão
+     * do endpoint, como em http.server.requests. Nos pedidos assíncronos (ex.: exportação)
+     * conta só a parte síncrona.
+     */
+    private class SqlStatementInterceptor implements AsyncHandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (request.getDispatcherType() != DispatcherType.ASYNC) {
+                SqlStatementStatistics.begin();
+            }
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            afterCompletion(request, response, handler, null);
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            SqlStatementStatistics.Usage usage = SqlStatementStatistics.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (usage == null || pattern == null) {
+                return;
+            }
+            String uri = pattern.toString();
+            String method = request.getMethod();
+            DistributionSummary.builder("gestortarefas.http.sql.statements")
+                .description("Instruções SQL executadas pelo Hibernate por pedido")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(usage.getStatements());
+            Timer.builder("gestortarefas.http.sql.time")
+                .description("Tempo no JDBC por pedido")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(usage.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
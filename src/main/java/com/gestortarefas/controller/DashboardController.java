@@ -1,21 +1,30 @@
 package com.gestortarefas.controller;
 
+import com.gestortarefas.dto.TaskView;
 import com.gestortarefas.model.Task;
 import com.gestortarefas.model.Team;
 import com.gestortarefas.model.User;
 import com.gestortarefas.repository.TaskCommentReadRepository;
 import com.gestortarefas.repository.TaskCommentRepository;
+import com.gestortarefas.service.DashboardQueryExecutor;
+import com.gestortarefas.service.DataVersion;
 import com.gestortarefas.service.TaskService;
 import com.gestortarefas.service.TeamService;
+import com.gestortarefas.service.UnreadCommentCounters;
 import com.gestortarefas.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller REST para dashboards específicos por perfil
@@ -40,34 +49,47 @@ public class DashboardController {
     @Autowired
     private TaskCommentRepository taskCommentRepository;
 
+    @Autowired
+    private UnreadCommentCounters unreadCommentCounters;
+
+    @Autowired
+    private DashboardQueryExecutor dashboardQueries; // consultas dos dashboards de gerente/admin em paralelo
+
+    @Autowired
+    private MeterRegistry meterRegistry; // tempo de construção de cada dashboard (gestortarefas.dashboard)
+
+    @Autowired
+    private DataVersion dataVersion; // ETag das listagens (304 sem consultar a base de dados)
+
     /**
      * Dashboard do Funcionário - 4 colunas de tarefas
      */
     @GetMapping("/employee/{userId}")
-    public ResponseEntity<?> getEmployeeDashboard(@PathVariable Long userId) {
+    public ResponseEntity<?> getEmployeeDashboard(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             User user = userService.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Utilizador não encontrado"));
 
             Map<String, Object> dashboard = new HashMap<>();
+            dashboard.put("changesToken", taskService.currentChangeToken()); // lido antes das consultas (sincronização por /api/tasks/changes)
             
-            // 4 colunas do dashboard (com contagem de comentários não lidos)
-            dashboard.put("pending", enrichTasksWithUnreadComments(
-                taskService.getPendingTasksForUser(user), userId));
-            dashboard.put("today", enrichTasksWithUnreadComments(
-                taskService.getTodayTasksForUser(user), userId));
-            dashboard.put("overdue", enrichTasksWithUnreadComments(
-                taskService.getOverdueTasksForUser(user), userId));
-            dashboard.put("completed", enrichTasksWithUnreadComments(
-                taskService.getCompletedTasksForUser(user), userId));
+            // 4 colunas do dashboard (com contagem de comentários não lidos), obtidas numa só passagem
+            TaskService.DashboardColumns buckets = taskService.getEmployeeDashboard(user);
+            putEnrichedColumns(dashboard, userId, buckets.getPending(), buckets.getToday(),
+                buckets.getOverdue(), buckets.getCompleted());
             
             // Estatísticas do utilizador
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalTasks", taskService.findTasksByUser(user).size());
-            stats.put("pendingCount", taskService.getPendingTasksForUser(user).size());
-            stats.put("todayCount", taskService.getTodayTasksForUser(user).size());
-            stats.put("overdueCount", taskService.getOverdueTasksForUser(user).size());
-            stats.put("completedCount", taskService.getCompletedTasksForUser(user).size());
+            stats.put("totalTasks", (int) buckets.getTotalTasks());
+            stats.put("pendingCount", buckets.getPending().size());
+            stats.put("todayCount", buckets.getToday().size());
+            stats.put("overdueCount", buckets.getOverdue().size());
+            stats.put("completedCount", buckets.getCompleted().size());
             
             dashboard.put("stats", stats);
             dashboard.put("user", user);
@@ -77,6 +99,8 @@ public class DashboardController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            sample.stop(dashboardTimer("employee"));
         }
     }
 
@@ -84,7 +108,12 @@ public class DashboardController {
      * Dashboard do Gerente - tarefas das suas equipas
      */
     @GetMapping("/manager/{userId}")
-    public ResponseEntity<?> getManagerDashboard(@PathVariable Long userId) {
+    public ResponseEntity<?> getManagerDashboard(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             User manager = userService.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Gerente não encontrado"));
@@ -95,49 +124,51 @@ public class DashboardController {
             }
 
             Map<String, Object> dashboard = new HashMap<>();
+            dashboard.put("changesToken", taskService.currentChangeToken());
             
-            // Equipas geridas
-            List<Team> managedTeams = teamService.getTeamsManagedBy(manager);
+            // Equipas geridas e nº de tarefas das equipas (em paralelo)
+            CompletableFuture<List<Team>> teamsQuery = dashboardQueries.submit(
+                () -> withManagers(teamService.getTeamsManagedBy(manager)));
+            CompletableFuture<Long> totalTasksQuery = dashboardQueries.submit(() -> taskService.countTasksForManager(manager));
+            List<Team> managedTeams = DashboardQueryExecutor.join(teamsQuery);
             dashboard.put("managedTeams", managedTeams);
             
-            // Tarefas de todas as equipas geridas
-            List<Task> allTeamTasks = taskService.getTasksForManager(manager);
+            // Colunas e estatísticas de cada equipa, todas em paralelo
+            List<CompletableFuture<TaskService.DashboardColumns>> columnsQueries = new java.util.ArrayList<>();
+            List<CompletableFuture<TeamService.TeamStats>> statsQueries = new java.util.ArrayList<>();
+            for (Team team : managedTeams) {
+                columnsQueries.add(dashboardQueries.submit(() -> taskService.getTeamDashboardColumns(team, manager)));
+                statsQueries.add(dashboardQueries.submit(() -> teamService.getTeamStats(team.getId(), manager)));
+            }
             
             // Separar por status para as 4 colunas
-            Map<String, List<Task>> tasksByStatus = new HashMap<>();
-            for (Team team : managedTeams) {
-                List<Task> pending = taskService.getPendingTasksForTeam(team, manager);
-                List<Task> today = taskService.getTodayTasksForTeam(team, manager);
-                List<Task> overdue = taskService.getOverdueTasksForTeam(team, manager);
-                List<Task> completed = taskService.getCompletedTasksForTeam(team, manager);
+            Map<String, List<TaskView>> tasksByStatus = new HashMap<>();
+            for (CompletableFuture<TaskService.DashboardColumns> query : columnsQueries) {
+                TaskService.DashboardColumns columns = DashboardQueryExecutor.join(query);
                 
-                tasksByStatus.computeIfAbsent("pending", k -> new java.util.ArrayList<>()).addAll(pending);
-                tasksByStatus.computeIfAbsent("today", k -> new java.util.ArrayList<>()).addAll(today);
-                tasksByStatus.computeIfAbsent("overdue", k -> new java.util.ArrayList<>()).addAll(overdue);
-                tasksByStatus.computeIfAbsent("completed", k -> new java.util.ArrayList<>()).addAll(completed);
+                tasksByStatus.computeIfAbsent("pending", k -> new java.util.ArrayList<>()).addAll(columns.getPending());
+                tasksByStatus.computeIfAbsent("today", k -> new java.util.ArrayList<>()).addAll(columns.getToday());
+                tasksByStatus.computeIfAbsent("overdue", k -> new java.util.ArrayList<>()).addAll(columns.getOverdue());
+                tasksByStatus.computeIfAbsent("completed", k -> new java.util.ArrayList<>()).addAll(columns.getCompleted());
             }
             
-            dashboard.put("pending", enrichTasksWithUnreadComments(
-                tasksByStatus.getOrDefault("pending", new java.util.ArrayList<>()), userId));
-            dashboard.put("today", enrichTasksWithUnreadComments(
-                tasksByStatus.getOrDefault("today", new java.util.ArrayList<>()), userId));
-            dashboard.put("overdue", enrichTasksWithUnreadComments(
-                tasksByStatus.getOrDefault("overdue", new java.util.ArrayList<>()), userId));
-            dashboard.put("completed", enrichTasksWithUnreadComments(
-                tasksByStatus.getOrDefault("completed", new java.util.ArrayList<>()), userId));
+            putEnrichedColumns(dashboard, userId,
+                tasksByStatus.getOrDefault("pending", new java.util.ArrayList<>()),
+                tasksByStatus.getOrDefault("today", new java.util.ArrayList<>()),
+                tasksByStatus.getOrDefault("overdue", new java.util.ArrayList<>()),
+                tasksByStatus.getOrDefault("completed", new java.util.ArrayList<>()));
             
             // Estatísticas por equipa
             Map<String, Object> teamStats = new HashMap<>();
-            for (Team team : managedTeams) {
-                TeamService.TeamStats stats = teamService.getTeamStats(team.getId(), manager);
-                teamStats.put(team.getName(), stats);
+            for (int i = 0; i < managedTeams.size(); i++) {
+                teamStats.put(managedTeams.get(i).getName(), DashboardQueryExecutor.join(statsQueries.get(i)));
             }
             dashboard.put("teamStats", teamStats);
             
             // Estatísticas gerais do gerente
             Map<String, Object> managerStats = new HashMap<>();
             managerStats.put("totalTeams", managedTeams.size());
-            managerStats.put("totalTasks", allTeamTasks.size());
+            managerStats.put("totalTasks", DashboardQueryExecutor.join(totalTasksQuery).intValue());
             managerStats.put("pendingTasks", tasksByStatus.getOrDefault("pending", new java.util.ArrayList<>()).size());
             managerStats.put("todayTasks", tasksByStatus.getOrDefault("today", new java.util.ArrayList<>()).size());
             managerStats.put("overdueTasks", tasksByStatus.getOrDefault("overdue", new java.util.ArrayList<>()).size());
@@ -151,6 +182,8 @@ public class DashboardController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            sample.stop(dashboardTimer("manager"));
         }
     }
 
@@ -158,7 +191,12 @@ public class DashboardController {
      * Dashboard do Administrador - visão global
      */
     @GetMapping("/admin/{userId}")
-    public ResponseEntity<?> getAdminDashboard(@PathVariable Long userId) {
+    public ResponseEntity<?> getAdminDashboard(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             User admin = userService.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Administrador não encontrado"));
@@ -169,27 +207,34 @@ public class DashboardController {
             }
 
             Map<String, Object> dashboard = new HashMap<>();
+            dashboard.put("changesToken", taskService.currentChangeToken());
+            
+            // Consultas independentes em paralelo: equipas, utilizadores, 4 colunas e estatísticas
+            CompletableFuture<List<Team>> teamsQuery = dashboardQueries.submit(() -> withManagers(teamService.getAllTeams()));
+            CompletableFuture<List<User>> usersQuery = dashboardQueries.submit(userService::findAllActiveUsers);
+            CompletableFuture<List<TaskView>> pendingQuery = dashboardQueries.submit(taskService::findPendingAndInProgressTaskViews);
+            CompletableFuture<List<TaskView>> dueSoonQuery = dashboardQueries.submit(taskService::findTaskViewsDueSoon);
+            CompletableFuture<List<TaskView>> overdueQuery = dashboardQueries.submit(taskService::findOverdueTaskViews);
+            CompletableFuture<List<TaskView>> completedQuery = dashboardQueries.submit(taskService::findCompletedTaskViewsLast3Days);
+            CompletableFuture<Map<String, Object>> statsQuery = dashboardQueries.submit(taskService::getOverallTaskStats);
             
             // Todas as equipas
-            List<Team> allTeams = teamService.getAllTeams();
+            List<Team> allTeams = DashboardQueryExecutor.join(teamsQuery);
             dashboard.put("allTeams", allTeams);
             
             // Todos os utilizadores
-            List<User> allUsers = userService.findAllActiveUsers();
+            List<User> allUsers = DashboardQueryExecutor.join(usersQuery);
             dashboard.put("allUsers", allUsers);
             
             // Tarefas globais - 4 colunas (com contagem de comentários não lidos)
-            dashboard.put("pending", enrichTasksWithUnreadComments(
-                taskService.findPendingAndInProgressTasks(), userId));
-            dashboard.put("today", enrichTasksWithUnreadComments(
-                taskService.findTasksDueSoon(), userId));
-            dashboard.put("overdue", enrichTasksWithUnreadComments(
-                taskService.findOverdueTasks(), userId));
-            dashboard.put("completed", enrichTasksWithUnreadComments(
-                taskService.findCompletedTasksLast3Days(), userId));
+            putEnrichedColumns(dashboard, userId,
+                DashboardQueryExecutor.join(pendingQuery),
+                DashboardQueryExecutor.join(dueSoonQuery),
+                DashboardQueryExecutor.join(overdueQuery),
+                DashboardQueryExecutor.join(completedQuery));
             
             // Estatísticas globais
-            Map<String, Object> globalStats = taskService.getOverallTaskStats();
+            Map<String, Object> globalStats = DashboardQueryExecutor.join(statsQuery);
             dashboard.put("taskStats", globalStats);
             
             // Estatísticas de utilizadores
@@ -214,6 +259,8 @@ public class DashboardController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            sample.stop(dashboardTimer("admin"));
         }
     }
 
@@ -223,6 +270,7 @@ public class DashboardController {
     @GetMapping("/team/{teamId}")
     public ResponseEntity<?> getTeamDashboard(@PathVariable Long teamId,
                                             @RequestHeader("User-Id") Long requesterId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             User requester = userService.findById(requesterId)
                 .orElseThrow(() -> new IllegalArgumentException("Utilizador não encontrado"));
@@ -245,6 +293,34 @@ public class DashboardController {
             dashboard.put("team", team);
             dashboard.put("user", requester);
 
+            return ResponseEntity.ok(dashboard);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            sample.stop(dashboardTimer("team"));
+        }
+    }
+
+    /**
+     * Uma só tarefa no formato do dashboard do utilizador: as 4 colunas contêm a tarefa
+     * apenas onde ela aparece (todas vazias se foi eliminada ou saiu do dashboard).
+     * Usado pelo cliente para atualizar só a linha afetada por um evento de /api/events.
+     */
+    @GetMapping("/task/{taskId}/{userId}")
+    public ResponseEntity<?> getDashboardTask(@PathVariable Long taskId, @PathVariable Long userId) {
+        try {
+            User user = userService.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Utilizador não encontrado"));
+
+            TaskService.DashboardColumns columns = taskService.getDashboardColumnsForTask(taskId, user);
+
+            Map<String, Object> dashboard = new HashMap<>();
+            dashboard.put("taskId", taskId);
+            putEnrichedColumns(dashboard, userId, columns.getPending(), columns.getToday(),
+                columns.getOverdue(), columns.getCompleted());
+
             return ResponseEntity.ok(dashboard);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -262,22 +338,11 @@ public class DashboardController {
             User user = userService.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Utilizador não encontrado"));
 
-            // Obter todas as tarefas que o usuário pode ver (suas próprias tarefas + tarefas da sua equipa)
-            List<Task> userTasks = taskService.findTasksByUser(user);
-            List<Long> taskIds = userTasks.stream().map(Task::getId).collect(java.util.stream.Collectors.toList());
-            
-            List<Object[]> tasksWithUnreadComments = taskCommentReadRepository.countUnreadCommentsByTasksAndUser(
-                taskIds, userId);
+            // Tarefas do utilizador; as contagens vêm dos contadores materializados
+            List<Long> taskIds = taskService.findTaskIdsByUser(user);
+            Map<Long, Long> unreadCounts = unreadCommentCounters.getUnreadCounts(userId, taskIds);
             
             Map<String, Object> response = new HashMap<>();
-            Map<Long, Long> unreadCounts = new HashMap<>();
-            
-            for (Object[] result : tasksWithUnreadComments) {
-                Long taskId = (Long) result[0];
-                Long unreadCount = (Long) result[1];
-                unreadCounts.put(taskId, unreadCount);
-            }
-            
             response.put("unreadCounts", unreadCounts);
             response.put("totalUnread", unreadCounts.values().stream().mapToLong(Long::longValue).sum());
             
@@ -307,6 +372,7 @@ public class DashboardController {
             
             readRecord.markAsRead();
             taskCommentReadRepository.save(readRecord);
+            unreadCommentCounters.markRead(userId, taskId);
             
             return ResponseEntity.ok(Map.of("success", true, "message", "Comentários marcados como lidos"));
         } catch (IllegalArgumentException e) {
@@ -316,55 +382,114 @@ public class DashboardController {
         }
     }
 
+    /**
+     * Coloca as 4 colunas no dashboard, enriquecidas com contagens de comentários.
+     * As contagens de todas as colunas são obtidas de uma só vez (2 consultas no total).
+     */
+    private void putEnrichedColumns(Map<String, Object> dashboard, Long userId, List<TaskView> pending,
+                                    List<TaskView> today, List<TaskView> overdue, List<TaskView> completed) {
+        List<TaskView> allTasks = new java.util.ArrayList<>(pending);
+        allTasks.addAll(today);
+        allTasks.addAll(overdue);
+        allTasks.addAll(completed);
+        CommentCounts counts = loadCommentCounts(allTasks, userId);
+
+        dashboard.put("pending", enrichTasksWithUnreadComments(pending, counts));
+        dashboard.put("today", enrichTasksWithUnreadComments(today, counts));
+        dashboard.put("overdue", enrichTasksWithUnreadComments(overdue, counts));
+        dashboard.put("completed", enrichTasksWithUnreadComments(completed, counts));
+    }
+
+    /**
+     * Timer do dashboard de um perfil (só pedidos que constroem o dashboard, sem os 304)
+     */
+    private Timer dashboardTimer(String role) {
+        return Timer.builder("gestortarefas.dashboard")
+            .description("Tempo de construção do dashboard")
+            .tag("role", role)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Inicializa o gerente de cada equipa, que vai para o JSON (a consulta corre noutro
+     * thread e a sessão fecha-se com a sua transação)
+     */
+    private static List<Team> withManagers(List<Team> teams) {
+        teams.forEach(team -> Hibernate.initialize(team.getManager()));
+        return teams;
+    }
+
+    /**
+     * Carrega as contagens de comentários não lidos (contadores materializados) e totais
+     * para um conjunto de tarefas, independentemente do número de tarefas
+     */
+    private CommentCounts loadCommentCounts(List<TaskView> tasks, Long userId) {
+        CommentCounts counts = new CommentCounts();
+        List<Long> taskIds = tasks.stream().map(TaskView::id).distinct().collect(java.util.stream.Collectors.toList());
+        if (taskIds.isEmpty()) {
+            return counts;
+        }
+
+        counts.unread.putAll(unreadCommentCounters.getUnreadCounts(userId, taskIds));
+        for (Object[] result : taskCommentRepository.countByTaskIds(taskIds)) {
+            counts.total.put((Long) result[0], (Long) result[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Contagens de comentários por ID de tarefa (tarefas sem comentários não aparecem)
+     */
+    private static class CommentCounts {
+        private final Map<Long, Long> unread = new HashMap<>();
+        private final Map<Long, Long> total = new HashMap<>();
+    }
+
     /**
      * Método helper para enriquecer lista de tarefas com contagem de comentários não lidos
      */
-    private List<Map<String, Object>> enrichTasksWithUnreadComments(List<Task> tasks, Long userId) {
+    private List<Map<String, Object>> enrichTasksWithUnreadComments(List<TaskView> tasks, CommentCounts counts) {
         return tasks.stream().map(task -> {
             Map<String, Object> taskMap = new HashMap<>();
-            taskMap.put("id", task.getId());
-            taskMap.put("title", task.getTitle());
-            taskMap.put("description", task.getDescription());
-            taskMap.put("status", task.getStatus().name());
-            taskMap.put("priority", task.getPriority().name());
-            taskMap.put("dueDate", task.getDueDate());
-            taskMap.put("createdAt", task.getCreatedAt());
-            taskMap.put("completedAt", task.getCompletedAt());
+            taskMap.put("id", task.id());
+            taskMap.put("title", task.title());
+            taskMap.put("description", task.description());
+            taskMap.put("status", task.status().name());
+            taskMap.put("priority", task.priority().name());
+            taskMap.put("dueDate", task.dueDate());
+            taskMap.put("createdAt", task.createdAt());
+            taskMap.put("completedAt", task.completedAt());
             taskMap.put("isOverdue", task.isOverdue());
-            taskMap.put("archived", task.getArchived());
+            taskMap.put("archived", task.archived());
             
             // Username e team
-            taskMap.put("username", task.getUsername());
-            taskMap.put("userFullName", task.getUserFullName());
-            taskMap.put("assignedTeamId", task.getAssignedTeamId());
-            taskMap.put("assignedTeamName", task.getAssignedTeamName());
-            
-            // Contar comentários não lidos
-            long unreadComments = taskCommentReadRepository.countUnreadCommentsByTaskAndUser(task.getId(), userId);
-            taskMap.put("unreadComments", unreadComments);
+            taskMap.put("username", task.username());
+            taskMap.put("userFullName", task.userFullName());
+            taskMap.put("assignedTeamId", task.teamId());
+            taskMap.put("assignedTeamName", task.teamName());
             
-            // Contar total de comentários
-            long totalComments = taskCommentRepository.countByTaskId(task.getId());
-            taskMap.put("totalComments", totalComments);
+            // Contagens de comentários (não lidos e total) já carregadas em lote
+            taskMap.put("unreadComments", counts.unread.getOrDefault(task.id(), 0L));
+            taskMap.put("totalComments", counts.total.getOrDefault(task.id(), 0L));
             
             // Informação completa do utilizador
-            if (task.getUser() != null) {
+            if (task.userId() != null) {
                 Map<String, Object> userInfo = new HashMap<>();
-                userInfo.put("id", task.getUser().getId());
-                userInfo.put("username", task.getUser().getUsername());
-                userInfo.put("fullName", task.getUser().getFullName());
+                userInfo.put("id", task.userId());
+                userInfo.put("username", task.username());
+                userInfo.put("fullName", task.userFullName());
                 taskMap.put("user", userInfo);
             }
             
             // Informação completa da equipa
-            if (task.getAssignedTeam() != null) {
+            if (task.teamId() != null) {
                 Map<String, Object> teamInfo = new HashMap<>();
-                teamInfo.put("id", task.getAssignedTeam().getId());
-                teamInfo.put("name", task.getAssignedTeam().getName());
+                teamInfo.put("id", task.teamId());
+                teamInfo.put("name", task.teamName());
                 taskMap.put("assignedTeam", teamInfo);
             }
             
             return taskMap;
         }).collect(java.util.stream.Collectors.toList());
     }
-}
\ No newline at end of file
+}
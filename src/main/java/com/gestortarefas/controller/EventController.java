@@ -0,0 +1,44 @@
+package com.gestortarefas.controller;
+
+import com.gestortarefas.model.User;
+import com.gestortarefas.service.TaskEventPublisher;
+import com.gestortarefas.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+/**
+ * Controller REST do stream de eventos (Server-Sent Events)
+ *
+ * Os clientes desktop subscrevem /api/events e recebem as alterações de tarefas,
+ * comentários e atribuições que lhes dizem respeito, em vez de recarregarem o
+ * dashboard completo periodicamente.
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+
+    @Autowired
+    private TaskEventPublisher taskEventPublisher;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Abre o stream de eventos de um utilizador
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam Long userId) {
+        Optional<User> userOpt = userService.findById(userId);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(taskEventPublisher.subscribe(userOpt.get()));
+    }
+}
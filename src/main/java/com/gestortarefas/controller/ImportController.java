@@ -0,0 +1,139 @@
+package com.gestortarefas.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestortarefas.model.User;
+import com.gestortarefas.service.DataImportService;
+import com.gestortarefas.service.DataImportService.ImportFormat;
+import com.gestortarefas.service.DataImportService.ImportSummary;
+import com.gestortarefas.service.DataImportService.ImportType;
+import com.gestortarefas.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Controller REST para importação em massa (ficheiros CSV ou NDJSON no corpo do pedido).
+ *
+ * O corpo é lido em streaming e a resposta é NDJSON: uma linha de progresso por lote
+ * gravado e uma linha final com o resumo. Requer autenticação de um administrador.
+ */
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    @Autowired
+    private DataImportService dataImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Importa tarefas, utilizadores ou equipas (tipo = tasks | users | teams).
+     * O formato vem do parâmetro format ou, na falta dele, do Content-Type (text/csv ou
+     * application/x-ndjson).
+     */
+    @PostMapping("/{type}")
+    public void importRecords(@PathVariable String type,
+                              @RequestParam(required = false) String format,
+                              Principal principal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        User requester = principal != null ? userService.findByUsername(principal.getName()).orElse(null) : null;
+        if (requester == null || !requester.isAdmin()) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            writeLine(response.getOutputStream(), error("Apenas administradores podem importar dados"));
+            return;
+        }
+
+        ImportType importType;
+        ImportFormat importFormat;
+        try {
+            importType = ImportType.valueOf(type.toUpperCase(Locale.ROOT));
+            importFormat = resolveFormat(format, request.getContentType());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            writeLine(response.getOutputStream(), error(e.getMessage().startsWith("No enum")
+                ? "Tipo inválido: use tasks, users ou teams" : e.getMessage()));
+            return;
+        }
+
+        System.out.println("Importação de " + importType + " (" + importFormat + ") iniciada por " + requester.getUsername());
+        OutputStream out = response.getOutputStream();
+        ImportSummary summary = dataImportService.importStream(importType, importFormat, request.getInputStream(),
+            requester, progress -> {
+                Map<String, Object> line = counts(progress);
+                line.put("event", "progress");
+                try {
+                    writeLine(out, line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        Map<String, Object> line = counts(summary);
+        line.put("event", "summary");
+        line.put("success", !summary.isAborted());
+        line.put("message", summary.isAborted() ? summary.getAbortMessage()
+            : summary.getImported() + " registos importados, " + summary.getFailed() + " falhados");
+        line.put("errors", summary.getErrors());
+        writeLine(out, line);
+        System.out.println("Importação de " + importType + " terminada: " + line.get("message"));
+    }
+
+    private static ImportFormat resolveFormat(String format, String contentType) {
+        if (format != null) {
+            try {
+                return ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato inválido: use csv ou ndjson");
+            }
+        }
+        if (contentType != null && contentType.contains("csv")) {
+            return ImportFormat.CSV;
+        }
+        if (contentType != null && (contentType.contains("ndjson") || contentType.contains("jsonl"))) {
+            return ImportFormat.NDJSON;
+        }
+        throw new IllegalArgumentException("Indique o formato (format=csv ou format=ndjson)");
+    }
+
+    private static Map<String, Object> counts(ImportSummary summary) {
+        Map<String, Object> line = new HashMap<>();
+        line.put("type", summary.getType().name().toLowerCase(Locale.ROOT));
+        line.put("processed", summary.getProcessed());
+        line.put("imported", summary.getImported());
+        line.put("failed", summary.getFailed());
+        line.put("elapsedMillis", summary.getElapsedMillis());
+        return line;
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> line = new HashMap<>();
+        line.put("success", false);
+        line.put("message", message);
+        return line;
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush(); // o cliente vê o progresso à medida que os lotes são gravados
+    }
+}
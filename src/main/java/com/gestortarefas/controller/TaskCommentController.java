@@ -6,7 +6,9 @@ import com.gestortarefas.model.User;
 import com.gestortarefas.repository.TaskCommentRepository;
 import com.gestortarefas.repository.TaskRepository;
 import com.gestortarefas.repository.UserRepository;
+import com.gestortarefas.service.MembershipIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,18 +34,36 @@ public class TaskCommentController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    // Tamanho de página por omissão e máximo (before/after/limit)
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     /**
-     * Obter todos os comentários de uma tarefa
+     * Obter os comentários de uma tarefa.
+     * Sem parâmetros de paginação devolve todos; com before/limit devolve a página de
+     * comentários anteriores ao id indicado (mais recentes primeiro, sem before a mais
+     * recente) e com after os comentários novos desde esse id (mais antigos primeiro).
+     * hasMore indica se há mais comentários nesse sentido.
      */
     @GetMapping
     public ResponseEntity<?> getTaskComments(@PathVariable Long taskId,
-                                            @RequestParam(defaultValue = "desc") String order) {
+                                            @RequestParam(defaultValue = "desc") String order,
+                                            @RequestParam(required = false) Long before,
+                                            @RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit) {
         try {
             Optional<Task> taskOpt = taskRepository.findById(taskId);
             if (!taskOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
             }
 
+            if (before != null || after != null || limit != null) {
+                return ResponseEntity.ok(getCommentsPage(taskOpt.get(), before, after, limit));
+            }
+
             List<TaskComment> comments;
             if ("asc".equalsIgnoreCase(order)) {
                 comments = taskCommentRepository.findByTaskIdOrderByCreatedAtAsc(taskId);
@@ -69,6 +89,27 @@ public class TaskCommentController {
         }
     }
 
+    private Map<String, Object> getCommentsPage(Task task, Long before, Long after, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Pede-se mais um para saber se há mais comentários além da página
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<TaskComment> comments = after != null
+            ? taskCommentRepository.findPageAfter(task.getId(), after, page)
+            : taskCommentRepository.findPageBefore(task.getId(), before != null ? before : Long.MAX_VALUE, page);
+        boolean hasMore = comments.size() > size;
+        if (hasMore) {
+            comments = comments.subList(0, size);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("taskId", task.getId());
+        response.put("taskTitle", task.getTitle());
+        response.put("total", taskCommentRepository.countByTaskId(task.getId()));
+        response.put("hasMore", hasMore);
+        response.put("comments", comments.stream().map(this::createCommentResponse).toList());
+        return response;
+    }
+
     /**
      * Adicionar um novo comentário a uma tarefa
      */
@@ -105,7 +146,7 @@ public class TaskCommentController {
             User user = userOpt.get();
 
             // Verificar permissões - utilizador deve poder visualizar a tarefa
-            if (!task.canBeViewedBy(user)) {
+            if (!membershipIndex.canViewTask(task, user)) {
                 return ResponseEntity.status(403)
                         .body(Map.of("error", "Não tem permissão para comentar nesta tarefa"));
             }
@@ -1,22 +1,46 @@
 package com.gestortarefas.controller;
 
+import com.gestortarefas.dto.TaskBulkOperation;
+import com.gestortarefas.dto.TaskCursor;
+import com.gestortarefas.dto.TaskSearchCriteria;
+import com.gestortarefas.dto.TaskView;
 import com.gestortarefas.model.Task;
 import com.gestortarefas.model.Task.TaskStatus;
 import com.gestortarefas.model.Task.TaskPriority;
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.Team;
 import com.gestortarefas.model.TaskComment;
+import com.gestortarefas.service.DataVersion;
+import com.gestortarefas.service.TaskArchiveService;
+import com.gestortarefas.service.TaskBulkService;
 import com.gestortarefas.service.TaskService;
 import com.gestortarefas.service.UserService;
 import com.gestortarefas.repository.TaskRepository;
 import com.gestortarefas.repository.UserRepository;
 import com.gestortarefas.repository.TeamRepository;
 import com.gestortarefas.repository.TaskCommentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -40,12 +64,30 @@ import java.util.Optional;
 @CrossOrigin(origins = "*") // Permite CORS para desenvolvimento - ATENÇÃO: restringir em produção
 public class TaskController {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+
+    // Máximo de tarefas por página da listagem de arquivadas
+    private static final int MAX_ARCHIVED_PAGE_SIZE = 500;
+
+    // Formato das datas no CSV exportado (igual ao do CSVExporter do cliente)
+    private static final DateTimeFormatter EXPORT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     // ======================== INJEÇÃO DE DEPENDÊNCIAS ========================
     
     // Serviço principal para lógica de negócio das tarefas
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    // Serialização das linhas NDJSON da exportação
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Serviço para operações com utilizadores
     @Autowired
     private UserService userService;
@@ -63,6 +105,9 @@ public class TaskController {
     @Autowired
     private TaskCommentRepository taskCommentRepository;
 
+    @Autowired
+    private DataVersion dataVersion;
+
     /**
      * Cria uma nova tarefa
      */
@@ -178,6 +223,8 @@ public class TaskController {
      * @param sortDirection Direção da ordenação (opcional): asc, desc
      * @param page Número da página (opcional, default: 0)
      * @param size Tamanho da página (opcional, default: 50)
+     * @param cursor Modo cursor (opcional): vazio para a primeira página ou o nextCursor
+     *               da resposta anterior; ignora page e não calcula totais
      * @return Lista paginada de tarefas com metadados
      */
     @GetMapping
@@ -192,124 +239,45 @@ public class TaskController {
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @RequestParam(required = false, defaultValue = "desc") String sortDirection,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "50") int size) {
+            @RequestParam(required = false, defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Buscar todas as tarefas do repositório
-            List<Task> allTasks = taskRepository.findAll();
-            
-            // Aplicar filtros
-            List<Task> filteredTasks = allTasks.stream()
-                .filter(task -> {
-                    // Filtro por status
-                    if (status != null && !status.trim().isEmpty()) {
-                        try {
-                            TaskStatus statusEnum = TaskStatus.valueOf(status.toUpperCase());
-                            if (task.getStatus() != statusEnum) {
-                                return false;
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filtro por prioridade
-                    if (priority != null && !priority.trim().isEmpty()) {
-                        try {
-                            TaskPriority priorityEnum = TaskPriority.valueOf(priority.toUpperCase());
-                            if (task.getPriority() != priorityEnum) {
-                                return false;
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filtro por utilizador atribuído
-                    if (assignedUserId != null) {
-                        if (task.getUser() == null || !task.getUser().getId().equals(assignedUserId)) {
-                            return false;
-                        }
-                    } else if (userName != null && !userName.trim().isEmpty()) {
-                        if (task.getUser() == null || !task.getUser().getUsername().equals(userName)) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filtro por equipa
-                    if (teamId != null) {
-                        if (task.getAssignedTeam() == null || !task.getAssignedTeam().getId().equals(teamId)) {
-                            return false;
-                        }
-                    } else if (teamName != null && !teamName.trim().isEmpty()) {
-                        if (task.getAssignedTeam() == null || !task.getAssignedTeam().getName().equals(teamName)) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filtro por pesquisa no título e descrição
-                    if (search != null && !search.trim().isEmpty()) {
-                        String searchTerm = search.toLowerCase();
-                        String title = task.getTitle() != null ? task.getTitle().toLowerCase() : "";
-                        String description = task.getDescription() != null ? task.getDescription().toLowerCase() : "";
-                        
-                        if (!title.contains(searchTerm) && !description.contains(searchTerm)) {
-                            return false;
-                        }
-                    }
-                    
-                    return true;
-                })
-                .sorted((t1, t2) -> {
-                    // Aplicar ordenação
-                    int comparison = 0;
-                    
-                    switch (sortBy.toLowerCase()) {
-                        case "title":
-                            comparison = String.CASE_INSENSITIVE_ORDER.compare(
-                                t1.getTitle() != null ? t1.getTitle() : "",
-                                t2.getTitle() != null ? t2.getTitle() : ""
-                            );
-                            break;
-                        case "priority":
-                            comparison = Integer.compare(
-                                t1.getPriority().ordinal(),
-                                t2.getPriority().ordinal()
-                            );
-                            break;
-                        case "duedate":
-                            LocalDateTime date1 = t1.getDueDate();
-                            LocalDateTime date2 = t2.getDueDate();
-                            if (date1 == null && date2 == null) comparison = 0;
-                            else if (date1 == null) comparison = 1;
-                            else if (date2 == null) comparison = -1;
-                            else comparison = date1.compareTo(date2);
-                            break;
-                        case "status":
-                            comparison = Integer.compare(
-                                t1.getStatus().ordinal(),
-                                t2.getStatus().ordinal()
-                            );
-                            break;
-                        case "createdat":
-                        default:
-                            comparison = t1.getCreatedAt().compareTo(t2.getCreatedAt());
-                            break;
-                    }
-                    
-                    return sortDirection.equalsIgnoreCase("desc") ? -comparison : comparison;
-                })
-                .toList();
+            // Token de sincronização por delta obtido antes da consulta (ver /changes)
+            String changesToken = taskService.currentChangeToken();
             
-            // Aplicar paginação
-            int totalElements = filteredTasks.size();
-            int totalPages = (int) Math.ceil((double) totalElements / size);
-            int fromIndex = page * size;
-            int toIndex = Math.min(fromIndex + size, totalElements);
+            // Filtros, ordenação e paginação executados na base de dados
+            TaskSearchCriteria criteria = new TaskSearchCriteria(
+                status, priority, assignedUserId, userName, teamId, teamName, search,
+                sortBy, sortDirection);
             
-            List<Task> paginatedTasks = filteredTasks.subList(fromIndex, toIndex);
+            if (cursor != null) {
+                response.put("success", true);
+                response.putAll(buildCursorPage(criteria, cursor, size));
+                response.put("changesToken", changesToken);
+                response.put("filters", Map.of(
+                    "status", status != null ? status : "",
+                    "priority", priority != null ? priority : "",
+                    "assignedUserId", assignedUserId != null ? assignedUserId : "",
+                    "teamId", teamId != null ? teamId : "",
+                    "search", search != null ? search : "",
+                    "sortBy", sortBy,
+                    "sortDirection", sortDirection
+                ));
+                return ResponseEntity.ok(response);
+            }
+            
+            Page<TaskView> taskPage = taskService.searchTasks(criteria, page, size);
+            
+            long totalElements = taskPage.getTotalElements();
+            int totalPages = taskPage.getTotalPages();
+            List<TaskView> paginatedTasks = taskPage.getContent();
             
             // Converter para resposta JSON
             List<Map<String, Object>> tasksList = paginatedTasks.stream()
@@ -319,6 +287,7 @@ public class TaskController {
             // Criar resposta com metadados de paginação
             response.put("success", true);
             response.put("tasks", tasksList);
+            response.put("changesToken", changesToken);
             response.put("pagination", Map.of(
                 "currentPage", page,
                 "totalPages", totalPages,
@@ -352,10 +321,96 @@ public class TaskController {
     }
 
     /**
-     * Lista todas as tarefas de um utilizador
+     * Exporta todas as tarefas que satisfazem os filtros de GET /api/tasks, em CSV
+     * (mesmas colunas do CSVExporter do cliente) ou NDJSON (uma tarefa por linha, no
+     * formato da listagem). As linhas são lidas da base de dados em streaming e escritas
+     * diretamente na resposta, sem construir a lista em memória.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assignedUserId,
+            @RequestParam(required = false) String userName,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String teamName,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection) {
+        boolean csv = format.equalsIgnoreCase("csv");
+        if (!csv && !format.equalsIgnoreCase("ndjson")) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TaskSearchCriteria criteria = new TaskSearchCriteria(
+            status, priority, assignedUserId, userName, teamId, teamName, search,
+            sortBy, sortDirection);
+        String fileName = "tarefas_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("ddMMyyyy_HHmm")) +
+            (csv ? ".csv" : ".ndjson");
+
+        // Executado fora da thread do pedido: a transação de leitura é aberta pelo TaskService
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long count;
+            if (csv) {
+                CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT);
+                printer.printRecord("ID", "Título", "Descrição", "Status", "Prioridade",
+                    "Data Criação", "Data Limite", "Data Conclusão", "Utilizador", "Atrasada");
+                count = taskService.exportTasks(criteria, task -> printCsvRow(printer, task));
+                printer.flush();
+            } else {
+                count = taskService.exportTasks(criteria, task -> writeJsonLine(writer, createTaskResponse(task)));
+                writer.flush();
+            }
+            logger.debug("Exportadas {} tarefas ({})", count, format);
+        };
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    private void printCsvRow(CSVPrinter printer, TaskView task) {
+        try {
+            printer.printRecord(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.status().getDisplayName(),
+                task.priority().getDisplayName(),
+                formatExportDate(task.createdAt()),
+                formatExportDate(task.dueDate()),
+                formatExportDate(task.completedAt()),
+                task.username(),
+                task.isOverdue() ? "Sim" : "Não");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJsonLine(Writer writer, Map<String, Object> line) {
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String formatExportDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(EXPORT_DATE_FORMAT) : "";
+    }
+
+    /**
+     * Lista todas as tarefas de um utilizador.
+     * Com o parâmetro cursor devolve apenas uma página (modo keyset, mais recentes primeiro).
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getTasksByUser(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getTasksByUser(@PathVariable Long userId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false, defaultValue = "50") int size) {
         Map<String, Object> response = new HashMap<>();
         
         Optional<User> userOpt = userService.findById(userId);
@@ -365,7 +420,22 @@ public class TaskController {
             return ResponseEntity.badRequest().body(response);
         }
         
-        List<Task> tasks = taskService.findTasksByUser(userOpt.get());
+        if (cursor != null) {
+            TaskSearchCriteria criteria = new TaskSearchCriteria();
+            criteria.setAssignedUserId(userId);
+            try {
+                response.put("success", true);
+                response.putAll(buildCursorPage(criteria, cursor, size));
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                response.clear();
+                response.put("success", false);
+                response.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+        
+        List<TaskView> tasks = taskService.findTaskViewsByUser(userOpt.get());
         List<Map<String, Object>> tasksList = tasks.stream()
             .map(this::createTaskResponse)
             .toList();
@@ -378,11 +448,14 @@ public class TaskController {
     }
 
     /**
-     * Lista tarefas de um utilizador por status
+     * Lista tarefas de um utilizador por status.
+     * Com o parâmetro cursor devolve apenas uma página (modo keyset, mais recentes primeiro).
      */
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<Map<String, Object>> getTasksByUserAndStatus(@PathVariable Long userId, 
-                                                                        @PathVariable String status) {
+                                                                        @PathVariable String status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false, defaultValue = "50") int size) {
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -394,7 +467,25 @@ public class TaskController {
             }
             
             TaskStatus taskStatus = TaskStatus.valueOf(status.toUpperCase());
-            List<Task> tasks = taskService.findTasksByUserAndStatus(userOpt.get(), taskStatus);
+            
+            if (cursor != null) {
+                TaskSearchCriteria criteria = new TaskSearchCriteria();
+                criteria.setAssignedUserId(userId);
+                criteria.setStatus(taskStatus.name());
+                Map<String, Object> cursorPage;
+                try {
+                    cursorPage = buildCursorPage(criteria, cursor, size);
+                } catch (IllegalArgumentException e) {
+                    response.put("success", false);
+                    response.put("message", e.getMessage());
+                    return ResponseEntity.badRequest().body(response);
+                }
+                response.put("success", true);
+                response.putAll(cursorPage);
+                return ResponseEntity.ok(response);
+            }
+            
+            List<TaskView> tasks = taskService.findTaskViewsByUserAndStatus(userOpt.get(), taskStatus);
             
             List<Map<String, Object>> tasksList = tasks.stream()
                 .map(this::createTaskResponse)
@@ -413,6 +504,108 @@ public class TaskController {
         }
     }
 
+    /**
+     * Constrói uma página em modo cursor (keyset): lê size + 1 tarefas para saber
+     * se existe página seguinte e devolve "tasks", "total" e o bloco "pagination"
+     * com o nextCursor.
+     *
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra ordenação
+     */
+    private Map<String, Object> buildCursorPage(TaskSearchCriteria criteria, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Tamanho de página inválido");
+        }
+        
+        TaskCursor after = null;
+        if (!cursor.isBlank()) {
+            after = TaskCursor.decode(cursor);
+            if (!after.matches(criteria)) {
+                throw new IllegalArgumentException("Cursor não corresponde à ordenação pedida");
+            }
+        }
+        
+        List<TaskView> tasks = taskService.seekTasks(criteria, after, size + 1);
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
+        }
+        String nextCursor = hasNext ? TaskCursor.after(tasks.get(tasks.size() - 1), criteria).encode() : null;
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("mode", "cursor");
+        pagination.put("cursor", cursor);
+        pagination.put("nextCursor", nextCursor);
+        pagination.put("pageSize", size);
+        pagination.put("hasNext", hasNext);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("tasks", tasks.stream().map(this::createTaskResponse).toList());
+        result.put("total", tasks.size());
+        result.put("pagination", pagination);
+        return result;
+    }
+
+    /**
+     * Sincronização por delta das listagens de tarefas
+     * 
+     * Devolve as tarefas criadas, alteradas ou arquivadas depois do token que satisfazem
+     * os filtros (mesmos de GET /api/tasks) e, em "removed", os IDs eliminados ou que
+     * deixaram de satisfazer os filtros. O cliente guarda o nextToken para o pedido seguinte.
+     * 
+     * @param since Token devolvido por GET /api/tasks (changesToken) ou pela chamada anterior;
+     *              sem token devolve apenas o token atual
+     * @param limit Máximo de alterações por resposta (hasMore indica que há mais)
+     * @return tasks, removed, nextToken, hasMore e reset (o cliente deve recarregar tudo)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getTaskChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assignedUserId,
+            @RequestParam(required = false) String userName,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String teamName,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false, defaultValue = "500") int limit) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (since == null || since.isBlank()) {
+                response.put("success", true);
+                response.put("tasks", List.of());
+                response.put("removed", List.of());
+                response.put("nextToken", taskService.currentChangeToken());
+                response.put("hasMore", false);
+                response.put("reset", false);
+                return ResponseEntity.ok(response);
+            }
+            
+            TaskSearchCriteria criteria = new TaskSearchCriteria(
+                status, priority, assignedUserId, userName, teamId, teamName, search, null, null);
+            TaskService.TaskChanges changes = taskService.getTaskChanges(criteria, since, Math.min(limit, 1000));
+            
+            response.put("success", true);
+            response.put("tasks", changes.getTasks().stream().map(this::createTaskResponse).toList());
+            response.put("removed", changes.getRemovedIds());
+            response.put("nextToken", changes.getNextToken());
+            response.put("hasMore", changes.isHasMore());
+            response.put("reset", changes.isReset());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            logger.error("Erro ao obter as alterações de tarefas desde {}", since, e);
+            response.put("success", false);
+            response.put("message", "Erro ao buscar alterações: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * Busca tarefa por ID
      */
@@ -545,14 +738,18 @@ public class TaskController {
     }
 
     /**
-     * Pesquisa tarefas por título
+     * Pesquisa tarefas por texto no título, etiquetas e descrição (sem acentos nem
+     * maiúsculas, aceitando prefixos), da mais relevante para a menos relevante
+     *
+     * @param limit Máximo de tarefas devolvidas (máximo 500)
      */
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchTasks(@RequestParam String title,
-                                                           @RequestParam(required = false) Long userId) {
+                                                           @RequestParam(required = false) Long userId,
+                                                           @RequestParam(required = false, defaultValue = "50") int limit) {
         Map<String, Object> response = new HashMap<>();
         
-        List<Task> tasks;
+        List<TaskView> tasks;
         if (userId != null) {
             Optional<User> userOpt = userService.findById(userId);
             if (userOpt.isEmpty()) {
@@ -560,9 +757,9 @@ public class TaskController {
                 response.put("message", "Utilizador não encontrado");
                 return ResponseEntity.badRequest().body(response);
             }
-            tasks = taskService.searchTasksByUserAndTitle(userOpt.get(), title);
+            tasks = taskService.searchTaskViewsByUserAndTitle(userOpt.get(), title, Math.min(limit, 500));
         } else {
-            tasks = taskService.searchTasksByTitle(title);
+            tasks = taskService.searchTaskViewsByTitle(title, Math.min(limit, 500));
         }
         
         List<Map<String, Object>> tasksList = tasks.stream()
@@ -583,7 +780,7 @@ public class TaskController {
     public ResponseEntity<Map<String, Object>> getOverdueTasks(@RequestParam(required = false) Long userId) {
         Map<String, Object> response = new HashMap<>();
         
-        List<Task> tasks;
+        List<TaskView> tasks;
         if (userId != null) {
             Optional<User> userOpt = userService.findById(userId);
             if (userOpt.isEmpty()) {
@@ -591,9 +788,9 @@ public class TaskController {
                 response.put("message", "Utilizador não encontrado");
                 return ResponseEntity.badRequest().body(response);
             }
-            tasks = taskService.findOverdueTasksByUser(userOpt.get());
+            tasks = taskService.findOverdueTaskViewsByUser(userOpt.get());
         } else {
-            tasks = taskService.findOverdueTasks();
+            tasks = taskService.findOverdueTaskViews();
         }
         
         List<Map<String, Object>> tasksList = tasks.stream()
@@ -720,66 +917,71 @@ public class TaskController {
      * Cria resposta da tarefa
      */
     private Map<String, Object> createTaskResponse(Task task) {
+        return createTaskResponse(TaskView.from(task));
+    }
+
+    /**
+     * Cria resposta da tarefa a partir da projeção TaskView
+     * (package-private para o benchmark de serialização)
+     */
+    Map<String, Object> createTaskResponse(TaskView task) {
         Map<String, Object> taskResponse = new HashMap<>();
-        taskResponse.put("id", task.getId());
-        taskResponse.put("title", task.getTitle());
-        taskResponse.put("description", task.getDescription());
-        taskResponse.put("status", task.getStatus().name());
-        taskResponse.put("statusDisplay", task.getStatusDisplayName());
-        taskResponse.put("priority", task.getPriority().name());
-        taskResponse.put("priorityDisplay", task.getPriorityDisplayName());
-        taskResponse.put("createdAt", task.getCreatedAt());
-        taskResponse.put("updatedAt", task.getUpdatedAt());
-        taskResponse.put("dueDate", task.getDueDate());
-        taskResponse.put("completedAt", task.getCompletedAt());
-        taskResponse.put("userId", task.getUser().getId());
-        taskResponse.put("username", task.getUser().getUsername());
+        taskResponse.put("id", task.id());
+        taskResponse.put("title", task.title());
+        taskResponse.put("description", task.description());
+        taskResponse.put("status", task.status().name());
+        taskResponse.put("statusDisplay", task.status().getDisplayName());
+        taskResponse.put("priority", task.priority().name());
+        taskResponse.put("priorityDisplay", task.priority().getDisplayName());
+        taskResponse.put("createdAt", task.createdAt());
+        taskResponse.put("updatedAt", task.updatedAt());
+        taskResponse.put("dueDate", task.dueDate());
+        taskResponse.put("completedAt", task.completedAt());
+        taskResponse.put("userId", task.userId());
+        taskResponse.put("username", task.username());
         taskResponse.put("isOverdue", task.isOverdue());
         taskResponse.put("isCompleted", task.isCompleted());
         
         // Adicionar informações completas do utilizador
         Map<String, Object> userInfo = new HashMap<>();
-        User user = task.getUser();
-        userInfo.put("id", user.getId());
-        userInfo.put("username", user.getUsername());
-        userInfo.put("fullName", user.getFullName());
-        userInfo.put("email", user.getEmail());
-        userInfo.put("displayName", user.getDisplayName());
-        userInfo.put("role", user.getRole().name());
+        userInfo.put("id", task.userId());
+        userInfo.put("username", task.username());
+        userInfo.put("fullName", task.userFullName());
+        userInfo.put("email", task.userEmail());
+        userInfo.put("displayName", task.userDisplayName());
+        userInfo.put("role", task.userRole().name());
         taskResponse.put("user", userInfo);
         
         // Adicionar informações da equipa atribuída
-        if (task.getAssignedTeam() != null) {
+        if (task.teamId() != null) {
             Map<String, Object> teamInfo = new HashMap<>();
-            Team team = task.getAssignedTeam();
-            teamInfo.put("id", team.getId());
-            teamInfo.put("name", team.getName());
-            teamInfo.put("description", team.getDescription());
-            teamInfo.put("active", team.getActive());
+            teamInfo.put("id", task.teamId());
+            teamInfo.put("name", task.teamName());
+            teamInfo.put("description", task.teamDescription());
+            teamInfo.put("active", task.teamActive());
             taskResponse.put("assignedTeam", teamInfo);
         }
         
         // Adicionar informações do criador
-        if (task.getCreatedBy() != null) {
+        if (task.createdById() != null) {
             Map<String, Object> createdByInfo = new HashMap<>();
-            User createdBy = task.getCreatedBy();
-            createdByInfo.put("id", createdBy.getId());
-            createdByInfo.put("username", createdBy.getUsername());
-            createdByInfo.put("fullName", createdBy.getFullName());
-            createdByInfo.put("displayName", createdBy.getDisplayName());
+            createdByInfo.put("id", task.createdById());
+            createdByInfo.put("username", task.createdByUsername());
+            createdByInfo.put("fullName", task.createdByFullName());
+            createdByInfo.put("displayName", task.createdByDisplayName());
             taskResponse.put("createdBy", createdByInfo);
         }
         
         // Adicionar informação de atribuição formatada
         StringBuilder assignmentInfo = new StringBuilder();
-        if (task.getUser() != null) {
-            assignmentInfo.append("Atribuída a: ").append(task.getUser().getDisplayName());
+        if (task.userId() != null) {
+            assignmentInfo.append("Atribuída a: ").append(task.userDisplayName());
         }
-        if (task.getAssignedTeam() != null) {
+        if (task.teamId() != null) {
             if (assignmentInfo.length() > 0) {
                 assignmentInfo.append(" | ");
             }
-            assignmentInfo.append("Equipa: ").append(task.getAssignedTeam().getName());
+            assignmentInfo.append("Equipa: ").append(task.teamName());
         }
         if (assignmentInfo.length() == 0) {
             assignmentInfo.append("Não atribuída");
@@ -833,7 +1035,7 @@ public class TaskController {
     @GetMapping("/tag/{tag}")
     public ResponseEntity<List<Map<String, Object>>> getTasksByTag(@PathVariable String tag) {
         try {
-            List<Task> tasks = taskService.getTasksByTag(tag);
+            List<TaskView> tasks = taskService.getTasksByTag(tag);
             List<Map<String, Object>> response = tasks.stream()
                 .map(this::createTaskResponse)
                 .toList();
@@ -843,6 +1045,78 @@ public class TaskController {
         }
     }
 
+    /**
+     * Busca tarefas por várias tags (ex.: ?tags=frontend,urgente&match=any)
+     *
+     * @param match all - tarefas com todas as tags (padrão); any - com pelo menos uma
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<Map<String, Object>> getTasksByTags(@RequestParam List<String> tags,
+                                                              @RequestParam(required = false, defaultValue = "all") String match) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<TaskView> tasks = taskService.getTasksByTags(tags, !"any".equalsIgnoreCase(match));
+            response.put("success", true);
+            response.put("tasks", tasks.stream().map(this::createTaskResponse).toList());
+            response.put("total", tasks.size());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Nuvem de tags: nº de tarefas por tag
+     *
+     * @param limit Máximo de tags devolvidas (máximo 500)
+     */
+    @GetMapping("/tags/counts")
+    public ResponseEntity<Map<String, Object>> getTagCounts(@RequestParam(required = false, defaultValue = "100") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("tags", taskService.getTagCounts(Math.max(1, Math.min(limit, 500))));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Aplica várias operações (create, status, assign, reassign, archive, tags, actualHours)
+     * numa única transação, com escritas em lotes JDBC. Devolve um resultado por operação;
+     * operações inválidas não impedem as restantes.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> bulkUpdate(@RequestBody BulkRequest request,
+                                                          @RequestHeader("User-Id") Long requesterId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            User requester = userService.findById(requesterId)
+                .orElseThrow(() -> new IllegalArgumentException("Utilizador não encontrado"));
+
+            List<TaskBulkService.BulkItemResult> results = taskBulkService.apply(request.getOperations(), requester);
+            long succeeded = results.stream().filter(TaskBulkService.BulkItemResult::isSuccess).count();
+            logger.debug("Bulk de {} operações ({} com sucesso)", results.size(), succeeded);
+
+            response.put("success", succeeded == results.size());
+            response.put("results", results);
+            response.put("succeeded", succeeded);
+            response.put("failed", results.size() - succeeded);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    // Classe para pedido de operações em massa
+    public static class BulkRequest {
+        private List<TaskBulkOperation> operations;
+
+        public List<TaskBulkOperation> getOperations() { return operations; }
+        public void setOperations(List<TaskBulkOperation> operations) { this.operations = operations; }
+    }
+
     /**
      * Atualiza horas reais de uma tarefa
      */
@@ -1296,15 +1570,13 @@ public class TaskController {
     @PostMapping("/{id}/unarchive")
     public ResponseEntity<?> unarchiveTask(@PathVariable Long id) {
         try {
-            Optional<Task> taskOpt = taskRepository.findById(id);
+            // Procura na tabela de tarefas e, se já lá não estiver, no arquivo
+            Optional<Task> taskOpt = taskArchiveService.unarchive(id);
             if (!taskOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
             }
             
             Task task = taskOpt.get();
-            task.setArchived(false);
-            task.setUpdatedAt(LocalDateTime.now());
-            taskRepository.save(task);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Tarefa desarquivada com sucesso");
@@ -1321,17 +1593,57 @@ public class TaskController {
     }
     
     /**
-     * Lista todas as tarefas arquivadas.
+     * Lista as tarefas arquivadas, uma página de cada vez (modo keyset, mais recentemente
+     * concluídas primeiro): sem cursor devolve a primeira página e o nextCursor da seguinte.
+     * Inclui as que já foram movidas para as tabelas de arquivo.
      * 
-     * @return ResponseEntity com a lista de tarefas arquivadas
+     * @return ResponseEntity com a página de tarefas arquivadas
      */
     @GetMapping("/archived")
-    public ResponseEntity<List<Task>> getArchivedTasks() {
+    public ResponseEntity<Map<String, Object>> getArchivedTasks(@RequestParam(required = false, defaultValue = "") String cursor,
+                                                                @RequestParam(required = false, defaultValue = "50") int size) {
+        Map<String, Object> response = new HashMap<>();
         try {
-            List<Task> archivedTasks = taskRepository.findByArchivedTrueOrderByCompletedAtDesc();
-            return ResponseEntity.ok(archivedTasks);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            response.put("success", true);
+            response.putAll(buildArchivedCursorPage(cursor, Math.min(size, MAX_ARCHIVED_PAGE_SIZE)));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.clear();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Página da listagem de arquivadas em modo cursor (mesmo formato de buildCursorPage)
+     *
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    private Map<String, Object> buildArchivedCursorPage(String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Tamanho de página inválido");
+        }
+        
+        TaskCursor after = cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        List<TaskView> tasks = taskArchiveService.getArchivedTasks(after, size + 1);
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
         }
+        String nextCursor = hasNext ? TaskCursor.afterArchived(tasks.get(tasks.size() - 1)).encode() : null;
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("mode", "cursor");
+        pagination.put("cursor", cursor);
+        pagination.put("nextCursor", nextCursor);
+        pagination.put("pageSize", size);
+        pagination.put("hasNext", hasNext);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("tasks", tasks.stream().map(this::createTaskResponse).toList());
+        result.put("total", tasks.size());
+        result.put("pagination", pagination);
+        return result;
     }
 }
\ No newline at end of file
@@ -4,13 +4,16 @@ import com.gestortarefas.dto.TeamSummaryDTO;
 import com.gestortarefas.model.Task;
 import com.gestortarefas.model.Team;
 import com.gestortarefas.model.User;
+import com.gestortarefas.service.DataVersion;
 import com.gestortarefas.service.TaskService;
 import com.gestortarefas.service.TeamService;
+import com.gestortarefas.service.TeamStatsAggregate;
 import com.gestortarefas.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,11 +37,21 @@ public class TeamController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private DataVersion dataVersion;
+
     /**
      * Lista todas as equipas ativas
      */
     @GetMapping
-    public ResponseEntity<List<Team>> getAllTeams() {
+    public ResponseEntity<List<Team>> getAllTeams(WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
         try {
             List<Team> teams = teamService.getAllActiveTeams();
             return ResponseEntity.ok(teams);
@@ -51,16 +64,25 @@ public class TeamController {
      * Lista todas as equipas com dados completos para administração
      */
     @GetMapping("/summary")
-    public ResponseEntity<List<TeamSummaryDTO>> getTeamsSummary() {
+    public ResponseEntity<List<TeamSummaryDTO>> getTeamsSummary(WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
         try {
             List<Team> teams = teamService.getAllActiveTeams();
             List<TeamSummaryDTO> teamsSummary = new ArrayList<>();
             
+            // Contagens de membros e tarefas de todas as equipas de uma vez (sem carregar coleções)
+            Map<Long, TeamStatsAggregate.TeamCounts> counts = teamStatsAggregate.getCounts(
+                teams.stream().map(Team::getId).toList());
+            
             for (Team team : teams) {
                 String managerName = team.getManager() != null ? team.getManager().getFullName() : null;
                 Long managerId = team.getManager() != null ? team.getManager().getId() : null;
-                Integer memberCount = team.getMembers() != null ? team.getMembers().size() : 0;
-                Integer activeTasksCount = (int) team.getActiveTasksCount();
+                TeamStatsAggregate.TeamCounts teamCounts = counts.get(team.getId());
+                Integer memberCount = teamCounts.getMemberCount();
+                Integer activeTasksCount = (int) teamCounts.getActiveTasks();
                 
                 TeamSummaryDTO dto = new TeamSummaryDTO(
                     team.getId(),
@@ -2,11 +2,13 @@ package com.gestortarefas.controller;
 
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.Team;
+import com.gestortarefas.service.DataVersion;
 import com.gestortarefas.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -25,6 +27,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersion dataVersion;
+
     /**
      * Endpoint para autenticação de utilizador
      */
@@ -107,7 +112,12 @@ public class UserController {
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllUsers(
-            @RequestParam(value = "includeInactive", defaultValue = "false") boolean includeInactive) {
+            @RequestParam(value = "includeInactive", defaultValue = "false") boolean includeInactive,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersion.currentETag(), dataVersion.lastModified())) {
+            return null; // 304 Not Modified
+        }
+
         Map<String, Object> response = new HashMap<>();
         List<User> users = includeInactive ? 
             userService.findAllUsers() : 
@@ -0,0 +1,69 @@
+package com.gestortarefas.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma operação do pedido POST /api/tasks/bulk.
+ *
+ * O campo op indica a operação; os restantes campos usados dependem dela:
+ * - create: title, description, priority, dueDate, userId, teamId, tags, estimatedHours
+ * - status: taskId, status
+ * - assign: taskId, userId, teamId (opcional)
+ * - reassign: taskId e userId (utilizador) ou teamId (equipa)
+ * - archive: taskId
+ * - tags: taskId, tags (substitui as tags atuais)
+ * - actualHours: taskId, actualHours
+ */
+public class TaskBulkOperation {
+    private String op;
+    private Long taskId;
+    private String title;
+    private String description;
+    private String priority;
+    private LocalDateTime dueDate;
+    private String status;
+    private Long userId;
+    private Long teamId;
+    private String tags;
+    private Integer estimatedHours;
+    private Integer actualHours;
+
+    public TaskBulkOperation() {}
+
+    // Getters e Setters
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public String getTags() { return tags; }
+    public void setTags(String tags) { this.tags = tags; }
+
+    public Integer getEstimatedHours() { return estimatedHours; }
+    public void setEstimatedHours(Integer estimatedHours) { this.estimatedHours = estimatedHours; }
+
+    public Integer getActualHours() { return actualHours; }
+    public void setActualHours(Integer actualHours) { this.actualHours = actualHours; }
+}
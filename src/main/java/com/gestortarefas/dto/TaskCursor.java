@@ -0,0 +1,118 @@
+package com.gestortarefas.dto;
+
+import com.gestortarefas.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação por keyset (seek) das listagens de tarefas.
+ *
+ * Guarda o campo de ordenação, a direção, o valor da chave de ordenação e o ID
+ * da última tarefa devolvida. É serializado em Base64 (URL-safe) para que o
+ * cliente o trate apenas como um token.
+ */
+public class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    // Ordenação da listagem de tarefas arquivadas (data de conclusão, mais recentes primeiro)
+    public static final String ARCHIVED_SORT_KEY = "completedAt";
+
+    private final String sortKey;
+    private final boolean descending;
+    private final Long id;
+    private final String value; // valor da coluna de ordenação (ver Task.updateSortKeys)
+
+    public TaskCursor(String sortKey, boolean descending, Long id, String value) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * Cria o cursor que aponta para a posição imediatamente após a tarefa indicada
+     */
+    public static TaskCursor after(TaskView task, TaskSearchCriteria criteria) {
+        String sortKey = criteria.getSortKey();
+        String value;
+        switch (sortKey) {
+            case "title":
+                value = Task.titleSortKey(task.title());
+                break;
+            case "priority":
+                value = task.priority().name();
+                break;
+            case "duedate":
+                value = Task.dueDateSortKey(task.dueDate()).toString();
+                break;
+            case "status":
+                value = task.status().name();
+                break;
+            default:
+                value = task.createdAt().toString();
+                break;
+        }
+        return new TaskCursor(sortKey, criteria.isDescending(), task.id(), value);
+    }
+
+    /**
+     * Cria o cursor da listagem de arquivadas que aponta para depois da tarefa indicada
+     */
+    public static TaskCursor afterArchived(TaskView task) {
+        return new TaskCursor(ARCHIVED_SORT_KEY, true, task.id(),
+            task.completedAt() != null ? task.completedAt().toString() : null);
+    }
+
+    /**
+     * Serializa o cursor num token opaco
+     */
+    public String encode() {
+        String raw = sortKey + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + id + SEPARATOR
+            + (value != null ? "=" + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um token produzido por encode()
+     *
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            String value = parts[3].isEmpty() ? null : parts[3].substring(1);
+            return new TaskCursor(parts[0], "desc".equals(parts[1]), Long.valueOf(parts[2]), value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    /**
+     * Verifica se o cursor foi gerado com a mesma ordenação dos critérios atuais
+     */
+    public boolean matches(TaskSearchCriteria criteria) {
+        return sortKey.equals(criteria.getSortKey()) && descending == criteria.isDescending();
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
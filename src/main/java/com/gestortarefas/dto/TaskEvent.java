@@ -0,0 +1,35 @@
+package com.gestortarefas.dto;
+
+/**
+ * Evento de alteração enviado pelo stream /api/events.
+ *
+ * Só identifica o que mudou (tarefa, utilizador e equipa antes/depois); o cliente
+ * decide se atualiza apenas a linha afetada ou recarrega o dashboard.
+ */
+public record TaskEvent(
+        String type,
+        Long taskId,
+        Long commentId,
+        Long userId,
+        Long teamId,
+        Long previousUserId,
+        Long previousTeamId) {
+
+    public static final String TASK_CREATED = "task.created";
+    public static final String TASK_UPDATED = "task.updated";
+    public static final String TASK_ASSIGNED = "task.assigned";
+    public static final String TASK_DELETED = "task.deleted";
+    public static final String COMMENT_ADDED = "comment.added";
+    public static final String COMMENT_DELETED = "comment.deleted";
+    public static final String TEAM_MEMBERS_CHANGED = "team.members";
+
+    /**
+     * Indica se o evento diz respeito ao utilizador ou a uma das equipas indicadas
+     */
+    public boolean concerns(Long subscriberId, java.util.Set<Long> subscriberTeamIds) {
+        return (userId != null && userId.equals(subscriberId))
+            || (previousUserId != null && previousUserId.equals(subscriberId))
+            || (teamId != null && subscriberTeamIds.contains(teamId))
+            || (previousTeamId != null && subscriberTeamIds.contains(previousTeamId));
+    }
+}
@@ -0,0 +1,157 @@
+package com.gestortarefas.dto;
+
+import java.util.Collection;
+
+/**
+ * Critérios de pesquisa, filtro e ordenação para a listagem de tarefas (GET /api/tasks).
+ *
+ * Todos os campos são opcionais; campos nulos ou vazios não restringem o resultado.
+ */
+public class TaskSearchCriteria {
+    private String status;
+    private String priority;
+    private Long assignedUserId;
+    private String userName;
+    private Long teamId;
+    private String teamName;
+    private String search;
+    private Collection<Long> searchIds; // resolvido pelo TaskSearchIndex a partir de search
+    private String sortBy = "createdAt";
+    private String sortDirection = "desc";
+
+    public TaskSearchCriteria() {}
+
+    public TaskSearchCriteria(String status, String priority, Long assignedUserId, String userName,
+                              Long teamId, String teamName, String search,
+                              String sortBy, String sortDirection) {
+        this.status = status;
+        this.priority = priority;
+        this.assignedUserId = assignedUserId;
+        this.userName = userName;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.search = search;
+        if (sortBy != null) {
+            this.sortBy = sortBy;
+        }
+        if (sortDirection != null) {
+            this.sortDirection = sortDirection;
+        }
+    }
+
+    /**
+     * Verifica se um filtro de texto foi preenchido
+     */
+    public static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Campo de ordenação normalizado: title, priority, duedate, status ou createdat
+     * (valores desconhecidos ordenam por data de criação)
+     */
+    public String getSortKey() {
+        String key = sortBy != null ? sortBy.toLowerCase() : "createdat";
+        switch (key) {
+            case "title":
+            case "priority":
+            case "duedate":
+            case "status":
+                return key;
+            default:
+                return "createdat";
+        }
+    }
+
+    /**
+     * Indica se a ordenação é descendente
+     */
+    public boolean isDescending() {
+        return "desc".equalsIgnoreCase(sortDirection);
+    }
+
+    // Getters e Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public Long getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(Long assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public void setTeamName(String teamName) {
+        this.teamName = teamName;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    /**
+     * IDs das tarefas que satisfazem o texto de pesquisa, obtidos do índice em memória.
+     * Quando preenchido substitui a comparação LIKE sobre título e descrição.
+     */
+    public Collection<Long> getSearchIds() {
+        return searchIds;
+    }
+
+    public void setSearchIds(Collection<Long> searchIds) {
+        this.searchIds = searchIds;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public String getSortDirection() {
+        return sortDirection;
+    }
+
+    public void setSortDirection(String sortDirection) {
+        this.sortDirection = sortDirection;
+    }
+}
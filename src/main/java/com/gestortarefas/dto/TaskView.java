@@ -0,0 +1,89 @@
+package com.gestortarefas.dto;
+
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.model.UserRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção plana de uma tarefa para as listagens.
+ *
+ * Construída diretamente pela consulta (expressão construtora com os joins de
+ * utilizador, equipa e criador), evitando entidades geridas e proxies LAZY
+ * ao serializar a resposta.
+ */
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime dueDate,
+        LocalDateTime completedAt,
+        Boolean archived,
+        Long userId,
+        String username,
+        String userFullName,
+        String userEmail,
+        UserRole userRole,
+        Long teamId,
+        String teamName,
+        String teamDescription,
+        Boolean teamActive,
+        Long createdById,
+        String createdByUsername,
+        String createdByFullName) {
+
+    /**
+     * Cria a projeção a partir de uma entidade já carregada
+     * (para respostas de uma única tarefa, ex.: após criar ou atualizar)
+     */
+    public static TaskView from(Task task) {
+        User user = task.getUser();
+        Team team = task.getAssignedTeam();
+        User createdBy = task.getCreatedBy();
+        return new TaskView(
+            task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+            task.getCreatedAt(), task.getUpdatedAt(), task.getDueDate(), task.getCompletedAt(), task.getArchived(),
+            user != null ? user.getId() : null,
+            user != null ? user.getUsername() : null,
+            user != null ? user.getFullName() : null,
+            user != null ? user.getEmail() : null,
+            user != null ? user.getRole() : null,
+            team != null ? team.getId() : null,
+            team != null ? team.getName() : null,
+            team != null ? team.getDescription() : null,
+            team != null ? team.getActive() : null,
+            createdBy != null ? createdBy.getId() : null,
+            createdBy != null ? createdBy.getUsername() : null,
+            createdBy != null ? createdBy.getFullName() : null);
+    }
+
+    // Mesma lógica de Task.isCompleted() / Task.isOverdue()
+    public boolean isCompleted() {
+        return status == TaskStatus.CONCLUIDA || status == TaskStatus.FINALIZADO;
+    }
+
+    public boolean isOverdue() {
+        return dueDate != null && LocalDateTime.now().isAfter(dueDate) && !isCompleted();
+    }
+
+    // Mesma lógica de User.getDisplayName()
+    public String userDisplayName() {
+        return displayName(userFullName, username);
+    }
+
+    public String createdByDisplayName() {
+        return displayName(createdByFullName, createdByUsername);
+    }
+
+    private static String displayName(String fullName, String username) {
+        return fullName != null && !fullName.trim().isEmpty() ? fullName : username;
+    }
+}
@@ -0,0 +1,128 @@
+package com.gestortarefas.model;
+
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tarefa arquivada guardada fora da tabela de tarefas ativas (armazenamento "frio").
+ *
+ * O TaskArchiveService move para aqui, em lotes, as tarefas marcadas como arquivadas
+ * (com as suas tags, comentários e marcas de leitura) e repõe-nas na tabela tasks
+ * quando são desarquivadas. Mantém o ID original. As linhas são escritas por JDBC;
+ * a entidade serve para o esquema e para as consultas de leitura.
+ */
+@Entity
+@Table(name = "archived_tasks", indexes = {
+    @Index(name = "idx_archived_tasks_user", columnList = "user_id"),
+    // Listagem por data de conclusão (seek por completed_at, id) e retenção
+    @Index(name = "idx_archived_tasks_completed_id", columnList = "completed_at, id")
+})
+@org.hibernate.annotations.Immutable
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_team_id")
+    private Team assignedTeam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_user_id")
+    private User createdBy;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_by_user_id")
+    private User assignedBy;
+
+    @Column(name = "tags")
+    private String tags;
+
+    // Tags normalizadas (mesmo formato de task_tags)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "archived_task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tag", length = Task.MAX_TAG_LENGTH, nullable = false)
+    private Set<String> tagNames = new HashSet<>();
+
+    @Column(name = "estimated_hours")
+    private Integer estimatedHours;
+
+    @Column(name = "actual_hours")
+    private Integer actualHours;
+
+    // Momento em que a tarefa saiu da tabela de tarefas ativas
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Construtores
+    public ArchivedTask() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Team getAssignedTeam() {
+        return assignedTeam;
+    }
+
+    public Set<String> getTagNames() {
+        return tagNames;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
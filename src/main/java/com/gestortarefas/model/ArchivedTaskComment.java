@@ -0,0 +1,58 @@
+package com.gestortarefas.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comentário de uma tarefa arquivada (cópia de task_comments com o ID original).
+ * Escrito e reposto pelo TaskArchiveService juntamente com a tarefa.
+ */
+@Entity
+@Table(name = "archived_task_comments", indexes = @Index(name = "idx_archived_task_comments_task", columnList = "task_id"))
+@org.hibernate.annotations.Immutable
+public class ArchivedTaskComment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "comment_text", nullable = false, columnDefinition = "TEXT")
+    private String commentText;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "is_system_message", nullable = false)
+    private Boolean isSystemMessage;
+
+    // Construtores
+    public ArchivedTaskComment() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getCommentText() {
+        return commentText;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.gestortarefas.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de leitura dos comentários de uma tarefa arquivada (cópia de task_comment_reads).
+ * Escrita e reposta pelo TaskArchiveService juntamente com a tarefa.
+ */
+@Entity
+@Table(name = "archived_task_comment_reads", indexes = @Index(name = "idx_archived_task_comment_reads_task", columnList = "task_id"))
+@org.hibernate.annotations.Immutable
+public class ArchivedTaskCommentRead {
+
+    @Id
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "last_read_at", nullable = false)
+    private LocalDateTime lastReadAt;
+
+    // Construtores
+    public ArchivedTaskCommentRead() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+}
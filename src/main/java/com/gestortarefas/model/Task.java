@@ -5,6 +5,9 @@ import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Entidade JPA que representa uma tarefa no sistema de gestão.
@@ -22,13 +25,47 @@ import java.time.LocalDateTime;
  * - BAIXA, NORMAL, ALTA, URGENTE
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_change_seq", columnList = "change_seq"),
+    // Listagens, atrasos e prazos por utilizador / equipa (tarefas em aberto não arquivadas)
+    @Index(name = "idx_tasks_user_open_due", columnList = "user_id, archived, status, due_date"),
+    @Index(name = "idx_tasks_team_open_due", columnList = "assigned_team_id, archived, status, due_date"),
+    // Concluídas por data de conclusão; prazos em aberto sem filtro de utilizador/equipa
+    @Index(name = "idx_tasks_status_completed", columnList = "status, completed_at"),
+    @Index(name = "idx_tasks_status_due", columnList = "status, due_date"),
+    // Arquivadas ainda nesta tabela por data de conclusão (seek por completed_at, id)
+    @Index(name = "idx_tasks_archived_completed", columnList = "archived, completed_at, id"),
+    // Ordenações das listagens (cada chave de ordenação + id): o seek do cursor e o
+    // ORDER BY ... LIMIT percorrem o índice em vez de ordenar o conjunto filtrado
+    @Index(name = "idx_tasks_sort_created", columnList = "created_at, id"),
+    @Index(name = "idx_tasks_sort_title", columnList = "title_sort, id"),
+    @Index(name = "idx_tasks_sort_priority", columnList = "priority_rank, id"),
+    @Index(name = "idx_tasks_sort_status", columnList = "status_rank, id"),
+    @Index(name = "idx_tasks_sort_due", columnList = "due_date_sort, id")
+})
+@EntityListeners({
+    com.gestortarefas.service.TeamTaskStatsListener.class, // Mantém as estatísticas de equipa
+    com.gestortarefas.service.TaskEventListener.class,     // Notifica os clientes ligados a /api/events
+    com.gestortarefas.service.DataVersionListener.class,   // Versão dos dados (ETag dos dashboards)
+    com.gestortarefas.service.TaskChangeListener.class,    // Sequência de alterações (/api/tasks/changes)
+    com.gestortarefas.service.TaskSearchIndexListener.class // Índice de pesquisa por texto
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Ignora propriedades do Hibernate no JSON
 public class Task {
 
-    // Identificador único da tarefa
+    // Comprimento máximo de uma tag normalizada
+    public static final int MAX_TAG_LENGTH = 100;
+
+    // Valor de due_date_sort das tarefas sem prazo (ordenam depois de qualquer prazo)
+    public static final LocalDateTime NO_DUE_DATE_SORT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // Identificador único da tarefa. Gerado por tabela (id_generators) em blocos de 50,
+    // para que os inserts possam ser agrupados em lotes JDBC (IDENTITY obriga a um insert
+    // imediato por tarefa). O valor inicial é acertado pelo TaskIdGeneratorInitializer.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = "id_generators", pkColumnName = "name",
+                    valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     private Long id;
 
     // Título da tarefa (obrigatório, 3-100 caracteres)
@@ -69,6 +106,31 @@ public class Task {
     @Column(name = "archived", nullable = false)
     private Boolean archived = false;
 
+    // Chaves de ordenação das listagens, derivadas de title, priority, status e dueDate
+    // em cada escrita (updateSortKeys): colunas simples que os índices idx_tasks_sort_*
+    // podem servir, em vez de LOWER/CASE no ORDER BY. Linhas inseridas fora da entidade
+    // são preenchidas no arranque pelo TaskSortKeyMigration.
+    @Column(name = "title_sort")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private String titleSort;
+
+    @Column(name = "priority_rank")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Integer priorityRank;
+
+    @Column(name = "status_rank")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Integer statusRank;
+
+    @Column(name = "due_date_sort")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private LocalDateTime dueDateSort;
+
+    // Sequência global da última alteração (atribuída pelo TaskChangeListener; /api/tasks/changes)
+    @Column(name = "change_seq")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"tasks", "teams", "managedTeams", "profile"})
@@ -92,9 +154,17 @@ public class Task {
     @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"tasks", "teams", "managedTeams", "profile"})
     private User assignedBy;
     
-    // Tags ou etiquetas da tarefa
+    // Tags ou etiquetas da tarefa (texto apresentado, separado por vírgulas)
     @Column(name = "tags")
     private String tags;
+
+    // Tags normalizadas (tabela task_tags), mantidas por setTags e usadas nas consultas por tag
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"),
+                     indexes = @Index(name = "idx_task_tags_tag", columnList = "tag, task_id"))
+    @Column(name = "tag", length = MAX_TAG_LENGTH, nullable = false)
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private java.util.Set<String> tagNames = new java.util.HashSet<>();
     
     // Estimativa de horas para conclusão
     @Column(name = "estimated_hours")
@@ -109,6 +179,24 @@ public class Task {
     @com.fasterxml.jackson.annotation.JsonIgnore
     private java.util.List<TaskComment> comments = new java.util.ArrayList<>();
 
+    // Equipa e status no último carregamento/escrita (delta das estatísticas de equipa)
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long statsTeamId;
+
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private TaskStatus statsStatus;
+
+    // Utilizador e equipa no último carregamento/escrita (destinatários dos eventos de alteração)
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long eventUserId;
+
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long eventTeamId;
+
     // Enums para Status e Prioridade
     public enum TaskStatus {
         PENDENTE("Pendente"),
@@ -117,6 +205,12 @@ public class Task {
         FINALIZADO("Finalizado"),
         CANCELADA("Cancelada");
 
+        /**
+         * Status de uma tarefa em aberto: todos menos CONCLUIDA e FINALIZADO (ver isCompleted)
+         */
+        public static final Set<TaskStatus> OPEN = Collections.unmodifiableSet(
+            EnumSet.complementOf(EnumSet.of(CONCLUIDA, FINALIZADO)));
+
         private final String displayName;
 
         TaskStatus(String displayName) {
@@ -174,9 +268,15 @@ public class Task {
     }
 
     // Métodos de lifecycle JPA
+    @PrePersist
+    public void prePersist() {
+        updateSortKeys();
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        updateSortKeys();
         // Preserve completedAt for FINALIZADO as it represents archived/completed tasks
         if (this.status == TaskStatus.CONCLUIDA && this.completedAt == null) {
             this.completedAt = LocalDateTime.now();
@@ -185,6 +285,66 @@ public class Task {
         }
     }
 
+    /**
+     * Recalcula as colunas de ordenação a partir dos campos atuais
+     */
+    private void updateSortKeys() {
+        this.titleSort = titleSortKey(title);
+        this.priorityRank = priority != null ? priority.ordinal() : null;
+        this.statusRank = status != null ? status.ordinal() : null;
+        this.dueDateSort = dueDateSortKey(dueDate);
+    }
+
+    /**
+     * Valor de title_sort: título em minúsculas (ordenação sem distinguir maiúsculas)
+     */
+    public static String titleSortKey(String title) {
+        return title != null ? title.toLowerCase(java.util.Locale.ROOT) : "";
+    }
+
+    /**
+     * Valor de due_date_sort: o prazo, ou NO_DUE_DATE_SORT se não tiver
+     */
+    public static LocalDateTime dueDateSortKey(LocalDateTime dueDate) {
+        return dueDate != null ? dueDate : NO_DUE_DATE_SORT;
+    }
+
+    /**
+     * Guarda a equipa e o status atuais como referência para o próximo delta
+     */
+    public void markStatsState() {
+        this.statsTeamId = getAssignedTeamId();
+        this.statsStatus = this.status;
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public Long getStatsTeamId() {
+        return statsTeamId;
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public TaskStatus getStatsStatus() {
+        return statsStatus;
+    }
+
+    /**
+     * Guarda o utilizador e a equipa atuais para identificar reatribuições
+     */
+    public void markEventState() {
+        this.eventUserId = user != null ? user.getId() : null;
+        this.eventTeamId = getAssignedTeamId();
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public Long getEventUserId() {
+        return eventUserId;
+    }
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public Long getEventTeamId() {
+        return eventTeamId;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -274,6 +434,15 @@ public class Task {
         this.archived = archived;
     }
 
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public User getUser() {
         return user;
     }
@@ -318,8 +487,50 @@ public class Task {
         return tags;
     }
     
+    /**
+     * Define as tags a partir de texto separado por vírgulas; repetições (sem distinguir
+     * maiúsculas) são ignoradas e as tags normalizadas são sincronizadas com task_tags
+     *
+     * @throws IllegalArgumentException se alguma tag exceder MAX_TAG_LENGTH caracteres
+     */
     public void setTags(String tags) {
-        this.tags = tags;
+        java.util.Map<String, String> parsed = new java.util.LinkedHashMap<>();
+        for (String tag : splitTags(tags)) {
+            String name = normalizeTag(tag);
+            if (name.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tag demasiado longa (máximo " + MAX_TAG_LENGTH + " caracteres)");
+            }
+            parsed.putIfAbsent(name, tag);
+        }
+        this.tags = parsed.isEmpty() ? null : String.join(", ", parsed.values());
+        this.tagNames.retainAll(parsed.keySet());
+        this.tagNames.addAll(parsed.keySet());
+    }
+
+    public java.util.Set<String> getTagNames() {
+        return java.util.Collections.unmodifiableSet(tagNames);
+    }
+
+    /**
+     * Separa texto de tags por vírgulas (sem entradas vazias)
+     */
+    public static java.util.List<String> splitTags(String tags) {
+        java.util.List<String> result = new java.util.ArrayList<>();
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                if (!tag.trim().isEmpty()) {
+                    result.add(tag.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forma normalizada de uma tag, usada em task_tags e nas consultas
+     */
+    public static String normalizeTag(String tag) {
+        return tag.trim().toLowerCase(java.util.Locale.ROOT);
     }
     
     public Integer getEstimatedHours() {
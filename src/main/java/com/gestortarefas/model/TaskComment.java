@@ -11,6 +11,11 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "task_comments")
+@EntityListeners({
+    com.gestortarefas.service.TaskEventListener.class,  // Notifica os clientes ligados a /api/events
+    com.gestortarefas.service.DataVersionListener.class, // Versão dos dados (ETag dos dashboards)
+    com.gestortarefas.service.UnreadCommentCounterListener.class // Contadores de não lidos
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class TaskComment {
 
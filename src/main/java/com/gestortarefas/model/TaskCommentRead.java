@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "task_comment_reads", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"task_id", "user_id"}))
+@EntityListeners(com.gestortarefas.service.DataVersionListener.class) // Versão dos dados (ETag dos dashboards)
 public class TaskCommentRead {
 
     @Id
@@ -0,0 +1,54 @@
+package com.gestortarefas.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Registo de uma tarefa eliminada, para que a sincronização por delta
+ * (/api/tasks/changes) possa indicar aos clientes as linhas a remover
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = @Index(name = "idx_task_tombstones_change_seq", columnList = "change_seq"))
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // Sequência de alterações atribuída à eliminação (mesma sequência de Task.changeSeq)
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Construtores
+    public TaskTombstone() {
+    }
+
+    public TaskTombstone(Long taskId, Long changeSeq, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,80 @@
+package com.gestortarefas.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Contador materializado de comentários não lidos de uma tarefa por utilizador.
+ *
+ * Mantido por UnreadCommentCounters (JDBC): criado ou incrementado para quem pode ver
+ * a tarefa a cada comentário novo e reposto a zero ao marcar como lido.
+ * Sem chaves estrangeiras, para sobreviver ao movimento da tarefa para o arquivo.
+ * A chave primária (task_id, user_id) serve os incrementos por tarefa e o índice
+ * (user_id, task_id) as leituras dos dashboards.
+ */
+@Entity
+@Table(name = "task_unread_counters", indexes = @Index(name = "idx_task_unread_counters_user", columnList = "user_id, task_id"))
+@IdClass(TaskUnreadCounter.Key.class)
+public class TaskUnreadCounter {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    // Construtores
+    public TaskUnreadCounter() {
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    /**
+     * Chave composta (utilizador, tarefa)
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private Long taskId;
+
+        public Key() {
+        }
+
+        public Key(Long userId, Long taskId) {
+            this.userId = userId;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(taskId, key.taskId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, taskId);
+        }
+    }
+}
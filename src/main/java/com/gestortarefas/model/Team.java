@@ -11,6 +11,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "teams")
+@Cacheable // Cache de segundo nível (região "teams" em application.conf)
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "teams")
+@EntityListeners(com.gestortarefas.service.DataVersionListener.class) // Versão dos dados (ETag dos dashboards)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Team {
     
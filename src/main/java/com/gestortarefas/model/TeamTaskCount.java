@@ -0,0 +1,77 @@
+package com.gestortarefas.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Número de tarefas de uma equipa num status (estatísticas de equipa).
+ *
+ * Mantido por TeamStatsAggregate (JDBC) na mesma transação de cada alteração de tarefa
+ * e reconstruído por GROUP BY no arranque. Sem chave estrangeira para a equipa.
+ */
+@Entity
+@Table(name = "team_task_counts")
+@IdClass(TeamTaskCount.Key.class)
+public class TeamTaskCount {
+
+    @Id
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Id
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    // Construtores
+    public TeamTaskCount() {
+    }
+
+    // Getters
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Chave composta (equipa, status)
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long teamId;
+        private String status;
+
+        public Key() {
+        }
+
+        public Key(Long teamId, String status) {
+            this.teamId = teamId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(teamId, key.teamId) && Objects.equals(status, key.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(teamId, status);
+        }
+    }
+}
@@ -25,6 +25,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@Cacheable // Cache de segundo nível (região "users" em application.conf)
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@EntityListeners(com.gestortarefas.service.DataVersionListener.class) // Versão dos dados (ETag dos dashboards)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"}) // Ignora propriedades do Hibernate no JSON
 public class User {
 
@@ -86,6 +89,8 @@ public class User {
         joinColumns = @JoinColumn(name = "user_id"), // Chave estrangeira para User
         inverseJoinColumns = @JoinColumn(name = "team_id") // Chave estrangeira para Team
     )
+    // Lado dono da relação: alterações a esta lista invalidam a entrada na cache
+    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "user-teams")
     @JsonIgnore // Evita loops infinitos na serialização JSON
     private List<Team> teams = new ArrayList<>();
     
@@ -9,6 +9,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "user_profiles")
+@Cacheable // Cache de segundo nível (região "user-profiles" em application.conf)
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE, region = "user-profiles")
+@EntityListeners(com.gestortarefas.service.DataVersionListener.class) // Versão dos dados (ETag dos dashboards)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class UserProfile {
     
@@ -0,0 +1,49 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.dto.TaskView;
+import com.gestortarefas.model.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório das tarefas arquivadas fora da tabela de tarefas ativas
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    String SELECT_VIEW = "SELECT new com.gestortarefas.dto.TaskView(" +
+           "t.id, t.title, t.description, t.status, t.priority, " +
+           "t.createdAt, t.updatedAt, t.dueDate, t.completedAt, TRUE, " +
+           "u.id, u.username, u.fullName, u.email, u.role, " +
+           "tm.id, tm.name, tm.description, tm.active, " +
+           "cb.id, cb.username, cb.fullName) " +
+           "FROM ArchivedTask t JOIN t.user u LEFT JOIN t.assignedTeam tm LEFT JOIN t.createdBy cb ";
+
+    /**
+     * Tarefas arquivadas em projeção TaskView (mais recentemente concluídas primeiro;
+     * sem data de conclusão no fim)
+     */
+    @Query(SELECT_VIEW + "ORDER BY t.completedAt DESC, t.id DESC")
+    List<TaskView> findViews(Pageable pageable);
+
+    /**
+     * Continuação de findViews depois da tarefa (completedAt, id) do cursor
+     */
+    @Query(SELECT_VIEW + "WHERE (t.completedAt IS NULL AND (:completedAt IS NOT NULL OR t.id < :id)) OR " +
+           "t.completedAt < :completedAt OR (t.completedAt = :completedAt AND t.id < :id) " +
+           "ORDER BY t.completedAt DESC, t.id DESC")
+    List<TaskView> findViewsAfter(@Param("completedAt") LocalDateTime completedAt, @Param("id") Long id,
+                                  Pageable pageable);
+
+    /**
+     * Verifica se um utilizador tem tarefas arquivadas atribuídas
+     */
+    @Query("SELECT COUNT(t) > 0 FROM ArchivedTask t WHERE t.user.id = :userId")
+    boolean existsByUserId(@Param("userId") Long userId);
+}
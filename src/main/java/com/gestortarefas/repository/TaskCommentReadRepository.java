@@ -60,10 +60,4 @@ public interface TaskCommentReadRepository extends JpaRepository<TaskCommentRead
            ") " +
            "GROUP BY c.task.id")
     List<Object[]> countUnreadCommentsByTasksAndUser(@Param("taskIds") List<Long> taskIds, @Param("userId") Long userId);
-
-    /**
-     * Remove registros de leitura antigos (mais de X dias)
-     */
-    @Query("DELETE FROM TaskCommentRead tcr WHERE tcr.lastReadAt < :cutoffDate")
-    void deleteOldReadRecords(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
 }
\ No newline at end of file
@@ -37,11 +37,34 @@ public interface TaskCommentRepository extends JpaRepository<TaskComment, Long>
     List<TaskComment> findRecentCommentsByTaskId(@Param("taskId") Long taskId, 
                                                   org.springframework.data.domain.Pageable pageable);
 
+    /**
+     * Página de comentários anteriores a um id (mais recentes primeiro), com o autor.
+     * Os ids crescem com a ordem de criação, por isso servem de cursor.
+     */
+    @Query("SELECT c FROM TaskComment c JOIN FETCH c.user WHERE c.task.id = :taskId AND c.id < :beforeId " +
+           "ORDER BY c.id DESC")
+    List<TaskComment> findPageBefore(@Param("taskId") Long taskId, @Param("beforeId") Long beforeId,
+                                     org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Comentários posteriores a um id (mais antigos primeiro), com o autor
+     */
+    @Query("SELECT c FROM TaskComment c JOIN FETCH c.user WHERE c.task.id = :taskId AND c.id > :afterId " +
+           "ORDER BY c.id ASC")
+    List<TaskComment> findPageAfter(@Param("taskId") Long taskId, @Param("afterId") Long afterId,
+                                    org.springframework.data.domain.Pageable pageable);
+
     /**
      * Conta o número total de comentários de uma tarefa
      */
     long countByTaskId(Long taskId);
 
+    /**
+     * Conta o número total de comentários de várias tarefas (task id, contagem)
+     */
+    @Query("SELECT c.task.id, COUNT(c) FROM TaskComment c WHERE c.task.id IN :taskIds GROUP BY c.task.id")
+    List<Object[]> countByTaskIds(@Param("taskIds") List<Long> taskIds);
+
     /**
      * Encontra comentários de uma tarefa num período específico
      */
@@ -81,14 +104,6 @@ public interface TaskCommentRepository extends JpaRepository<TaskComment, Long>
      */
     void deleteByTaskId(Long taskId);
 
-    /**
-     * Elimina comentários antigos de uma tarefa (manter apenas os N mais recentes)
-     */
-    @Query("DELETE FROM TaskComment c WHERE c.task.id = :taskId AND c.id NOT IN " +
-           "(SELECT c2.id FROM TaskComment c2 WHERE c2.task.id = :taskId " +
-           "ORDER BY c2.createdAt DESC LIMIT :keepCount)")
-    void deleteOldCommentsKeepRecent(@Param("taskId") Long taskId, @Param("keepCount") int keepCount);
-
     default TaskComment findLastCommentByTask(Long taskId) {
         List<TaskComment> comments = findLastCommentByTaskId(taskId, 
                 org.springframework.data.domain.PageRequest.of(0, 1));
@@ -0,0 +1,47 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.dto.TaskCursor;
+import com.gestortarefas.dto.TaskSearchCriteria;
+import com.gestortarefas.dto.TaskView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas dinâmicas de tarefas (filtros, ordenação e paginação na base de dados).
+ *
+ * Fragmento incorporado no TaskRepository; implementado com JPA Criteria
+ * em TaskQueryRepositoryImpl.
+ */
+public interface TaskQueryRepository {
+
+    /**
+     * Pesquisa tarefas aplicando os filtros e a ordenação dos critérios.
+     * Executa uma consulta paginada (LIMIT/OFFSET) e uma consulta COUNT separada.
+     * Os resultados são projeções TaskView.
+     */
+    Page<TaskView> searchTasks(TaskSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Pesquisa por keyset (seek): devolve até {@code limit} tarefas posicionadas
+     * depois do cursor, na ordem dos critérios. Sem OFFSET nem COUNT, o custo não
+     * depende da profundidade da página. Um cursor nulo devolve a primeira página.
+     */
+    List<TaskView> seekTasks(TaskSearchCriteria criteria, TaskCursor after, int limit);
+
+    /**
+     * Das tarefas indicadas, devolve as que satisfazem os filtros dos critérios
+     * (sincronização por delta: as restantes saíram da listagem do cliente)
+     */
+    List<TaskView> findMatchingTasks(TaskSearchCriteria criteria, Collection<Long> ids);
+
+    /**
+     * Todas as tarefas que satisfazem os critérios, pela sua ordem, lidas em streaming
+     * (cursor forward-only com fetch size; sem carregar a lista em memória).
+     * Tem de ser consumido e fechado dentro da transação que o abriu.
+     */
+    Stream<TaskView> streamTasks(TaskSearchCriteria criteria);
+}
@@ -0,0 +1,318 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.dto.TaskCursor;
+import com.gestortarefas.dto.TaskSearchCriteria;
+import com.gestortarefas.dto.TaskView;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementação JPA Criteria do fragmento TaskQueryRepository.
+ *
+ * A consulta de dados junta utilizador, equipa e criador e constrói projeções
+ * TaskView (sem entidades geridas nem SELECT extra por linha) e a consulta
+ * de contagem usa apenas os joins necessários aos filtros.
+ */
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    // Linhas pedidas ao driver de cada vez em streamTasks (bases de dados que não o MySQL)
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // Connector/J lê as linhas uma a uma só com este fetch size (sem useCursorFetch no URL)
+    private static final int MYSQL_STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskView> searchTasks(TaskSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        // Consulta COUNT (apenas os joins necessários aos filtros)
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Task> countRoot = countQuery.from(Task.class);
+        Join<Task, User> countUser = TaskSearchCriteria.hasText(criteria.getUserName())
+            ? countRoot.join("user") : null;
+        Join<Task, Team> countTeam = TaskSearchCriteria.hasText(criteria.getTeamName())
+            ? countRoot.join("assignedTeam") : null;
+        countQuery.select(cb.count(countRoot))
+            .where(buildPredicates(cb, countRoot, countUser, countTeam, criteria));
+
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+        if (total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        // Consulta de dados com LIMIT/OFFSET
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> user = root.join("user", JoinType.INNER);
+        Join<Task, Team> team = root.join("assignedTeam", JoinType.LEFT);
+        Join<Task, User> createdBy = root.join("createdBy", JoinType.LEFT);
+
+        query.select(selectView(cb, root, user, team, createdBy))
+            .where(buildPredicates(cb, root, user, team, criteria))
+            .orderBy(buildOrder(cb, root, criteria));
+
+        List<TaskView> content = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<TaskView> seekTasks(TaskSearchCriteria criteria, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> user = root.join("user", JoinType.INNER);
+        Join<Task, Team> team = root.join("assignedTeam", JoinType.LEFT);
+        Join<Task, User> createdBy = root.join("createdBy", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>(Arrays.asList(buildPredicates(cb, root, user, team, criteria)));
+        if (after != null) {
+            predicates.add(buildSeekPredicate(cb, root, after));
+        }
+
+        query.select(selectView(cb, root, user, team, createdBy))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(buildOrder(cb, root, criteria));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<TaskView> findMatchingTasks(TaskSearchCriteria criteria, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> user = root.join("user", JoinType.INNER);
+        Join<Task, Team> team = root.join("assignedTeam", JoinType.LEFT);
+        Join<Task, User> createdBy = root.join("createdBy", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>(Arrays.asList(buildPredicates(cb, root, user, team, criteria)));
+        predicates.add(root.get("id").in(ids));
+
+        query.select(selectView(cb, root, user, team, createdBy))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(buildOrder(cb, root, criteria));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Stream<TaskView> streamTasks(TaskSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        Join<Task, User> user = root.join("user", JoinType.INNER);
+        Join<Task, Team> team = root.join("assignedTeam", JoinType.LEFT);
+        Join<Task, User> createdBy = root.join("createdBy", JoinType.LEFT);
+
+        query.select(selectView(cb, root, user, team, createdBy))
+            .where(buildPredicates(cb, root, user, team, criteria))
+            .orderBy(buildOrder(cb, root, criteria));
+
+        // getResultStream usa ScrollableResults FORWARD_ONLY; o fetch size limita as linhas
+        // em memória no driver só nesta consulta (as restantes continuam a ler tudo de uma vez)
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize())
+            .getResultStream();
+    }
+
+    /**
+     * Fetch size de streamTasks: no MySQL o resultado é lido linha a linha do socket
+     * (a ligação fica ocupada até o stream ser fechado); nas outras bases de dados em
+     * blocos de STREAM_FETCH_SIZE
+     */
+    private int streamFetchSize() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof MySQLDialect ? MYSQL_STREAM_FETCH_SIZE : STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * Expressão construtora da projeção TaskView (mesma ordem de colunas do record)
+     */
+    private CompoundSelection<TaskView> selectView(CriteriaBuilder cb, Root<Task> root, Join<Task, User> user,
+                                                   Join<Task, Team> team, Join<Task, User> createdBy) {
+        return cb.construct(TaskView.class,
+            root.get("id"), root.get("title"), root.get("description"), root.get("status"), root.get("priority"),
+            root.get("createdAt"), root.get("updatedAt"), root.get("dueDate"), root.get("completedAt"), root.get("archived"),
+            user.get("id"), user.get("username"), user.get("fullName"), user.get("email"), user.get("role"),
+            team.get("id"), team.get("name"), team.get("description"), team.get("active"),
+            createdBy.get("id"), createdBy.get("username"), createdBy.get("fullName"));
+    }
+
+    /**
+     * Constrói os predicados WHERE a partir dos critérios.
+     * Valores de status/prioridade inválidos não devolvem resultados.
+     */
+    private Predicate[] buildPredicates(CriteriaBuilder cb, Root<Task> root,
+                                        Join<Task, User> user, Join<Task, Team> team,
+                                        TaskSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (TaskSearchCriteria.hasText(criteria.getStatus())) {
+            try {
+                TaskStatus status = TaskStatus.valueOf(criteria.getStatus().trim().toUpperCase());
+                predicates.add(cb.equal(root.get("status"), status));
+            } catch (IllegalArgumentException e) {
+                predicates.add(cb.disjunction());
+            }
+        }
+
+        if (TaskSearchCriteria.hasText(criteria.getPriority())) {
+            try {
+                TaskPriority priority = TaskPriority.valueOf(criteria.getPriority().trim().toUpperCase());
+                predicates.add(cb.equal(root.get("priority"), priority));
+            } catch (IllegalArgumentException e) {
+                predicates.add(cb.disjunction());
+            }
+        }
+
+        // Filtro por utilizador atribuído (ID tem precedência sobre username)
+        if (criteria.getAssignedUserId() != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), criteria.getAssignedUserId()));
+        } else if (TaskSearchCriteria.hasText(criteria.getUserName())) {
+            predicates.add(cb.equal(user.get("username"), criteria.getUserName()));
+        }
+
+        // Filtro por equipa (ID tem precedência sobre nome)
+        if (criteria.getTeamId() != null) {
+            predicates.add(cb.equal(root.get("assignedTeam").get("id"), criteria.getTeamId()));
+        } else if (TaskSearchCriteria.hasText(criteria.getTeamName())) {
+            predicates.add(cb.equal(team.get("name"), criteria.getTeamName()));
+        }
+
+        // Pesquisa no título, etiquetas e descrição (IDs do índice ou, sem índice, LIKE)
+        if (criteria.getSearchIds() != null) {
+            predicates.add(criteria.getSearchIds().isEmpty()
+                ? cb.disjunction()
+                : root.get("id").in(criteria.getSearchIds()));
+        } else if (TaskSearchCriteria.hasText(criteria.getSearch())) {
+            String pattern = "%" + escapeLike(criteria.getSearch().toLowerCase()) + "%";
+            predicates.add(cb.or(
+                cb.like(cb.lower(root.<String>get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.<String>get("description")), pattern, '\\')
+            ));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Constrói o ORDER BY sobre as colunas de ordenação da tarefa (title_sort,
+     * priority_rank, status_rank, due_date_sort ou created_at) com o ID como desempate,
+     * para que a paginação seja determinística e cada ordenação use o seu índice.
+     * Prioridade e status ordenam pela ordem do enum (não alfabética); dueDate nulo
+     * conta como o maior valor.
+     */
+    private List<Order> buildOrder(CriteriaBuilder cb, Root<Task> root, TaskSearchCriteria criteria) {
+        boolean desc = criteria.isDescending();
+        return List.of(
+            direction(cb, sortColumn(root, criteria.getSortKey()), desc),
+            direction(cb, root.get("id"), desc));
+    }
+
+    /**
+     * Coluna de ordenação correspondente à chave normalizada de TaskSearchCriteria
+     */
+    private Expression<?> sortColumn(Root<Task> root, String sortKey) {
+        switch (sortKey) {
+            case "title":
+                return root.get("titleSort");
+            case "priority":
+                return root.get("priorityRank");
+            case "duedate":
+                return root.get("dueDateSort");
+            case "status":
+                return root.get("statusRank");
+            default:
+                return root.get("createdAt");
+        }
+    }
+
+    /**
+     * Constrói a condição "depois do cursor" coerente com buildOrder:
+     * (chave > valor) OR (chave = valor AND id > idCursor), invertida em ordem descendente.
+     * A chave é sempre uma coluna simples, pelo que a condição é um intervalo do índice
+     * (chave, id) e a página seguinte custa o mesmo a qualquer profundidade.
+     */
+    private Predicate buildSeekPredicate(CriteriaBuilder cb, Root<Task> root, TaskCursor cursor) {
+        try {
+            switch (cursor.getSortKey()) {
+                case "title":
+                    return seek(cb, root.get("titleSort"), cursor.getValue() != null ? cursor.getValue() : "",
+                        root, cursor);
+                case "priority":
+                    return seek(cb, root.get("priorityRank"), TaskPriority.valueOf(cursor.getValue()).ordinal(),
+                        root, cursor);
+                case "status":
+                    return seek(cb, root.get("statusRank"), TaskStatus.valueOf(cursor.getValue()).ordinal(),
+                        root, cursor);
+                case "duedate":
+                    // Cursores sem valor (tarefa sem prazo) apontam para NO_DUE_DATE_SORT
+                    return seek(cb, root.get("dueDateSort"), Task.dueDateSortKey(
+                        cursor.getValue() != null ? LocalDateTime.parse(cursor.getValue()) : null), root, cursor);
+                default:
+                    return seek(cb, root.get("createdAt"), LocalDateTime.parse(cursor.getValue()), root, cursor);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Expression<Y> key, Y value,
+                                                             Root<Task> root, TaskCursor cursor) {
+        boolean desc = cursor.isDescending();
+        Expression<Long> id = root.get("id");
+        Predicate beyond = desc ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+        Predicate idAfter = desc ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId());
+        return cb.or(beyond, cb.and(cb.equal(key, value), idAfter));
+    }
+
+    private Order direction(CriteriaBuilder cb, Expression<?> expression, boolean desc) {
+        return desc ? cb.desc(expression) : cb.asc(expression);
+    }
+
+    /**
+     * Escapa os caracteres especiais do LIKE para pesquisa literal
+     */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -5,30 +5,56 @@ import com.gestortarefas.model.Task.TaskStatus;
 import com.gestortarefas.model.Task.TaskPriority;
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.Team;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositório para operações de base de dados relacionadas às tarefas
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
+
+    /**
+     * Status de uma tarefa em aberto, como lista IN para que os índices (..., status, due_date)
+     * sejam percorridos por intervalos. O parâmetro :openStatuses recebe TaskStatus.OPEN.
+     */
+    String OPEN_STATUS = "t.status IN :openStatuses";
+
+    /**
+     * Tarefa em aberto e não arquivada (archived é NOT NULL)
+     */
+    String OPEN = OPEN_STATUS + " AND t.archived = false";
+    String AND_OPEN = " AND " + OPEN;
 
     /**
      * Busca todas as tarefas de um utilizador
      */
     List<Task> findByUser(User user);
 
+    /**
+     * Tarefas de um utilizador com os IDs indicados (ordem indefinida)
+     */
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+    List<Task> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
     /**
      * Busca tarefas de um utilizador ordenadas por data de criação (mais recente primeiro)
      */
     List<Task> findByUserOrderByCreatedAtDesc(User user);
 
+    /**
+     * IDs das tarefas de um utilizador
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.user = :user")
+    List<Long> findIdsByUser(@Param("user") User user);
+
     /**
      * Busca tarefas por status
      */
@@ -59,40 +85,31 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByUserAndPriority(User user, TaskPriority priority);
 
-    /**
-     * Busca tarefas que contêm determinado texto no título
-     */
-    @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Task> findByTitleContainingIgnoreCase(@Param("title") String title);
-
-    /**
-     * Busca tarefas de um utilizador que contêm determinado texto no título
-     */
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Task> findByUserAndTitleContainingIgnoreCase(@Param("user") User user, @Param("title") String title);
-
     /**
      * Busca tarefas em atraso (data limite passou e não estão concluídas)
      */
-       @Query("SELECT t FROM Task t WHERE t.dueDate < :currentDate AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findOverdueTasks(@Param("currentDate") LocalDateTime currentDate);
+       @Query("SELECT t FROM Task t WHERE t.dueDate < :currentDate" + AND_OPEN)
+       List<Task> findOverdueTasks(@Param("currentDate") LocalDateTime currentDate,
+                                  @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Busca tarefas em atraso de um utilizador específico
      */
-       @Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate < :currentDate AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findOverdueTasksByUser(@Param("user") User user, @Param("currentDate") LocalDateTime currentDate);
+       @Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate < :currentDate" + AND_OPEN)
+       List<Task> findOverdueTasksByUser(@Param("user") User user, @Param("currentDate") LocalDateTime currentDate,
+                                        @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Busca tarefas com prazo próximo (próximos dias)
      */
-       @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :startDate AND :endDate AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findTasksDueSoon(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+       @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :startDate AND :endDate" + AND_OPEN)
+       List<Task> findTasksDueSoon(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+                                  @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Busca tarefas recentemente concluídas
      */
-       @Query("SELECT t FROM Task t WHERE t.status = 'CONCLUIDA' AND (t.archived = false OR t.archived IS NULL) ORDER BY t.completedAt DESC")
+       @Query("SELECT t FROM Task t WHERE t.status = 'CONCLUIDA' AND t.archived = false ORDER BY t.completedAt DESC")
        List<Task> findRecentlyCompletedTasks();
 
     /**
@@ -114,12 +131,6 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.user = :user GROUP BY t.status")
     List<Object[]> getTaskStatsByUser(@Param("user") User user);
 
-    /**
-     * Remove todas as tarefas concluídas há mais de X dias
-     */
-    @Query("DELETE FROM Task t WHERE t.status = 'CONCLUIDA' AND t.completedAt < :cutoffDate")
-    void deleteOldCompletedTasks(@Param("cutoffDate") LocalDateTime cutoffDate);
-
     // Novos métodos para suporte à funcionalidade de equipas
 
     /**
@@ -148,11 +159,11 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByCreatedByAndStatus(User createdBy, TaskStatus status);
 
     /**
-     * Busca tarefas que podem ser vistas por um utilizador (próprias ou da sua equipa)
+     * Busca tarefas que podem ser vistas por um utilizador (próprias ou das suas equipas;
+     * os IDs das equipas vêm do MembershipIndex)
      */
-    @Query("SELECT t FROM Task t WHERE t.user = :user OR " +
-           "(t.assignedTeam IS NOT NULL AND :user MEMBER OF t.assignedTeam.members)")
-    List<Task> findVisibleTasksForUser(@Param("user") User user);
+    @Query("SELECT t FROM Task t WHERE t.user = :user OR t.assignedTeam.id IN :teamIds")
+    List<Task> findVisibleTasksForUser(@Param("user") User user, @Param("teamIds") List<Long> teamIds);
 
     /**
      * Busca tarefas da equipa de um gerente
@@ -162,10 +173,17 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findTasksForManagedTeams(@Param("manager") User manager);
 
     /**
-     * Busca tarefas por tag (procura na string de tags separadas por vírgula)
+     * Conta as tarefas das equipas de um gerente
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignedTeam IN " +
+           "(SELECT tm FROM Team tm WHERE tm.manager = :manager)")
+    long countTasksForManagedTeams(@Param("manager") User manager);
+
+    /**
+     * Nº de tarefas por tag normalizada: [tag, count], das mais usadas para as menos usadas
      */
-    @Query("SELECT t FROM Task t WHERE t.tags IS NOT NULL AND LOWER(t.tags) LIKE LOWER(CONCAT('%', :tag, '%'))")
-    List<Task> findByTag(@Param("tag") String tag);
+    @Query("SELECT tg, COUNT(t) FROM Task t JOIN t.tagNames tg GROUP BY tg ORDER BY COUNT(t) DESC, tg")
+    List<Object[]> countTasksByTag(Pageable pageable);
 
     /**
      * Busca tarefas pendentes (não concluídas)
@@ -176,38 +194,48 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     /**
      * Busca tarefas pendentes de um utilizador (exclui arquivadas)
      */
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.status != 'CONCLUIDA' AND (t.archived = false OR t.archived IS NULL)")
+    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.status != 'CONCLUIDA' AND t.archived = false")
     List<Task> findPendingTasksByUser(@Param("user") User user);
 
     /**
      * Busca tarefas pendentes de uma equipa (exclui arquivadas)
      */
-    @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND t.status != 'CONCLUIDA' AND (t.archived = false OR t.archived IS NULL)")
+    @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND t.status != 'CONCLUIDA' AND t.archived = false")
     List<Task> findPendingTasksByTeam(@Param("team") Team team);
 
     /**
      * Busca tarefas com prazo hoje (exclui arquivadas)
      */
-       @Query("SELECT t FROM Task t WHERE CAST(t.dueDate AS DATE) = CAST(:today AS DATE) AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findTasksDueToday(@Param("today") LocalDateTime today);
+       @Query("SELECT t FROM Task t WHERE t.dueDate >= :dayStart AND t.dueDate < :dayEnd" + AND_OPEN)
+       List<Task> findTasksDueToday(@Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd,
+                                   @Param("openStatuses") Collection<TaskStatus> openStatuses);
+
+
+    /**
+     * Conta todas as tarefas de um utilizador
+     */
+    long countByUser(User user);
 
     /**
      * Busca tarefas com prazo hoje de um utilizador (exclui arquivadas)
      */
-       @Query("SELECT t FROM Task t WHERE t.user = :user AND CAST(t.dueDate AS DATE) = CAST(:today AS DATE) AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findTasksDueTodayByUser(@Param("user") User user, @Param("today") LocalDateTime today);
+       @Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate >= :dayStart AND t.dueDate < :dayEnd" + AND_OPEN)
+       List<Task> findTasksDueTodayByUser(@Param("user") User user, @Param("dayStart") LocalDateTime dayStart,
+                                          @Param("dayEnd") LocalDateTime dayEnd, @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Busca tarefas com prazo hoje de uma equipa (exclui arquivadas)
      */
-       @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND CAST(t.dueDate AS DATE) = CAST(:today AS DATE) AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findTasksDueTodayByTeam(@Param("team") Team team, @Param("today") LocalDateTime today);
+       @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND t.dueDate >= :dayStart AND t.dueDate < :dayEnd" + AND_OPEN)
+       List<Task> findTasksDueTodayByTeam(@Param("team") Team team, @Param("dayStart") LocalDateTime dayStart,
+                                          @Param("dayEnd") LocalDateTime dayEnd, @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Busca tarefas em atraso de uma equipa
      */
-       @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND t.dueDate < :currentDate AND t.status NOT IN ('CONCLUIDA','FINALIZADO') AND (t.archived = false OR t.archived IS NULL)")
-       List<Task> findOverdueTasksByTeam(@Param("team") Team team, @Param("currentDate") LocalDateTime currentDate);
+       @Query("SELECT t FROM Task t WHERE t.assignedTeam = :team AND t.dueDate < :currentDate" + AND_OPEN)
+       List<Task> findOverdueTasksByTeam(@Param("team") Team team, @Param("currentDate") LocalDateTime currentDate,
+                                        @Param("openStatuses") Collection<TaskStatus> openStatuses);
 
     /**
      * Conta tarefas por status para uma equipa
@@ -247,13 +275,13 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     /**
      * Top utilizadores por tarefas concluídas
      */
-       @Query("SELECT t.user, COUNT(t) FROM Task t WHERE t.status = 'CONCLUIDA' AND (t.archived = false OR t.archived IS NULL) GROUP BY t.user ORDER BY COUNT(t) DESC")
+       @Query("SELECT t.user, COUNT(t) FROM Task t WHERE t.status = 'CONCLUIDA' AND t.archived = false GROUP BY t.user ORDER BY COUNT(t) DESC")
        List<Object[]> getTopUsersByCompletedTasks();
 
     /**
      * Top equipas por tarefas concluídas
      */
-       @Query("SELECT t.assignedTeam, COUNT(t) FROM Task t WHERE t.status = 'CONCLUIDA' AND (t.archived = false OR t.archived IS NULL) AND t.assignedTeam IS NOT NULL GROUP BY t.assignedTeam ORDER BY COUNT(t) DESC")
+       @Query("SELECT t.assignedTeam, COUNT(t) FROM Task t WHERE t.status = 'CONCLUIDA' AND t.archived = false AND t.assignedTeam IS NOT NULL GROUP BY t.assignedTeam ORDER BY COUNT(t) DESC")
        List<Object[]> getTopTeamsByCompletedTasks();
 
     /**
@@ -275,4 +303,35 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * Busca tarefas não arquivadas de um utilizador
      */
     List<Task> findByArchivedFalseAndUser(User user);
-}
\ No newline at end of file
+
+    /**
+     * Menor prazo posterior a uma data entre as tarefas não concluídas (versão dos dados)
+     */
+    @Query("SELECT MIN(t.dueDate) FROM Task t WHERE t.dueDate > :after AND " + OPEN_STATUS)
+    LocalDateTime findNextOpenDueDateAfter(@Param("after") LocalDateTime after, @Param("openStatuses") Collection<TaskStatus> openStatuses);
+
+    /**
+     * Menor data de conclusão posterior a uma data (versão dos dados)
+     */
+    @Query("SELECT MIN(t.completedAt) FROM Task t WHERE t.completedAt > :after AND t.status = 'CONCLUIDA'")
+    LocalDateTime findNextCompletedAtAfter(@Param("after") LocalDateTime after);
+
+    /**
+     * Texto pesquisável das tarefas com ID superior a afterId: [id, title, description, tags]
+     * por ordem de ID (construção do TaskSearchIndex em lotes)
+     */
+    @Query("SELECT t.id, t.title, t.description, t.tags FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Tarefas alteradas depois de uma sequência: [id, changeSeq] por ordem de sequência
+     */
+    @Query("SELECT t.id, t.changeSeq FROM Task t WHERE t.changeSeq > :since ORDER BY t.changeSeq")
+    List<Object[]> findChangesAfter(@Param("since") Long since, Pageable pageable);
+
+    /**
+     * Maior sequência de alterações registada nas tarefas
+     */
+    @Query("SELECT MAX(t.changeSeq) FROM Task t")
+    Long findMaxChangeSeq();
+}
@@ -0,0 +1,29 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório dos registos de tarefas eliminadas (sincronização por delta)
+ */
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    /**
+     * Eliminações posteriores a uma sequência: [taskId, changeSeq] por ordem de sequência
+     */
+    @Query("SELECT t.taskId, t.changeSeq FROM TaskTombstone t WHERE t.changeSeq > :since ORDER BY t.changeSeq")
+    List<Object[]> findChangesAfter(@Param("since") Long since, Pageable pageable);
+
+    /**
+     * Maior sequência registada (null se não houver eliminações)
+     */
+    @Query("SELECT MAX(t.changeSeq) FROM TaskTombstone t")
+    Long findMaxChangeSeq();
+}
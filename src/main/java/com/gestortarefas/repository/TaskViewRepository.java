@@ -0,0 +1,150 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.dto.TaskView;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas de leitura que devolvem projeções TaskView.
+ *
+ * Cada consulta junta utilizador, equipa e criador numa única instrução SQL e
+ * constrói os registos diretamente (sem entidades no contexto de persistência).
+ * Os critérios replicam as consultas equivalentes do TaskRepository.
+ */
+@org.springframework.stereotype.Repository
+public interface TaskViewRepository extends org.springframework.data.repository.Repository<Task, Long> {
+
+    /**
+     * SELECT comum a todas as consultas de projeção. O utilizador é juntado pela condição
+     * u.id = t.user.id (e não por t.user), para que t.user.id nos filtros continue a ser a
+     * coluna user_id de tasks em vez de u.id.
+     */
+    String SELECT_VIEW = "SELECT new com.gestortarefas.dto.TaskView(" +
+           "t.id, t.title, t.description, t.status, t.priority, " +
+           "t.createdAt, t.updatedAt, t.dueDate, t.completedAt, t.archived, " +
+           "u.id, u.username, u.fullName, u.email, u.role, " +
+           "tm.id, tm.name, tm.description, tm.active, " +
+           "cb.id, cb.username, cb.fullName) " +
+           "FROM Task t JOIN User u ON u.id = t.user.id LEFT JOIN t.assignedTeam tm LEFT JOIN t.createdBy cb ";
+
+    /**
+     * Uma tarefa
+     */
+    @Query(SELECT_VIEW + "WHERE t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") Long id);
+
+    /**
+     * Tarefas de um utilizador (mais recente primeiro)
+     */
+    @Query(SELECT_VIEW + "WHERE u.id = :userId ORDER BY t.createdAt DESC")
+    List<TaskView> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Tarefas de um utilizador com determinado status
+     */
+    @Query(SELECT_VIEW + "WHERE u.id = :userId AND t.status = :status")
+    List<TaskView> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    /**
+     * Tarefas por múltiplos status
+     */
+    @Query(SELECT_VIEW + "WHERE t.status IN :statuses")
+    List<TaskView> findByStatusIn(@Param("statuses") List<TaskStatus> statuses);
+
+    /**
+     * Tarefas com os IDs indicados (ordem indefinida)
+     */
+    @Query(SELECT_VIEW + "WHERE t.id IN :ids")
+    List<TaskView> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tarefas de um utilizador com os IDs indicados (ordem indefinida)
+     */
+    @Query(SELECT_VIEW + "WHERE u.id = :userId AND t.id IN :ids")
+    List<TaskView> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Tarefas com a tag normalizada indicada (mais recente primeiro)
+     */
+    @Query(SELECT_VIEW + "JOIN t.tagNames tg WHERE tg = :tag ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskView> findByTag(@Param("tag") String tag);
+
+    /**
+     * Tarefas com pelo menos uma das tags normalizadas indicadas (mais recente primeiro)
+     */
+    @Query(SELECT_VIEW + "WHERE t.id IN (SELECT tt.id FROM Task tt JOIN tt.tagNames tg WHERE tg IN :tags) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskView> findByAnyTag(@Param("tags") Collection<String> tags);
+
+    /**
+     * Tarefas com todas as tags normalizadas indicadas (tagCount = nº de tags distintas)
+     */
+    @Query(SELECT_VIEW + "WHERE t.id IN (SELECT tt.id FROM Task tt JOIN tt.tagNames tg WHERE tg IN :tags " +
+           "GROUP BY tt.id HAVING COUNT(tg) = :tagCount) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskView> findByAllTags(@Param("tags") Collection<String> tags, @Param("tagCount") long tagCount);
+
+    /**
+     * Tarefas arquivadas que ainda não saíram da tabela de tarefas ativas
+     * (mais recentemente concluídas primeiro; sem data de conclusão no fim)
+     */
+    @Query(SELECT_VIEW + "WHERE t.archived = true ORDER BY t.completedAt DESC, t.id DESC")
+    List<TaskView> findArchived(Pageable pageable);
+
+    /**
+     * Continuação de findArchived depois da tarefa (completedAt, id) do cursor
+     */
+    @Query(SELECT_VIEW + "WHERE t.archived = true AND (" +
+           "(t.completedAt IS NULL AND (:completedAt IS NOT NULL OR t.id < :id)) OR " +
+           "t.completedAt < :completedAt OR (t.completedAt = :completedAt AND t.id < :id)) " +
+           "ORDER BY t.completedAt DESC, t.id DESC")
+    List<TaskView> findArchivedAfter(@Param("completedAt") LocalDateTime completedAt, @Param("id") Long id,
+                                     Pageable pageable);
+
+    /**
+     * Tarefas em atraso (não concluídas e não arquivadas)
+     */
+    @Query(SELECT_VIEW + "WHERE t.dueDate < :currentDate AND " + TaskRepository.OPEN)
+    List<TaskView> findOverdue(@Param("currentDate") LocalDateTime currentDate, @Param("openStatuses") Collection<TaskStatus> openStatuses);
+
+    /**
+     * Tarefas em atraso de um utilizador (filtro em t.user.id, para que o índice
+     * (user_id, archived, status, due_date) seja usado)
+     */
+    @Query(SELECT_VIEW + "WHERE t.user.id = :userId AND t.dueDate < :currentDate AND " + TaskRepository.OPEN)
+    List<TaskView> findOverdueByUserId(@Param("userId") Long userId, @Param("currentDate") LocalDateTime currentDate,
+                                       @Param("openStatuses") Collection<TaskStatus> openStatuses);
+
+    /**
+     * Tarefas com prazo entre duas datas (não concluídas e não arquivadas)
+     */
+    @Query(SELECT_VIEW + "WHERE t.dueDate BETWEEN :startDate AND :endDate AND " + TaskRepository.OPEN)
+    List<TaskView> findDueBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+                                  @Param("openStatuses") Collection<TaskStatus> openStatuses);
+
+    /**
+     * Tarefas concluídas depois de uma data (não arquivadas, mais recentes primeiro)
+     */
+    @Query(SELECT_VIEW + "WHERE t.status = 'CONCLUIDA' AND t.completedAt > :since AND t.archived = false ORDER BY t.completedAt DESC")
+    List<TaskView> findCompletedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Dashboard - tarefas de um utilizador que podem entrar numa das 4 colunas
+     * (não arquivadas e não concluídas, ou concluídas depois de completedSince)
+     */
+    @Query(SELECT_VIEW + "WHERE u.id = :userId AND t.archived = false AND (t.status <> 'CONCLUIDA' OR t.completedAt > :completedSince) ORDER BY t.id")
+    List<TaskView> findDashboardByUserId(@Param("userId") Long userId, @Param("completedSince") LocalDateTime completedSince);
+
+    /**
+     * Dashboard - tarefas de uma equipa que podem entrar numa das 4 colunas
+     */
+    @Query(SELECT_VIEW + "WHERE tm.id = :teamId AND t.archived = false AND (t.status <> 'CONCLUIDA' OR t.completedAt > :completedSince) ORDER BY t.id")
+    List<TaskView> findDashboardByTeamId(@Param("teamId") Long teamId, @Param("completedSince") LocalDateTime completedSince);
+}
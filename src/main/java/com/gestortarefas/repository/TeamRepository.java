@@ -2,8 +2,11 @@ package com.gestortarefas.repository;
 
 import com.gestortarefas.model.Team;
 import com.gestortarefas.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,9 +19,17 @@ import java.util.Optional;
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
     
+    /**
+     * Todas as equipas
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Team> findAll();
+
     /**
      * Encontra equipas ativas
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // cache de consultas (invalidada em qualquer escrita em teams)
     List<Team> findByActiveTrue();
     
     /**
@@ -77,4 +88,42 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      * Encontra equipas sem gerente atribuído
      */
     List<Team> findByManagerIsNullAndActiveTrue();
-}
\ No newline at end of file
+
+    /**
+     * Número de membros por equipa (carga inicial das estatísticas de equipa)
+     */
+    @Query("SELECT t.id, COUNT(m) FROM Team t JOIN t.members m GROUP BY t.id")
+    List<Object[]> countMembersByTeam();
+
+    /**
+     * Número de membros das equipas indicadas
+     */
+    @Query("SELECT t.id, COUNT(m) FROM Team t JOIN t.members m WHERE t.id IN :teamIds GROUP BY t.id")
+    List<Object[]> countMembersByTeamIds(@Param("teamIds") List<Long> teamIds);
+
+    /**
+     * Pares (utilizador, equipa) das equipas de que os utilizadores são membros ou gerentes
+     * (destinatários dos eventos de /api/events)
+     */
+    @Query("SELECT m.id, t.id FROM Team t JOIN t.members m WHERE m.id IN :userIds " +
+           "UNION SELECT t.manager.id, t.id FROM Team t WHERE t.manager.id IN :userIds")
+    List<Object[]> findTeamIdsByUserIds(@Param("userIds") List<Long> userIds);
+
+    /**
+     * Todos os pares (utilizador, equipa) de membros (carga do MembershipIndex)
+     */
+    @Query("SELECT m.id, t.id FROM Team t JOIN t.members m")
+    List<Object[]> findAllMemberships();
+
+    /**
+     * IDs dos membros de uma equipa
+     */
+    @Query("SELECT m.id FROM Team t JOIN t.members m WHERE t.id = :teamId")
+    List<Long> findMemberIds(@Param("teamId") Long teamId);
+
+    /**
+     * Pares (nome, ID) de todas as equipas (mapa de resolução da importação)
+     */
+    @Query("SELECT t.name, t.id FROM Team t")
+    List<Object[]> findAllNameIds();
+}
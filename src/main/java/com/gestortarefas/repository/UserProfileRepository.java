@@ -2,8 +2,11 @@ package com.gestortarefas.repository;
 
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.UserProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,11 +21,13 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     /**
      * Encontra perfil por utilizador
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // cache de consultas (invalidada em qualquer escrita em user_profiles)
     Optional<UserProfile> findByUser(User user);
     
     /**
      * Encontra perfil por ID do utilizador
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserProfile> findByUserId(Long userId);
     
     /**
@@ -3,8 +3,11 @@ package com.gestortarefas.repository;
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.UserRole;
 import com.gestortarefas.model.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +23,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Busca utilizador por nome de utilizador
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // cache de consultas (invalidada em qualquer escrita em users)
     Optional<User> findByUsername(String username);
 
     /**
@@ -46,6 +50,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Busca todos os utilizadores ativos
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<User> findByActiveTrue();
 
     /**
@@ -110,4 +115,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u.role, COUNT(u) FROM User u WHERE u.active = true GROUP BY u.role")
     List<Object[]> countUsersByRole();
-}
\ No newline at end of file
+
+    /**
+     * Pares (username, ID) de todos os utilizadores (mapa de resolução da importação)
+     */
+    @Query("SELECT u.username, u.id FROM User u")
+    List<Object[]> findAllUsernameIds();
+
+    /**
+     * Emails de todos os utilizadores (deteção de duplicados na importação)
+     */
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+}
@@ -0,0 +1,86 @@
+package com.gestortarefas.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa em paralelo as consultas independentes dos dashboards de gerente e administrador,
+ * cada uma na sua transação só de leitura, num pool limitado (gestortarefas.dashboard.parallelism).
+ * Com o pool e a fila cheios a consulta corre no próprio thread do pedido.
+ *
+ * Os pedidos que usam isto não têm open-in-view (WebConfig): enquanto esperam pelos
+ * resultados não seguram uma ligação, senão pedidos simultâneos podiam esgotar o pool do
+ * Hikari à espera de consultas que precisam de outra ligação. Por isso o resultado de cada
+ * consulta tem de vir já inicializado (associações lazy que vão para o JSON incluídas).
+ */
+@Component
+public class DashboardQueryExecutor {
+
+    @Value("${gestortarefas.dashboard.parallelism:4}")
+    private int parallelism;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(parallelism * 16), runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-query-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Inicia uma consulta numa transação só de leitura
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        // As instruções SQL da consulta contam no pedido que a iniciou
+        return CompletableFuture.supplyAsync(
+            SqlStatementStatistics.wrap(() -> readOnly.execute(status -> query.get())), executor);
+    }
+
+    /**
+     * Resultado de uma consulta; as exceções da consulta (ex.: IllegalArgumentException
+     * por falta de permissão) são relançadas tal como foram lançadas
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,624 @@
+package com.gestortarefas.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.model.UserRole;
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TeamRepository;
+import com.gestortarefas.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importação em streaming de tarefas, utilizadores e equipas a partir de ficheiros
+ * CSV (com cabeçalho) ou NDJSON (um objeto JSON por linha).
+ *
+ * O ficheiro é lido registo a registo e gravado em transações de CHUNK_SIZE registos;
+ * o contexto de persistência é limpo no fim de cada lote, pelo que a memória usada
+ * não depende do tamanho do ficheiro. Usernames e nomes de equipa são
+ * resolvidos por mapas carregados uma vez no início, e as tarefas são inseridas em
+ * lotes JDBC (hibernate.jdbc.batch_size).
+ *
+ * Cada registo é validado antes de ser gravado: um registo inválido é reportado e não
+ * impede os restantes. Um erro da base de dados no commit rejeita apenas o seu lote.
+ * As gravações passam pelas entidades, pelo que os listeners mantêm atualizados o
+ * índice de pesquisa, as estatísticas de equipa e os eventos.
+ *
+ * Não é @Transactional: cada lote abre a sua própria transação (TransactionTemplate).
+ */
+@Service
+public class DataImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataImportService.class);
+
+    // Registos por transação (e por relatório de progresso)
+    public static final int CHUNK_SIZE = 1000;
+
+    // Erros descritos no resumo; os restantes só são contados
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Tipo de registo importado
+     */
+    public enum ImportType { TASKS, USERS, TEAMS }
+
+    /**
+     * Formato do ficheiro
+     */
+    public enum ImportFormat { CSV, NDJSON }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private TaskEventPublisher taskEventPublisher;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Importa todos os registos do ficheiro. O progresso é enviado a progress depois de
+     * cada lote; o resumo devolvido é o mesmo objeto, já marcado como terminado.
+     *
+     * @param requester utilizador que fica como criador das tarefas sem createdBy
+     */
+    public ImportSummary importStream(ImportType type, ImportFormat format, InputStream input,
+                                      User requester, Consumer<ImportSummary> progress) {
+        ImportSummary summary = new ImportSummary(type);
+        Lookups lookups = loadLookups(type);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try (RecordReader reader = format == ImportFormat.CSV
+                ? new CsvRecordReader(input) : new NdjsonRecordReader(input, objectMapper)) {
+            List<Map<String, String>> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> numbers = new ArrayList<>(CHUNK_SIZE);
+            while (true) {
+                Map<String, String> record = reader.next(summary);
+                if (record != null) {
+                    chunk.add(record);
+                    numbers.add(summary.getProcessed());
+                }
+                if (chunk.size() == CHUNK_SIZE || (record == null && !chunk.isEmpty())) {
+                    importChunk(type, chunk, numbers, lookups, requester.getId(), transaction, summary);
+                    chunk.clear();
+                    numbers.clear();
+                    progress.accept(summary);
+                }
+                if (record == null) {
+                    break;
+                }
+            }
+        } catch (IOException | UncheckedIOException | IllegalStateException e) {
+            // Ficheiro mal formado: os lotes anteriores ficam gravados
+            summary.abort("Leitura interrompida depois do registo " + summary.getProcessed() + ": " + e.getMessage());
+        }
+
+        summary.finish();
+        logger.info("Importação de {}: {} registos, {} importados, {} falhados em {} ms",
+            type, summary.getProcessed(), summary.getImported(), summary.getFailed(), summary.getElapsedMillis());
+        return summary;
+    }
+
+    /**
+     * Grava um lote numa transação; se o commit falhar, todos os registos do lote falham
+     */
+    private void importChunk(ImportType type, List<Map<String, String>> chunk, List<Long> numbers,
+                             Lookups lookups, Long requesterId, TransactionTemplate transaction,
+                             ImportSummary summary) {
+        Lookups added = new Lookups();
+        List<String> errors = new ArrayList<>();
+        int[] imported = {0};
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    try {
+                        switch (type) {
+                            case TASKS -> importTask(chunk.get(i), lookups, requesterId);
+                            case USERS -> importUser(chunk.get(i), lookups, added);
+                            case TEAMS -> importTeam(chunk.get(i), lookups, added);
+                        }
+                        imported[0]++;
+                    } catch (IllegalArgumentException e) {
+                        errors.add("Registo " + numbers.get(i) + ": " + e.getMessage());
+                    }
+                }
+                // Com open-in-view o EntityManager do pedido é partilhado por todos os lotes
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            String range = numbers.get(0) + "-" + numbers.get(numbers.size() - 1);
+            logger.warn("Lote de importação rejeitado (registos {})", range, e);
+            summary.chunkRejected(chunk.size(), "Registos " + range + ": lote rejeitado pela base de dados (" +
+                NestedExceptionUtils.getMostSpecificCause(e).getMessage() + ")");
+            return;
+        }
+        // Só depois do commit os novos nomes passam a ser conhecidos pelos lotes seguintes
+        lookups.merge(added);
+        summary.chunkCommitted(imported[0], errors);
+    }
+
+    private void importTask(Map<String, String> record, Lookups lookups, Long requesterId) {
+        Task task = new Task();
+        task.setTitle(value(record, "title"));
+        task.setDescription(value(record, "description"));
+        task.setPriority(parseEnum(TaskPriority.class, value(record, "priority"), TaskPriority.NORMAL, "Prioridade"));
+        task.setStatus(parseEnum(TaskStatus.class, value(record, "status"), TaskStatus.PENDENTE, "Status"));
+        task.setDueDate(parseDate(value(record, "duedate")));
+        task.setTags(value(record, "tags"));
+        task.setEstimatedHours(parseInteger(value(record, "estimatedhours"), "estimatedHours"));
+        task.setActualHours(parseInteger(value(record, "actualhours"), "actualHours"));
+
+        String username = value(record, "username");
+        if (username == null) {
+            throw new IllegalArgumentException("username é obrigatório");
+        }
+        User user = userReference(lookups, username);
+        task.setUser(user);
+        String createdBy = value(record, "createdby");
+        task.setCreatedBy(createdBy != null ? userReference(lookups, createdBy)
+            : entityManager.getReference(User.class, requesterId));
+        String teamName = value(record, "team");
+        if (teamName != null) {
+            task.setAssignedTeam(entityManager.getReference(Team.class, lookups.teamId(teamName)));
+        }
+
+        validate(task);
+        taskRepository.save(task);
+    }
+
+    private void importUser(Map<String, String> record, Lookups lookups, Lookups added) {
+        User user = new User();
+        user.setUsername(value(record, "username"));
+        user.setEmail(value(record, "email"));
+        user.setPassword(value(record, "password"));
+        user.setFullName(value(record, "fullname"));
+        user.setRole(parseEnum(UserRole.class, value(record, "role"), UserRole.FUNCIONARIO, "Role"));
+        user.setActive(parseBoolean(value(record, "active"), "active"));
+        user.setCreatedAt(LocalDateTime.now());
+        validate(user); // antes de codificar a senha, para validar o tamanho mínimo
+
+        if (lookups.hasUser(user.getUsername()) || added.hasUser(user.getUsername())) {
+            throw new IllegalArgumentException("Nome de utilizador já existe: " + user.getUsername());
+        }
+        if (lookups.hasEmail(user.getEmail()) || added.hasEmail(user.getEmail())) {
+            throw new IllegalArgumentException("Email já está registado: " + user.getEmail());
+        }
+
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        userRepository.save(user);
+        added.addUser(user.getUsername(), user.getId());
+        added.addEmail(user.getEmail());
+    }
+
+    private void importTeam(Map<String, String> record, Lookups lookups, Lookups added) {
+        String name = value(record, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("Nome da equipa é obrigatório");
+        }
+        if (name.length() > 100) {
+            throw new IllegalArgumentException("Nome da equipa não pode exceder 100 caracteres");
+        }
+        if (lookups.hasTeam(name) || added.hasTeam(name)) {
+            throw new IllegalArgumentException("Já existe uma equipa com o nome: " + name);
+        }
+
+        Team team = new Team(name, value(record, "description"));
+        team.setActive(parseBoolean(value(record, "active"), "active"));
+        String manager = value(record, "manager");
+        if (manager != null) {
+            team.setManager(userReference(lookups, manager));
+        }
+        Set<Long> memberIds = new LinkedHashSet<>();
+        for (String member : splitList(value(record, "members"))) {
+            memberIds.add(lookups.userId(member));
+        }
+
+        teamRepository.save(team);
+        for (Long memberId : memberIds) {
+            // O lado dono da relação é User.teams
+            userRepository.findById(memberId).ifPresent(member -> member.addToTeam(team));
+        }
+        if (!memberIds.isEmpty()) {
+            membershipIndex.teamChanged(team.getId());
+            teamStatsAggregate.membershipChanged(team.getId());
+            taskEventPublisher.membershipChanged(team.getId());
+            dataVersion.changed(); // a tabela de membros não dispara eventos JPA
+        }
+        added.addTeam(name, team.getId());
+    }
+
+    private Lookups loadLookups(ImportType type) {
+        Lookups lookups = new Lookups();
+        for (Object[] row : userRepository.findAllUsernameIds()) {
+            lookups.addUser((String) row[0], (Long) row[1]);
+        }
+        if (type == ImportType.USERS) {
+            userRepository.findAllEmails().forEach(lookups::addEmail);
+        } else {
+            for (Object[] row : teamRepository.findAllNameIds()) {
+                lookups.addTeam((String) row[0], (Long) row[1]);
+            }
+        }
+        return lookups;
+    }
+
+    private User userReference(Lookups lookups, String username) {
+        return entityManager.getReference(User.class, lookups.userId(username));
+    }
+
+    private void validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+    }
+
+    /**
+     * Valor de um campo (nomes sem distinção de maiúsculas nem "_"); vazio conta como ausente
+     */
+    private static String value(Map<String, String> record, String field) {
+        String value = record.get(field);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, String label) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(label + " inválido: " + value);
+        }
+    }
+
+    /**
+     * Aceita data e hora ISO (2025-03-01T18:00) ou só a data (fim do dia)
+     */
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atTime(23, 59) : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " deve ser um número inteiro: " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value, String label) {
+        if (value == null) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("true") || value.equals("1")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false") || value.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException(label + " deve ser true ou false: " + value);
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split("[;,]")) {
+                if (!item.isBlank()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    private static String fieldKey(String name) {
+        return name.replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mapas de resolução nome → ID (sem distinção de maiúsculas)
+     */
+    private static class Lookups {
+        private final Map<String, Long> userIds = new HashMap<>();
+        private final Map<String, Long> teamIds = new HashMap<>();
+        private final Set<String> emails = new HashSet<>();
+
+        Long userId(String username) {
+            Long id = userIds.get(username.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException("Utilizador não encontrado: " + username);
+            }
+            return id;
+        }
+
+        Long teamId(String name) {
+            Long id = teamIds.get(name.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException("Equipa não encontrada: " + name);
+            }
+            return id;
+        }
+
+        boolean hasUser(String username) {
+            return userIds.containsKey(username.toLowerCase(Locale.ROOT));
+        }
+
+        boolean hasTeam(String name) {
+            return teamIds.containsKey(name.toLowerCase(Locale.ROOT));
+        }
+
+        boolean hasEmail(String email) {
+            return emails.contains(email.toLowerCase(Locale.ROOT));
+        }
+
+        void addUser(String username, Long id) {
+            userIds.putIfAbsent(username.toLowerCase(Locale.ROOT), id);
+        }
+
+        void addTeam(String name, Long id) {
+            teamIds.putIfAbsent(name.toLowerCase(Locale.ROOT), id); // nomes repetidos: fica o mais antigo
+        }
+
+        void addEmail(String email) {
+            emails.add(email.toLowerCase(Locale.ROOT));
+        }
+
+        void merge(Lookups other) {
+            other.userIds.forEach(userIds::putIfAbsent);
+            other.teamIds.forEach(teamIds::putIfAbsent);
+            emails.addAll(other.emails);
+        }
+    }
+
+    /**
+     * Leitura incremental: next() devolve o próximo registo válido ou null no fim.
+     * Registos que não se conseguem interpretar são contados como falhados no resumo.
+     */
+    private interface RecordReader extends Closeable {
+        Map<String, String> next(ImportSummary summary) throws IOException;
+    }
+
+    private static Reader utf8Reader(InputStream input) throws IOException {
+        PushbackReader reader = new PushbackReader(
+            new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), 1);
+        int first = reader.read();
+        if (first != -1 && first != '\uFEFF') { // ignora o BOM de ficheiros gravados pelo Excel
+            reader.unread(first);
+        }
+        return reader;
+    }
+
+    private static class CsvRecordReader implements RecordReader {
+        private final CSVParser parser;
+        private final Iterator<CSVRecord> records;
+
+        CsvRecordReader(InputStream input) throws IOException {
+            CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+            this.parser = csvFormat.parse(utf8Reader(input));
+            this.records = parser.iterator();
+        }
+
+        @Override
+        public Map<String, String> next(ImportSummary summary) {
+            if (!records.hasNext()) {
+                return null;
+            }
+            CSVRecord record = records.next();
+            summary.recordRead();
+            Map<String, String> fields = new HashMap<>();
+            record.toMap().forEach((name, value) -> fields.put(fieldKey(name), value));
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRecordReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            this.reader = new BufferedReader(utf8Reader(input));
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Map<String, String> next(ImportSummary summary) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                summary.recordRead();
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    summary.recordFailed("Registo " + summary.getProcessed() + ": JSON inválido");
+                    continue;
+                }
+                if (!node.isObject()) {
+                    summary.recordFailed("Registo " + summary.getProcessed() + ": esperado um objeto JSON");
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                node.fields().forEachRemaining(field -> fields.put(fieldKey(field.getKey()), text(field.getValue())));
+                return fields;
+            }
+            return null;
+        }
+
+        // Listas (tags, members) podem vir como arrays JSON
+        private static String text(JsonNode value) {
+            if (value.isNull()) {
+                return null;
+            }
+            if (value.isArray()) {
+                List<String> items = new ArrayList<>();
+                value.forEach(item -> items.add(item.asText()));
+                return String.join(",", items);
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Progresso e resultado de uma importação
+     */
+    public static class ImportSummary {
+        private final ImportType type;
+        private final long startedAt = System.currentTimeMillis();
+        private long processed;
+        private long imported;
+        private long failed;
+        private final List<String> errors = new ArrayList<>();
+        private boolean finished;
+        private String abortMessage;
+        private long elapsedMillis;
+
+        ImportSummary(ImportType type) {
+            this.type = type;
+        }
+
+        void recordRead() {
+            processed++;
+        }
+
+        void recordFailed(String error) {
+            failed++;
+            addError(error);
+        }
+
+        void chunkCommitted(int importedCount, List<String> chunkErrors) {
+            imported += importedCount;
+            failed += chunkErrors.size();
+            chunkErrors.forEach(this::addError);
+        }
+
+        void chunkRejected(int recordCount, String error) {
+            failed += recordCount;
+            addError(error);
+        }
+
+        void abort(String message) {
+            abortMessage = message;
+        }
+
+        void finish() {
+            finished = true;
+            elapsedMillis = System.currentTimeMillis() - startedAt;
+        }
+
+        private void addError(String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        public ImportType getType() { return type; }
+        public long getProcessed() { return processed; }
+        public long getImported() { return imported; }
+        public long getFailed() { return failed; }
+        public List<String> getErrors() { return errors; }
+        public boolean isFinished() { return finished; }
+        public boolean isAborted() { return abortMessage != null; }
+        public String getAbortMessage() { return abortMessage; }
+
+        public long getElapsedMillis() {
+            return finished ? elapsedMillis : System.currentTimeMillis() - startedAt;
+        }
+    }
+}
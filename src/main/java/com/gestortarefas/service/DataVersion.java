@@ -0,0 +1,126 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Versão global dos dados, usada como ETag/Last-Modified dos dashboards e listagens.
+ *
+ * A versão é composta por:
+ * - uma sequência incrementada após o commit de qualquer escrita em tarefas,
+ *   comentários, leituras de comentários, equipas, membros ou utilizadores;
+ * - um "relógio" que avança quando passa um instante em que uma tarefa muda de
+ *   coluna sem ser alterada (fica em atraso, entra/sai dos próximos 3 dias,
+ *   sai das concluídas recentes, ou muda o dia).
+ *
+ * Um pedido sem alterações é respondido com 304 sem consultar a base de dados;
+ * o próximo instante de mudança só é recalculado (3 consultas MIN) depois de
+ * uma escrita ou quando esse instante passa.
+ *
+ * Operações em massa que não passam pelas entidades devem chamar changed().
+ */
+@Service
+public class DataVersion {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // Distingue arranques do servidor (a sequência recomeça do zero)
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private long sequence;
+    private long clock;
+    private long lastModified = System.currentTimeMillis();
+
+    private long boundarySequence = -1;
+    private LocalDateTime nextBoundary;
+
+    /**
+     * Regista uma alteração (aplicada após o commit da transação corrente)
+     */
+    public void changed() {
+        AfterCommit.run(this::increment);
+    }
+
+    /**
+     * ETag (fraca) da versão atual
+     */
+    public String currentETag() {
+        refreshClock();
+        synchronized (this) {
+            return "W/\"" + epoch + "-" + sequence + "-" + clock + "\"";
+        }
+    }
+
+    /**
+     * Instante (ms) da última alteração ou mudança de coluna por passagem do tempo
+     */
+    public long lastModified() {
+        refreshClock();
+        synchronized (this) {
+            return lastModified;
+        }
+    }
+
+    private synchronized void increment() {
+        sequence++;
+        lastModified = System.currentTimeMillis();
+    }
+
+    /**
+     * Avança o relógio se o próximo instante de mudança já passou e recalcula-o.
+     * As consultas correm fora do monitor: increment() é chamado após o commit por
+     * threads que ainda têm a sua ligação, e não pode esperar por quem aguarda uma do pool.
+     */
+    private void refreshClock() {
+        LocalDateTime now = LocalDateTime.now();
+        long observedSequence;
+        synchronized (this) {
+            if (boundarySequence == sequence && now.isBefore(nextBoundary)) {
+                return;
+            }
+            if (boundarySequence == sequence) {
+                clock++;
+                lastModified = System.currentTimeMillis();
+                boundarySequence = -1; // os pedidos concorrentes só recalculam
+            }
+            observedSequence = sequence;
+        }
+        LocalDateTime next = computeNextBoundary(now);
+        synchronized (this) {
+            // Uma escrita entretanto torna o valor obsoleto: é recalculado no próximo pedido
+            if (sequence == observedSequence) {
+                boundarySequence = observedSequence;
+                nextBoundary = next;
+            }
+        }
+    }
+
+    /**
+     * Próximo instante em que alguma tarefa muda de coluna apenas pela passagem do tempo
+     * (mesmos limites usados por TaskService.DashboardColumns e TaskView.isOverdue)
+     */
+    private LocalDateTime computeNextBoundary(LocalDateTime now) {
+        LocalDateTime next = LocalDate.now(ZoneId.systemDefault()).plusDays(1).atStartOfDay();
+
+        LocalDateTime nextDue = taskRepository.findNextOpenDueDateAfter(now, TaskStatus.OPEN);
+        if (nextDue != null && nextDue.isBefore(next)) {
+            next = nextDue;
+        }
+        LocalDateTime nextDueSoon = taskRepository.findNextOpenDueDateAfter(now.plusDays(3), TaskStatus.OPEN);
+        if (nextDueSoon != null && nextDueSoon.minusDays(3).isBefore(next)) {
+            next = nextDueSoon.minusDays(3);
+        }
+        LocalDateTime nextCompleted = taskRepository.findNextCompletedAtAfter(now.minusDays(3));
+        if (nextCompleted != null && nextCompleted.plusDays(3).isBefore(next)) {
+            next = nextCompleted.plusDays(3);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gestortarefas.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que avança a DataVersion em qualquer escrita das entidades
+ * mostradas nos dashboards e listagens
+ */
+@Component
+public class DataVersionListener {
+
+    @Autowired
+    private ObjectProvider<DataVersion> dataVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        dataVersion.getObject().changed();
+    }
+}
@@ -0,0 +1,197 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória dos membros das equipas (utilizador → equipas e equipa → membros),
+ * para que as verificações de permissão e as consultas de tarefas visíveis não carreguem
+ * as coleções team.getMembers()/user.getTeams() a cada pedido.
+ *
+ * Os conjuntos são arrays de long ordenados (pesquisa binária), substituídos por inteiro
+ * em cada alteração: as leituras não usam locks. Carregado no arranque e atualizado após
+ * o commit por quem altera os membros (TeamService, UserService, importação).
+ */
+@Component
+public class MembershipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipIndex.class);
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private final Map<Long, long[]> teamsByUser = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> membersByTeam = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Carga completa no arranque (depois dos dados iniciais)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Long, List<Long>> teams = new HashMap<>();
+        Map<Long, List<Long>> members = new HashMap<>();
+        List<Object[]> memberships = teamRepository.findAllMemberships();
+        for (Object[] row : memberships) {
+            Long userId = (Long) row[0];
+            Long teamId = (Long) row[1];
+            teams.computeIfAbsent(userId, id -> new ArrayList<>()).add(teamId);
+            members.computeIfAbsent(teamId, id -> new ArrayList<>()).add(userId);
+        }
+        teamsByUser.clear();
+        membersByTeam.clear();
+        teams.forEach((userId, ids) -> teamsByUser.put(userId, toSortedArray(ids)));
+        members.forEach((teamId, ids) -> membersByTeam.put(teamId, toSortedArray(ids)));
+        loaded = true;
+        logger.info("Índice de membros carregado: {} pares utilizador/equipa", memberships.size());
+    }
+
+    /**
+     * O utilizador é membro da equipa
+     */
+    public boolean isMember(Long userId, Long teamId) {
+        if (userId == null || teamId == null) {
+            return false;
+        }
+        ensureLoaded();
+        return Arrays.binarySearch(teamsByUser.getOrDefault(userId, EMPTY), teamId) >= 0;
+    }
+
+    /**
+     * IDs das equipas de que o utilizador é membro
+     */
+    public List<Long> getTeamIds(Long userId) {
+        ensureLoaded();
+        return toList(userId != null ? teamsByUser.getOrDefault(userId, EMPTY) : EMPTY);
+    }
+
+    /**
+     * IDs dos membros da equipa
+     */
+    public List<Long> getMemberIds(Long teamId) {
+        ensureLoaded();
+        return toList(teamId != null ? membersByTeam.getOrDefault(teamId, EMPTY) : EMPTY);
+    }
+
+    /**
+     * Mesma regra de Task.canBeViewedBy, com a pertença à equipa vinda do índice
+     */
+    public boolean canViewTask(Task task, User user) {
+        if (task.isAssignedToUser(user) || user.isAdmin()) {
+            return true;
+        }
+        Team team = task.getAssignedTeam();
+        return team != null && (isMember(user.getId(), team.getId()) || team.isManager(user));
+    }
+
+    /**
+     * Utilizador adicionado à equipa (aplicado após o commit)
+     */
+    public void memberAdded(Long teamId, Long userId) {
+        AfterCommit.run(() -> update(teamId, userId, true));
+    }
+
+    /**
+     * Utilizador removido da equipa (aplicado após o commit)
+     */
+    public void memberRemoved(Long teamId, Long userId) {
+        AfterCommit.run(() -> update(teamId, userId, false));
+    }
+
+    /**
+     * Membros da equipa alterados de outra forma: relê-os da base de dados após o commit
+     */
+    public void teamChanged(Long teamId) {
+        if (teamId != null) {
+            AfterCommit.run(() -> replaceMembers(teamId, teamRepository.findMemberIds(teamId)));
+        }
+    }
+
+    private synchronized void update(Long teamId, Long userId, boolean member) {
+        if (!loaded) {
+            return; // a carga inicial lê o estado já confirmado
+        }
+        long[] teams = teamsByUser.getOrDefault(userId, EMPTY);
+        long[] members = membersByTeam.getOrDefault(teamId, EMPTY);
+        putOrRemove(teamsByUser, userId, member ? with(teams, teamId) : without(teams, teamId));
+        putOrRemove(membersByTeam, teamId, member ? with(members, userId) : without(members, userId));
+    }
+
+    private synchronized void replaceMembers(Long teamId, List<Long> memberIds) {
+        if (!loaded) {
+            return;
+        }
+        long[] members = toSortedArray(memberIds);
+        for (long userId : membersByTeam.getOrDefault(teamId, EMPTY)) {
+            if (Arrays.binarySearch(members, userId) < 0) {
+                putOrRemove(teamsByUser, userId, without(teamsByUser.getOrDefault(userId, EMPTY), teamId));
+            }
+        }
+        for (long userId : members) {
+            putOrRemove(teamsByUser, userId, with(teamsByUser.getOrDefault(userId, EMPTY), teamId));
+        }
+        putOrRemove(membersByTeam, teamId, members);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private static void putOrRemove(Map<Long, long[]> map, Long key, long[] values) {
+        if (values.length == 0) {
+            map.remove(key);
+        } else {
+            map.put(key, values);
+        }
+    }
+
+    private static long[] with(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return values;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(values, insertAt, result, insertAt + 1, values.length - insertAt);
+        return result;
+    }
+
+    private static long[] without(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return values;
+        }
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+
+    private static List<Long> toList(long[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+}
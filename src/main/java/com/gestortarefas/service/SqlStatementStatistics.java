@@ -0,0 +1,117 @@
+package com.gestortarefas.service;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Instruções SQL executadas pelo Hibernate durante um pedido HTTP (nº e tempo no JDBC),
+ * para as métricas por endpoint (gestortarefas.http.sql.*).
+ *
+ * O interceptor de WebConfig inicia a contagem no início do pedido e regista-a no fim;
+ * o SessionListener (hibernate.session.events.auto) soma cada execução à contagem do
+ * thread corrente. As consultas feitas noutros threads em nome do pedido (ex.:
+ * DashboardQueryExecutor) usam wrap() para contar no mesmo pedido.
+ * Consultas diretas por JdbcTemplate não passam pelo Hibernate e não são contadas.
+ */
+public final class SqlStatementStatistics {
+
+    private static final ThreadLocal<Usage> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementStatistics() {
+    }
+
+    /**
+     * Inicia a contagem do pedido no thread corrente
+     */
+    public static Usage begin() {
+        Usage usage = new Usage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    /**
+     * Termina a contagem do thread corrente e devolve-a (null se não havia)
+     */
+    public static Usage end() {
+        Usage usage = CURRENT.get();
+        CURRENT.remove();
+        return usage;
+    }
+
+    /**
+     * Uma consulta a executar noutro thread, a contar no pedido corrente
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> query) {
+        Usage usage = CURRENT.get();
+        if (usage == null) {
+            return query;
+        }
+        return () -> {
+            Usage previous = CURRENT.get();
+            CURRENT.set(usage);
+            try {
+                return query.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Contagem de um pedido (partilhada pelos threads que trabalham para ele)
+     */
+    public static class Usage {
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        public long getStatements() {
+            return statements.get();
+        }
+
+        public long getNanos() {
+            return nanos.get();
+        }
+    }
+
+    /**
+     * Listener de sessão do Hibernate (uma instância por sessão, usada por um só thread)
+     */
+    public static class SessionListener implements SessionEventListener {
+
+        private long start;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record();
+        }
+
+        private void record() {
+            Usage usage = CURRENT.get();
+            if (usage != null) {
+                usage.statements.incrementAndGet();
+                usage.nanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+    }
+}
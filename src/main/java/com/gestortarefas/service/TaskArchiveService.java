@@ -0,0 +1,263 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.dto.TaskCursor;
+import com.gestortarefas.dto.TaskView;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.repository.ArchivedTaskRepository;
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TaskViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento "frio" das tarefas arquivadas.
+ *
+ * Arquivar uma tarefa continua a ser só marcá-la (archived = true); um processo em
+ * segundo plano move depois as tarefas marcadas, com as suas tags, comentários e marcas
+ * de leitura, para as tabelas archived_*, em lotes de batchSize tarefas por transação.
+ * Assim a tabela tasks (e os índices usados pelos dashboards) só cresce com o trabalho
+ * ativo. A listagem de arquivadas e o desarquivar funcionam nos dois sítios.
+ *
+ * As cópias são feitas por JDBC (INSERT ... SELECT), pelo que os listeners de Task não
+ * correm: o movimento regista tombstones (/api/tasks/changes), retira as tarefas do
+ * índice de pesquisa, envia os deltas das estatísticas de equipa e muda a versão dos dados.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private static final String TASK_COLUMNS = "id, title, description, status, priority, created_at, updated_at, " +
+        "due_date, completed_at, user_id, assigned_team_id, created_by_user_id, assigned_by_user_id, tags, " +
+        "estimated_hours, actual_hours";
+    private static final String COMMENT_COLUMNS = "id, task_id, user_id, comment_text, created_at, updated_at, " +
+        "is_system_message";
+    private static final String READ_COLUMNS = "id, task_id, user_id, last_read_at";
+
+    // Ordem da listagem de arquivadas (igual ao ORDER BY das consultas: sem data no fim)
+    private static final Comparator<TaskView> ARCHIVED_ORDER =
+        Comparator.comparing(TaskView::completedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TaskView::id, Comparator.reverseOrder());
+
+    @Value("${gestortarefas.archive.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskChangeSequence taskChangeSequence;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    /**
+     * Move todas as tarefas marcadas como arquivadas para as tabelas de arquivo,
+     * um lote por transação. Devolve o número de tarefas movidas.
+     */
+    @Scheduled(initialDelayString = "${gestortarefas.archive.initial-delay-ms:60000}",
+               fixedDelayString = "${gestortarefas.archive.interval-ms:300000}")
+    public int moveArchivedTasks() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        int moved;
+        do {
+            moved = transaction.execute(status -> moveBatch());
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            logger.info("Arquivo: {} tarefas movidas para as tabelas de arquivo", total);
+        }
+        return total;
+    }
+
+    /**
+     * Página de tarefas arquivadas, estejam ainda na tabela tasks ou já no arquivo
+     * (mais recentemente concluídas primeiro), depois do cursor (null: primeira página). Cada tabela
+     * devolve até limit linhas já ordenadas por (completedAt, id) e as duas são
+     * intercaladas, sem ler o resto do arquivo.
+     *
+     * @throws IllegalArgumentException se o cursor não for da listagem de arquivadas
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> getArchivedTasks(TaskCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (after == null) {
+            return merge(taskViewRepository.findArchived(page), archivedTaskRepository.findViews(page), limit);
+        }
+        if (!TaskCursor.ARCHIVED_SORT_KEY.equals(after.getSortKey()) || !after.isDescending()) {
+            throw new IllegalArgumentException("Cursor não corresponde à listagem de tarefas arquivadas");
+        }
+        LocalDateTime completedAt;
+        try {
+            completedAt = after.getValue() != null ? LocalDateTime.parse(after.getValue()) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+        return merge(taskViewRepository.findArchivedAfter(completedAt, after.getId(), page),
+            archivedTaskRepository.findViewsAfter(completedAt, after.getId(), page), limit);
+    }
+
+    /**
+     * Intercala duas listas já ordenadas pela ordem da listagem de arquivadas
+     */
+    private static List<TaskView> merge(List<TaskView> first, List<TaskView> second, int limit) {
+        List<TaskView> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size() || (i < first.size() && ARCHIVED_ORDER.compare(first.get(i), second.get(j)) <= 0)) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Desarquiva uma tarefa; se já tiver sido movida para o arquivo, é primeiro reposta
+     * na tabela tasks com os seus comentários e marcas de leitura.
+     * Vazio se a tarefa não existir em nenhum dos sítios.
+     */
+    @Transactional
+    public Optional<Task> unarchive(Long taskId) {
+        Optional<Task> task = taskRepository.findById(taskId);
+        if (task.isEmpty() && restore(taskId)) {
+            task = taskRepository.findById(taskId);
+        }
+        task.ifPresent(t -> {
+            // A atualização passa pela entidade: listeners de índice, eventos e sequência
+            t.setArchived(false);
+            t.setUpdatedAt(LocalDateTime.now());
+            taskRepository.save(t);
+        });
+        return task;
+    }
+
+    /**
+     * Move um lote na transação corrente; bloqueia as tarefas do lote para que não haja
+     * comentários novos entre a cópia e a eliminação
+     */
+    private int moveBatch() {
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> teamStates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, assigned_team_id, status FROM tasks WHERE archived = TRUE ORDER BY id LIMIT ? " +
+            "FOR UPDATE", rs -> {
+                ids.add(rs.getLong(1));
+                teamStates.add(new Object[] {rs.getObject(2, Long.class), rs.getString(3)});
+            }, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] idArgs = ids.toArray();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object> taskArgs = new ArrayList<>();
+        taskArgs.add(now);
+        Collections.addAll(taskArgs, idArgs);
+        jdbcTemplate.update("INSERT INTO archived_tasks (" + TASK_COLUMNS + ", archived_at) SELECT " + TASK_COLUMNS +
+            ", ? FROM tasks WHERE id IN (" + in + ")", taskArgs.toArray());
+        jdbcTemplate.update("INSERT INTO archived_task_tags (task_id, tag) SELECT task_id, tag FROM task_tags " +
+            "WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("INSERT INTO archived_task_comments (" + COMMENT_COLUMNS + ") SELECT " + COMMENT_COLUMNS +
+            " FROM task_comments WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("INSERT INTO archived_task_comment_reads (" + READ_COLUMNS + ") SELECT " + READ_COLUMNS +
+            " FROM task_comment_reads WHERE task_id IN (" + in + ")", idArgs);
+
+        jdbcTemplate.update("DELETE FROM task_comment_reads WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM task_comments WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM task_tags WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + in + ")", idArgs);
+
+        // Para a sincronização por delta a tarefa deixou de existir na listagem
+        List<Object[]> tombstones = new ArrayList<>();
+        for (Long id : ids) {
+            tombstones.add(new Object[] {id, taskChangeSequence.next(), now});
+            taskSearchIndex.taskRemoved(id);
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO task_tombstones (task_id, change_seq, deleted_at) VALUES (?, ?, ?)", tombstones);
+
+        // As tarefas saem da tabela tasks e deixam de contar nas estatísticas de equipa
+        for (Object[] state : teamStates) {
+            teamStatsAggregate.taskChanged((Long) state[0], Task.TaskStatus.valueOf((String) state[1]), null, null);
+        }
+        dataVersion.changed();
+        return ids.size();
+    }
+
+    /**
+     * Repõe na tabela tasks uma tarefa do arquivo (ainda marcada como arquivada)
+     */
+    private boolean restore(Long taskId) {
+        List<Object[]> teamStates = jdbcTemplate.query("SELECT assigned_team_id, status FROM archived_tasks WHERE id = ?",
+            (rs, rowNum) -> new Object[] {rs.getObject(1, Long.class), rs.getString(2)}, taskId);
+        // As colunas de ordenação e a sequência de alterações são calculadas no próprio INSERT:
+        // a linha reposta nunca fica visível sem elas
+        int restored = jdbcTemplate.update("INSERT INTO tasks (" + TASK_COLUMNS + ", archived, " +
+            TaskSortKeyMigration.SORT_KEY_COLUMNS + ", change_seq) SELECT " + TASK_COLUMNS + ", TRUE, " +
+            TaskSortKeyMigration.SORT_KEY_VALUES + ", ? FROM archived_tasks WHERE id = ?",
+            Timestamp.valueOf(Task.NO_DUE_DATE_SORT), taskChangeSequence.next(), taskId);
+        if (restored == 0) {
+            return false;
+        }
+        jdbcTemplate.update("INSERT INTO task_tags (task_id, tag) SELECT task_id, tag FROM archived_task_tags " +
+            "WHERE task_id = ?", taskId);
+        jdbcTemplate.update("INSERT INTO task_comments (" + COMMENT_COLUMNS + ") SELECT " + COMMENT_COLUMNS +
+            " FROM archived_task_comments WHERE task_id = ?", taskId);
+        jdbcTemplate.update("INSERT INTO task_comment_reads (" + READ_COLUMNS + ") SELECT " + READ_COLUMNS +
+            " FROM archived_task_comment_reads WHERE task_id = ?", taskId);
+
+        jdbcTemplate.update("DELETE FROM archived_task_comment_reads WHERE task_id = ?", taskId);
+        jdbcTemplate.update("DELETE FROM archived_task_comments WHERE task_id = ?", taskId);
+        jdbcTemplate.update("DELETE FROM archived_task_tags WHERE task_id = ?", taskId);
+        jdbcTemplate.update("DELETE FROM archived_tasks WHERE id = ?", taskId);
+
+        // A tarefa volta a contar nas estatísticas de equipa (inserida sem passar pela entidade)
+        teamStatsAggregate.taskChanged(null, null, (Long) teamStates.get(0)[0],
+            Task.TaskStatus.valueOf((String) teamStates.get(0)[1]));
+        return true;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,370 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.dto.TaskBulkOperation;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.TaskComment;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.repository.TaskCommentRepository;
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TeamRepository;
+import com.gestortarefas.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Aplica listas de operações sobre tarefas numa única transação (POST /api/tasks/bulk).
+ *
+ * Tarefas, utilizadores e equipas referidos são carregados de uma vez no início, e as
+ * escritas são enviadas no flush final em lotes JDBC (hibernate.jdbc.batch_size).
+ * Cada operação é validada antes de alterar a tarefa: uma operação inválida é
+ * reportada no seu resultado e não impede as restantes. As regras replicam as dos
+ * endpoints individuais do TaskController.
+ *
+ * Os erros de cada operação são tratados aqui e não atravessam outros serviços
+ * transacionais, para não marcarem a transação inteira para rollback.
+ */
+@Service
+@Transactional
+public class TaskBulkService {
+
+    // Máximo de operações por pedido
+    public static final int MAX_OPERATIONS = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TaskCommentRepository taskCommentRepository;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    /**
+     * Aplica as operações pela ordem indicada e devolve um resultado por operação
+     *
+     * @throws IllegalArgumentException se a lista estiver vazia ou exceder MAX_OPERATIONS
+     */
+    public List<BulkItemResult> apply(List<TaskBulkOperation> operations, User requester) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Indique pelo menos uma operação");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("Máximo de " + MAX_OPERATIONS + " operações por pedido");
+        }
+
+        // Carregar de uma vez tudo o que as operações referem
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> teamIds = new HashSet<>();
+        for (TaskBulkOperation operation : operations) {
+            addIfPresent(taskIds, operation.getTaskId());
+            addIfPresent(userIds, operation.getUserId());
+            addIfPresent(teamIds, operation.getTeamId());
+        }
+        Map<Long, Task> tasks = byId(taskRepository.findAllById(taskIds), Task::getId);
+        Map<Long, User> users = byId(userRepository.findAllById(userIds), User::getId);
+        Map<Long, Team> teams = byId(teamRepository.findAllById(teamIds), Team::getId);
+        BulkContext context = new BulkContext(requester, tasks, users, teams);
+
+        List<BulkItemResult> results = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBulkOperation operation = operations.get(i);
+            String op = operation.getOp() != null ? operation.getOp().trim() : "";
+            try {
+                Task task = applyOne(op, operation, context);
+                results.add(new BulkItemResult(i, op, task.getId(), true, null));
+            } catch (IllegalArgumentException e) {
+                results.add(new BulkItemResult(i, op, operation.getTaskId(), false, e.getMessage()));
+            }
+        }
+
+        // Comentários do sistema depois das tarefas: usam IDENTITY (insert imediato) e
+        // referem tarefas criadas neste pedido
+        if (!context.comments.isEmpty()) {
+            taskRepository.flush();
+            taskCommentRepository.saveAll(context.comments);
+        }
+        return results;
+    }
+
+    private Task applyOne(String op, TaskBulkOperation operation, BulkContext context) {
+        switch (op) {
+            case "create":
+                return create(operation, context);
+            case "status":
+                return changeStatus(operation, context);
+            case "assign":
+                return assign(operation, context);
+            case "reassign":
+                return reassign(operation, context);
+            case "archive":
+                return archive(operation, context);
+            case "tags":
+                return updateTags(operation, context);
+            case "actualHours":
+                return updateActualHours(operation, context);
+            default:
+                throw new IllegalArgumentException("Operação desconhecida: " + op);
+        }
+    }
+
+    private Task create(TaskBulkOperation operation, BulkContext context) {
+        String title = operation.getTitle() != null ? operation.getTitle().trim() : "";
+        if (title.length() < 3 || title.length() > 100) {
+            throw new IllegalArgumentException("Título deve ter entre 3 e 100 caracteres");
+        }
+        if (operation.getDescription() != null && operation.getDescription().length() > 500) {
+            throw new IllegalArgumentException("Descrição não pode exceder 500 caracteres");
+        }
+        User user = operation.getUserId() != null ? context.user(operation.getUserId()) : context.requester;
+        Team team = operation.getTeamId() != null ? context.team(operation.getTeamId()) : null;
+        if (team != null && !context.requester.isAdmin() && !team.isManager(context.requester)
+                && !membershipIndex.isMember(context.requester.getId(), team.getId())) {
+            throw new IllegalArgumentException("Sem permissão para atribuir tarefas a esta equipa");
+        }
+
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(operation.getDescription());
+        task.setPriority(operation.getPriority() != null ? parsePriority(operation.getPriority()) : TaskPriority.NORMAL);
+        task.setDueDate(operation.getDueDate());
+        task.setUser(user);
+        task.setAssignedTeam(team);
+        task.setCreatedBy(context.requester);
+        task.setStatus(TaskStatus.PENDENTE);
+        task.setTags(checkTags(operation.getTags()));
+        task.setEstimatedHours(operation.getEstimatedHours());
+        return taskRepository.save(task);
+    }
+
+    private Task changeStatus(TaskBulkOperation operation, BulkContext context) {
+        Task task = context.editableTask(operation.getTaskId());
+        if (operation.getStatus() == null) {
+            throw new IllegalArgumentException("Status inválido");
+        }
+        TaskStatus status;
+        try {
+            status = TaskStatus.valueOf(operation.getStatus().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status inválido");
+        }
+        task.setStatus(status);
+        return task;
+    }
+
+    private Task assign(TaskBulkOperation operation, BulkContext context) {
+        Task task = context.editableTask(operation.getTaskId());
+        if (operation.getUserId() == null) {
+            throw new IllegalArgumentException("ID do utilizador a atribuir é obrigatório");
+        }
+        User user = context.activeUser(operation.getUserId());
+        Team team = operation.getTeamId() != null ? context.team(operation.getTeamId()) : null;
+
+        task.setUser(user);
+        task.setAssignedBy(context.requester);
+        if (team != null) {
+            task.setAssignedTeam(team);
+        }
+
+        String message = String.format("Tarefa atribuída por %s para %s",
+            context.requester.getFullName(), user.getFullName());
+        if (team != null) {
+            message += " (Equipa: " + team.getName() + ")";
+        }
+        context.comments.add(new TaskComment(task, context.requester, message, true));
+        return task;
+    }
+
+    private Task reassign(TaskBulkOperation operation, BulkContext context) {
+        Task task = context.editableTask(operation.getTaskId());
+        String previousAssignment = task.getAssignmentInfo();
+        String newAssignment;
+
+        if (operation.getTeamId() != null) {
+            Team team = context.team(operation.getTeamId());
+            task.setAssignedTeam(team);
+            newAssignment = "Equipa: " + team.getName();
+        } else if (operation.getUserId() != null) {
+            User user = context.activeUser(operation.getUserId());
+            // Como no endpoint individual: a tarefa fica também na primeira equipa do utilizador
+            Team firstTeam = user.getTeams() != null && !user.getTeams().isEmpty() ? user.getTeams().get(0) : null;
+            task.setUser(user);
+            task.setAssignedTeam(firstTeam);
+            newAssignment = "Utilizador: " + user.getFullName()
+                + (firstTeam != null ? " (Equipa: " + firstTeam.getName() + ")" : "");
+        } else {
+            throw new IllegalArgumentException("Deve especificar um utilizador ou equipa para atribuição");
+        }
+        task.setUpdatedAt(LocalDateTime.now());
+
+        String message = String.format("Tarefa reatribuída de [%s] para [%s]",
+            previousAssignment != null ? previousAssignment : "Não atribuída", newAssignment);
+        context.comments.add(new TaskComment(task, context.requester, message, true));
+        return task;
+    }
+
+    private Task archive(TaskBulkOperation operation, BulkContext context) {
+        if (!context.requester.isAdmin()) {
+            throw new IllegalArgumentException("Apenas administradores podem arquivar tarefas");
+        }
+        Task task = context.task(operation.getTaskId());
+        if (task.getStatus() != TaskStatus.CONCLUIDA && task.getStatus() != TaskStatus.FINALIZADO) {
+            throw new IllegalArgumentException("Apenas tarefas concluídas podem ser arquivadas");
+        }
+        task.setArchived(true);
+        task.setStatus(TaskStatus.FINALIZADO);
+        return task;
+    }
+
+    private Task updateTags(TaskBulkOperation operation, BulkContext context) {
+        Task task = context.editableTask(operation.getTaskId());
+        task.setTags(checkTags(operation.getTags()));
+        return task;
+    }
+
+    private Task updateActualHours(TaskBulkOperation operation, BulkContext context) {
+        Task task = context.editableTask(operation.getTaskId());
+        if (operation.getActualHours() != null && operation.getActualHours() < 0) {
+            throw new IllegalArgumentException("Horas reais não podem ser negativas");
+        }
+        task.setActualHours(operation.getActualHours());
+        return task;
+    }
+
+    private static TaskPriority parsePriority(String priority) {
+        try {
+            return TaskPriority.valueOf(priority.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridade inválida");
+        }
+    }
+
+    /**
+     * Valida as tags antes de alterar a tarefa (o texto tem de caber na coluna tags)
+     */
+    private static String checkTags(String tags) {
+        for (String tag : Task.splitTags(tags)) {
+            if (Task.normalizeTag(tag).length() > Task.MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tag demasiado longa (máximo " + Task.MAX_TAG_LENGTH + " caracteres)");
+            }
+        }
+        if (tags != null && String.join(", ", Task.splitTags(tags)).length() > 255) {
+            throw new IllegalArgumentException("Tags não podem exceder 255 caracteres");
+        }
+        return tags;
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> result = new HashMap<>();
+        entities.forEach(entity -> result.put(idOf.apply(entity), entity));
+        return result;
+    }
+
+    /**
+     * Entidades carregadas para o pedido e o utilizador que o executa
+     */
+    private static class BulkContext {
+        private final User requester;
+        private final Map<Long, Task> tasks;
+        private final Map<Long, User> users;
+        private final Map<Long, Team> teams;
+        private final List<TaskComment> comments = new ArrayList<>();
+
+        BulkContext(User requester, Map<Long, Task> tasks, Map<Long, User> users, Map<Long, Team> teams) {
+            this.requester = requester;
+            this.tasks = tasks;
+            this.users = users;
+            this.teams = teams;
+        }
+
+        Task task(Long taskId) {
+            Task task = taskId != null ? tasks.get(taskId) : null;
+            if (task == null) {
+                throw new IllegalArgumentException("Tarefa não encontrada");
+            }
+            return task;
+        }
+
+        Task editableTask(Long taskId) {
+            Task task = task(taskId);
+            if (!task.canBeEditedBy(requester)) {
+                throw new IllegalArgumentException("Sem permissão para editar esta tarefa");
+            }
+            return task;
+        }
+
+        User user(Long userId) {
+            User user = users.get(userId);
+            if (user == null) {
+                throw new IllegalArgumentException("Utilizador não encontrado");
+            }
+            return user;
+        }
+
+        User activeUser(Long userId) {
+            User user = user(userId);
+            if (!Boolean.TRUE.equals(user.getActive())) {
+                throw new IllegalArgumentException("Não é possível atribuir tarefa a utilizador inativo");
+            }
+            return user;
+        }
+
+        Team team(Long teamId) {
+            Team team = teams.get(teamId);
+            if (team == null) {
+                throw new IllegalArgumentException("Equipa não encontrada");
+            }
+            return team;
+        }
+    }
+
+    /**
+     * Resultado de uma operação do pedido (index = posição na lista enviada)
+     */
+    public static class BulkItemResult {
+        private final int index;
+        private final String op;
+        private final Long taskId;
+        private final boolean success;
+        private final String message;
+
+        BulkItemResult(int index, String op, Long taskId, boolean success, String message) {
+            this.index = index;
+            this.op = op;
+            this.taskId = taskId;
+            this.success = success;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public String getOp() { return op; }
+        public Long getTaskId() { return taskId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,44 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Listener JPA de Task que mantém a sequência de alterações usada por /api/tasks/changes.
+ *
+ * Cada insert/update recebe um novo changeSeq; uma eliminação (incluindo em cascata,
+ * ex.: ao eliminar o utilizador) grava um TaskTombstone com a sua sequência.
+ * O tombstone é inserido por JDBC na mesma transação, porque o EntityManager não
+ * deve ser usado dentro de callbacks JPA.
+ */
+@Component
+public class TaskChangeListener {
+
+    @Autowired
+    private ObjectProvider<TaskChangeSequence> taskChangeSequence;
+
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @PrePersist
+    @PreUpdate
+    public void onWrite(Task task) {
+        task.setChangeSeq(taskChangeSequence.getObject().next());
+    }
+
+    @PreRemove
+    public void onRemove(Task task) {
+        jdbcTemplate.getObject().update(
+            "INSERT INTO task_tombstones (task_id, change_seq, deleted_at) VALUES (?, ?, ?)",
+            task.getId(), taskChangeSequence.getObject().next(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TaskTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Sequência monotónica de alterações de tarefas (Task.changeSeq e TaskTombstone.changeSeq).
+ *
+ * Continua a partir do maior valor guardado na base de dados. Como as transações
+ * podem terminar por outra ordem, um valor atribuído só fica "seguro" quando a sua
+ * transação termina: safeToken() devolve a maior sequência abaixo da qual todas as
+ * transações já terminaram, para que um cliente que sincronize a partir desse valor
+ * não perca alterações confirmadas mais tarde com uma sequência menor.
+ */
+@Service
+public class TaskChangeSequence {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    // Protegidos por "this"
+    private long current;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    /**
+     * Atribui a próxima sequência; fica pendente até ao fim da transação corrente
+     */
+    public synchronized long next() {
+        long value = ++current;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(value);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    completed(value);
+                }
+            });
+        }
+        return value;
+    }
+
+    /**
+     * Maior sequência cujas alterações (e todas as anteriores) já estão confirmadas ou revertidas
+     */
+    public synchronized long safeToken() {
+        return inFlight.isEmpty() ? current : inFlight.first() - 1;
+    }
+
+    private synchronized void completed(long value) {
+        inFlight.remove(value);
+    }
+
+    /**
+     * Carregado no arranque: next() é chamado dentro de callbacks JPA, onde não se deve consultar
+     * a base de dados
+     */
+    @PostConstruct
+    synchronized void load() {
+        Long maxTask = taskRepository.findMaxChangeSeq();
+        Long maxTombstone = taskTombstoneRepository.findMaxChangeSeq();
+        current = Math.max(maxTask != null ? maxTask : 0, maxTombstone != null ? maxTombstone : 0);
+    }
+}
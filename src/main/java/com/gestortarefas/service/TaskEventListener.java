@@ -0,0 +1,72 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.dto.TaskEvent;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.TaskComment;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de Task e TaskComment que gera os eventos de /api/events.
+ *
+ * Tal como o TeamTaskStatsListener, cobre qualquer caminho de escrita e guarda
+ * o utilizador/equipa do carregamento para que uma reatribuição notifique
+ * tanto os destinatários antigos como os novos.
+ */
+@Component
+public class TaskEventListener {
+
+    @Autowired
+    private ObjectProvider<TaskEventPublisher> taskEventPublisher;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Task task) {
+            task.markEventState();
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Task task) {
+            publish(TaskEvent.TASK_CREATED, task, null, null, null);
+            task.markEventState();
+        } else if (entity instanceof TaskComment comment) {
+            publish(TaskEvent.COMMENT_ADDED, comment.getTask(), comment.getId(), null, null);
+        }
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Task task) {
+            Long userId = task.getUser() != null ? task.getUser().getId() : null;
+            boolean reassigned = !Objects.equals(userId, task.getEventUserId())
+                || !Objects.equals(task.getAssignedTeamId(), task.getEventTeamId());
+            publish(reassigned ? TaskEvent.TASK_ASSIGNED : TaskEvent.TASK_UPDATED, task, null,
+                task.getEventUserId(), task.getEventTeamId());
+            task.markEventState();
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Task task) {
+            publish(TaskEvent.TASK_DELETED, task, null, task.getEventUserId(), task.getEventTeamId());
+        } else if (entity instanceof TaskComment comment) {
+            publish(TaskEvent.COMMENT_DELETED, comment.getTask(), comment.getId(), null, null);
+        }
+    }
+
+    private void publish(String type, Task task, Long commentId, Long previousUserId, Long previousTeamId) {
+        Long userId = task.getUser() != null ? task.getUser().getId() : null;
+        taskEventPublisher.getObject().publish(new TaskEvent(type, task.getId(), commentId,
+            userId, task.getAssignedTeamId(), previousUserId, previousTeamId));
+    }
+}
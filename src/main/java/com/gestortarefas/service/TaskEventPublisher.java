@@ -0,0 +1,201 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.dto.TaskEvent;
+import com.gestortarefas.model.User;
+import com.gestortarefas.repository.TeamRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui os eventos de alteração de tarefas/comentários pelos clientes
+ * ligados a /api/events (Server-Sent Events).
+ *
+ * Cada subscrição recebe os eventos das suas tarefas e das equipas de que é
+ * membro ou gerente; os administradores recebem todos. Os eventos só são
+ * enviados após o commit e numa thread própria, para não atrasar o pedido
+ * que fez a alteração. Um heartbeat periódico mantém a ligação aberta em
+ * proxies e permite detetar clientes que já saíram.
+ */
+@Service
+public class TaskEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventPublisher.class);
+
+    // O cliente volta a ligar quando a ligação expira
+    private static final long EMITTER_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean teamsStale;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        Gauge.builder("gestortarefas.events.subscribers", subscribers, List::size)
+            .description("Streams de eventos (SSE) abertos")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Abre o stream de eventos de um utilizador
+     */
+    public SseEmitter subscribe(User user) {
+        // Uma sessão JPA ligada ao pedido (open-in-view) seguraria uma ligação do pool
+        // durante toda a vida do stream (ver WebConfig)
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            throw new IllegalStateException("Stream de eventos aberto com uma sessão JPA ligada ao pedido");
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(user.getId(), user.getRole().isAdmin(), emitter);
+        subscriber.teamIds = loadTeamIds(List.of(user.getId())).getOrDefault(user.getId(), Set.of());
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Primeiro evento: confirma a ligação (o cliente recarrega o dashboard ao receber)
+        send(subscriber, SseEmitter.event().name("connected").data(Map.of("userId", user.getId())));
+        logger.debug("Subscrição de eventos aberta para o utilizador {} ({} ligadas)", user.getId(), subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Publica um evento após o commit da transação corrente
+     */
+    public void publish(TaskEvent event) {
+        AfterCommit.run(() -> dispatchLater(event));
+    }
+
+    /**
+     * Membros de uma equipa alterados: recalcula as equipas das subscrições e avisa a equipa
+     */
+    public void membershipChanged(Long teamId) {
+        if (teamId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            teamsStale = true;
+            dispatchLater(new TaskEvent(TaskEvent.TEAM_MEMBERS_CHANGED, null, null, null, teamId, null, null));
+        });
+    }
+
+    private void dispatchLater(TaskEvent event) {
+        if (!subscribers.isEmpty()) {
+            executor.execute(() -> dispatch(event));
+        }
+    }
+
+    private void dispatch(TaskEvent event) {
+        if (teamsStale) {
+            reloadTeams();
+        }
+        long id = sequence.incrementAndGet();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.admin || event.concerns(subscriber.userId, subscriber.teamIds)) {
+                send(subscriber, SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(event.type())
+                    .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desligado: a ligação é descartada e o cliente volta a subscrever
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void reloadTeams() {
+        teamsStale = false;
+        List<Long> userIds = new ArrayList<>();
+        subscribers.forEach(subscriber -> userIds.add(subscriber.userId));
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> teamIds = loadTeamIds(userIds);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.teamIds = teamIds.getOrDefault(subscriber.userId, Set.of());
+        }
+    }
+
+    private Map<Long, Set<Long>> loadTeamIds(List<Long> userIds) {
+        Map<Long, Set<Long>> teamIds = new HashMap<>();
+        for (Object[] row : teamRepository.findTeamIdsByUserIds(userIds)) {
+            teamIds.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        return teamIds;
+    }
+
+    /**
+     * Cliente ligado ao stream
+     */
+    private static class Subscriber {
+        private final Long userId;
+        private final boolean admin;
+        private final SseEmitter emitter;
+        private volatile Set<Long> teamIds = Set.of();
+
+        Subscriber(Long userId, boolean admin, SseEmitter emitter) {
+            this.userId = userId;
+            this.admin = admin;
+            this.emitter = emitter;
+        }
+    }
+}
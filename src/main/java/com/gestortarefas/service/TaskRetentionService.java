@@ -0,0 +1,360 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task.TaskStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Limpeza periódica de dados antigos (gestortarefas.retention.*), fora das horas de ponta.
+ *
+ * Cada política tem o seu prazo (0 desativa; todas vêm desativadas por omissão):
+ * - tarefas concluídas há mais de N dias, com comentários, marcas de leitura e tags
+ *   (também as que já estão no arquivo);
+ * - marcas de leitura de tarefas concluídas não abertas há mais de N dias (numa tarefa
+ *   em aberto a marca não pode desaparecer: todos os comentários voltariam a não lidos);
+ * - comentários com mais de N dias, mantendo sempre os mais recentes de cada tarefa.
+ *
+ * As linhas são escolhidas por keyset (id crescente) e eliminadas em pequenos lotes, cada
+ * um na sua transação e com uma pausa entre lotes, para não bloquear o trabalho normal.
+ * Uma execução termina ao fim de max-run-minutes; o resto fica para a seguinte.
+ * Linhas removidas e duração por política em gestortarefas.retention.rows e
+ * gestortarefas.retention.duration (/actuator/metrics).
+ */
+@Service
+public class TaskRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRetentionService.class);
+
+    // Estados de uma tarefa concluída: arquivar passa-a de CONCLUIDA a FINALIZADO
+    private static final String COMPLETED_STATUSES = "('CONCLUIDA', 'FINALIZADO')";
+
+    @Value("${gestortarefas.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gestortarefas.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${gestortarefas.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${gestortarefas.retention.max-run-minutes:60}")
+    private long maxRunMinutes;
+
+    @Value("${gestortarefas.retention.completed-tasks.max-age-days:0}")
+    private int completedTasksMaxAgeDays;
+
+    @Value("${gestortarefas.retention.comment-reads.max-age-days:0}")
+    private int commentReadsMaxAgeDays;
+
+    @Value("${gestortarefas.retention.comments.max-age-days:0}")
+    private int commentsMaxAgeDays;
+
+    @Value("${gestortarefas.retention.comments.keep-recent:100}")
+    private int commentsKeepRecent;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskChangeSequence taskChangeSequence;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private UnreadCommentCounters unreadCommentCounters;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Aplica todas as políticas ativas (por omissão às 03:30)
+     */
+    @Scheduled(cron = "${gestortarefas.retention.cron:0 30 3 * * *}")
+    public void runRetention() {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRunMinutes);
+        purgeCompletedTasks(deadline);
+        purgeCommentReads(deadline);
+        purgeOldComments(deadline);
+    }
+
+    /**
+     * Tarefas concluídas há mais de completed-tasks.max-age-days dias
+     */
+    public long purgeCompletedTasks(long deadline) {
+        if (completedTasksMaxAgeDays <= 0) {
+            return 0;
+        }
+        Timestamp cutoff = cutoff(completedTasksMaxAgeDays);
+        long removed = purge("completed-tasks", deadline,
+            keyset("SELECT id FROM tasks WHERE status IN " + COMPLETED_STATUSES +
+                " AND completed_at < ? AND id > ? ORDER BY id LIMIT ?", cutoff),
+            ids -> deleteTasks(ids, cutoff));
+        removed += purge("archived-tasks", deadline,
+            keyset("SELECT id FROM archived_tasks WHERE status IN " + COMPLETED_STATUSES +
+                " AND completed_at < ? AND id > ? ORDER BY id LIMIT ?", cutoff),
+            ids -> deleteArchivedTasks(ids, cutoff));
+        return removed;
+    }
+
+    /**
+     * Marcas de leitura de tarefas concluídas, não atualizadas há comment-reads.max-age-days dias
+     */
+    public long purgeCommentReads(long deadline) {
+        if (commentReadsMaxAgeDays <= 0) {
+            return 0;
+        }
+        Timestamp cutoff = cutoff(commentReadsMaxAgeDays);
+        return purge("comment-reads", deadline,
+            keyset("SELECT r.id FROM task_comment_reads r JOIN tasks t ON t.id = r.task_id " +
+                "WHERE t.status IN " + COMPLETED_STATUSES + " AND r.last_read_at < ? AND r.id > ? ORDER BY r.id LIMIT ?", cutoff),
+            ids -> deleteRows("task_comment_reads", ids, " AND last_read_at < ?", cutoff));
+    }
+
+    /**
+     * Comentários com mais de comments.max-age-days dias, exceto os comments.keep-recent
+     * mais recentes de cada tarefa
+     */
+    public long purgeOldComments(long deadline) {
+        if (commentsMaxAgeDays <= 0) {
+            return 0;
+        }
+        Timestamp cutoff = cutoff(commentsMaxAgeDays);
+        return purge("comments", deadline, new OldCommentChunks(cutoff), ids -> {
+            unreadCommentCounters.commentsRemoved(ids);
+            return deleteRows("task_comments", ids, "", null);
+        });
+    }
+
+    /**
+     * Ciclo comum: pede o lote seguinte, elimina-o numa transação curta e faz uma pausa,
+     * até não haver mais linhas ou o prazo da execução acabar
+     */
+    private long purge(String policy, long deadline, Supplier<List<Long>> chunks, Function<List<Long>, Integer> delete) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long removed = 0;
+        try {
+            List<Long> ids;
+            while (!(ids = chunks.get()).isEmpty()) {
+                if (System.nanoTime() > deadline) {
+                    logger.info("Retenção: tempo máximo atingido em {}, a continuar na próxima execução", policy);
+                    break;
+                }
+                List<Long> chunk = ids;
+                int deleted = transaction.execute(status -> delete.apply(chunk));
+                removed += deleted;
+                meterRegistry.counter("gestortarefas.retention.rows", "policy", policy).increment(deleted);
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sample.stop(meterRegistry.timer("gestortarefas.retention.duration", "policy", policy));
+        }
+        if (removed > 0) {
+            logger.info("Retenção: {} linhas removidas ({})", removed, policy);
+        }
+        return removed;
+    }
+
+    /**
+     * Elimina as tarefas do lote que ainda cumpram a política (podem ter sido reabertas
+     * entre a escolha e a eliminação), com os dados dependentes
+     */
+    private int deleteTasks(List<Long> candidates, Timestamp cutoff) {
+        List<Long> ids = new ArrayList<>();
+        List<Object[]> teamStates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, assigned_team_id, status FROM tasks WHERE id IN (" +
+            placeholders(candidates.size()) + ") AND status IN " + COMPLETED_STATUSES + " AND completed_at < ? " +
+            "FOR UPDATE", rs -> {
+                ids.add(rs.getLong(1));
+                teamStates.add(new Object[] {rs.getObject(2, Long.class), rs.getString(3)});
+            }, append(candidates, cutoff));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] idArgs = ids.toArray();
+        jdbcTemplate.update("DELETE FROM task_comment_reads WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM task_comments WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM task_tags WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + in + ")", idArgs);
+        unreadCommentCounters.tasksRemoved(ids);
+
+        // Eliminadas por JDBC: o que os listeners de Task fariam fica a cargo deste serviço
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> tombstones = new ArrayList<>();
+        for (Long id : ids) {
+            tombstones.add(new Object[] {id, taskChangeSequence.next(), now});
+            taskSearchIndex.taskRemoved(id);
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO task_tombstones (task_id, change_seq, deleted_at) VALUES (?, ?, ?)", tombstones);
+        for (Object[] state : teamStates) {
+            teamStatsAggregate.taskChanged((Long) state[0], TaskStatus.valueOf((String) state[1]), null, null);
+        }
+        dataVersion.changed();
+        return ids.size();
+    }
+
+    /**
+     * Elimina tarefas do arquivo (já não aparecem no delta nem na pesquisa)
+     */
+    private int deleteArchivedTasks(List<Long> candidates, Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM archived_tasks WHERE id IN (" +
+            placeholders(candidates.size()) + ") AND status IN " + COMPLETED_STATUSES + " AND completed_at < ? FOR UPDATE",
+            Long.class, append(candidates, cutoff));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] idArgs = ids.toArray();
+        jdbcTemplate.update("DELETE FROM archived_task_comment_reads WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM archived_task_comments WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM archived_task_tags WHERE task_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM archived_tasks WHERE id IN (" + in + ")", idArgs);
+        unreadCommentCounters.tasksRemoved(ids);
+        return ids.size();
+    }
+
+    /**
+     * Elimina linhas por id (comentários ou marcas de leitura), com uma condição opcional
+     * verificada de novo no DELETE; afeta os contadores de não lidos
+     */
+    private int deleteRows(String table, List<Long> ids, String condition, Object conditionArg) {
+        int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(ids.size()) + ")" +
+            condition, conditionArg != null ? append(ids, conditionArg) : ids.toArray());
+        dataVersion.changed();
+        return deleted;
+    }
+
+    /**
+     * Lotes de ids de uma consulta com parâmetros (cutoff, último id, limite)
+     */
+    private Supplier<List<Long>> keyset(String sql, Timestamp cutoff) {
+        long[] lastId = {0};
+        return () -> {
+            List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, cutoff, lastId[0], chunkSize);
+            if (!ids.isEmpty()) {
+                lastId[0] = ids.get(ids.size() - 1);
+            }
+            return ids;
+        };
+    }
+
+    /**
+     * Lotes de comentários a eliminar: percorre por keyset as tarefas com mais de keepRecent
+     * comentários e, em cada uma, os comentários antigos anteriores ao keepRecent-ésimo mais recente
+     */
+    private class OldCommentChunks implements Supplier<List<Long>> {
+
+        private final Timestamp cutoff;
+        private final List<Long> taskIds = new ArrayList<>();
+        private long lastTaskId = 0;
+        private int taskIndex = 0;
+        private long lastCommentId = 0;
+        private boolean done = false;
+
+        OldCommentChunks(Timestamp cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        public List<Long> get() {
+            List<Long> chunk = new ArrayList<>();
+            while (chunk.size() < chunkSize && !done) {
+                if (taskIndex == taskIds.size() && !nextTasks()) {
+                    done = true;
+                    break;
+                }
+                int limit = chunkSize - chunk.size();
+                List<Long> ids = oldComments(taskIds.get(taskIndex), limit);
+                chunk.addAll(ids);
+                if (ids.size() < limit) {
+                    taskIndex++;
+                    lastCommentId = 0;
+                } else {
+                    lastCommentId = ids.get(ids.size() - 1);
+                }
+            }
+            return chunk;
+        }
+
+        private boolean nextTasks() {
+            taskIds.clear();
+            taskIndex = 0;
+            taskIds.addAll(jdbcTemplate.queryForList("SELECT task_id FROM task_comments WHERE task_id > ? " +
+                "GROUP BY task_id HAVING COUNT(*) > ? AND MIN(created_at) < ? ORDER BY task_id LIMIT ?",
+                Long.class, lastTaskId, commentsKeepRecent, cutoff, chunkSize));
+            if (taskIds.isEmpty()) {
+                return false;
+            }
+            lastTaskId = taskIds.get(taskIds.size() - 1);
+            return true;
+        }
+
+        private List<Long> oldComments(long taskId, int limit) {
+            if (commentsKeepRecent <= 0) {
+                return jdbcTemplate.queryForList("SELECT id FROM task_comments WHERE task_id = ? AND created_at < ? " +
+                    "AND id > ? ORDER BY id LIMIT ?", Long.class, taskId, cutoff, lastCommentId, limit);
+            }
+            // O mais antigo dos comentários a manter
+            List<Map<String, Object>> kept = jdbcTemplate.queryForList("SELECT created_at, id FROM task_comments " +
+                "WHERE task_id = ? ORDER BY created_at DESC, id DESC LIMIT 1 OFFSET ?", taskId, commentsKeepRecent - 1);
+            if (kept.isEmpty()) {
+                return List.of();
+            }
+            Object keptCreatedAt = kept.get(0).get("created_at");
+            Object keptId = kept.get(0).get("id");
+            return jdbcTemplate.queryForList("SELECT id FROM task_comments WHERE task_id = ? AND created_at < ? " +
+                "AND (created_at < ? OR (created_at = ? AND id < ?)) AND id > ? ORDER BY id LIMIT ?", Long.class,
+                taskId, cutoff, keptCreatedAt, keptCreatedAt, keptId, lastCommentId, limit);
+        }
+    }
+
+    private static Timestamp cutoff(int maxAgeDays) {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(maxAgeDays));
+    }
+
+    private static Object[] append(List<Long> ids, Object last) {
+        List<Object> args = new ArrayList<>(ids);
+        args.add(last);
+        return args.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,270 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import com.gestortarefas.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para a pesquisa de tarefas por texto
+ * (título, etiquetas e descrição).
+ *
+ * O texto é normalizado (minúsculas, sem acentos: "Revisão" → "revisao") e partido em
+ * termos. Cada termo aponta para as tarefas onde aparece, com um peso por campo
+ * (título > etiquetas > descrição). Uma pesquisa exige que todos os termos da consulta
+ * existam na tarefa, aceitando prefixos ("rev" encontra "revisão"), e devolve os IDs
+ * ordenados por relevância sem ler a tabela de tarefas.
+ *
+ * O índice é construído no arranque e mantido pelo TaskSearchIndexListener após o
+ * commit de cada insert/update/delete. Operações em massa que não passam pelas
+ * entidades (UPDATE/DELETE JPQL) devem chamar rebuild().
+ */
+@Service
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Pesos por campo; um termo presente em vários campos soma os pesos
+    private static final int TITLE_WEIGHT = 6;
+    private static final int TAGS_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos por lock; loaded == false enquanto não construído
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Constrói o índice depois de os inicializadores de dados terem corrido
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstrói o índice a partir da base de dados, em lotes por ID
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        postings.clear();
+        documents.clear();
+        long afterId = 0;
+        List<Object[]> batch;
+        do {
+            batch = taskRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Object[] row : batch) {
+                afterId = (Long) row[0];
+                put(afterId, (String) row[1], (String) row[2], (String) row[3]);
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        logger.info("Índice de pesquisa construído: {} tarefas, {} termos", documents.size(), postings.size());
+    }
+
+    /**
+     * Regista a nova versão do texto de uma tarefa (aplicada após o commit)
+     */
+    public void taskChanged(Task task) {
+        Long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        String tags = task.getTags();
+        AfterCommit.run(() -> apply(id, title, description, tags, false));
+    }
+
+    /**
+     * Retira uma tarefa eliminada do índice (após o commit)
+     */
+    public void taskRemoved(Long taskId) {
+        AfterCommit.run(() -> apply(taskId, null, null, null, true));
+    }
+
+    /**
+     * IDs das tarefas que contêm todos os termos do texto, do mais para o menos relevante
+     * (empate: mais recente primeiro). Texto sem termos não devolve resultados.
+     *
+     * @param limit número máximo de IDs devolvidos
+     */
+    public List<Long> search(String text, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(text)));
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        Map<Long, Integer> scores;
+        try {
+            scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Integer> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Integer> both = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                        Integer score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            both.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    /**
+     * IDs de todas as tarefas que contêm os termos do texto (para filtrar na consulta,
+     * onde a relevância não decide que tarefas entram)
+     */
+    public List<Long> searchAll(String text) {
+        return search(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Normaliza e parte o texto em termos (minúsculas, sem acentos nem pontuação)
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Melhor pontuação de cada tarefa para um termo da consulta: termo exato vale o
+     * dobro de um termo que apenas começa pelo texto pesquisado
+     */
+    private Map<Long, Integer> scoreTerm(String queryTerm) {
+        Map<Long, Integer> result = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            int factor = entry.getKey().equals(queryTerm) ? 2 : 1;
+            for (Map.Entry<Long, Integer> posting : entry.getValue().entrySet()) {
+                result.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return result;
+    }
+
+    private void apply(Long taskId, String title, String description, String tags, boolean removed) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return; // ainda não construído: a construção lê o estado já confirmado
+            }
+            remove(taskId);
+            if (!removed) {
+                put(taskId, title, description, tags);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long taskId, String title, String description, String tags) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE_WEIGHT);
+        addTerms(terms, tags, TAGS_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        if (terms.isEmpty()) {
+            return;
+        }
+        documents.put(taskId, terms);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+    }
+
+    private void remove(Long taskId) {
+        Map<String, Integer> terms = documents.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> taskIds = postings.get(term);
+            if (taskIds != null) {
+                taskIds.remove(taskId);
+                if (taskIds.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        Set<String> fieldTerms = new LinkedHashSet<>(tokenize(text));
+        for (String term : fieldTerms) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de Task que mantém o TaskSearchIndex atualizado
+ * (título, descrição e etiquetas de cada insert/update/delete).
+ */
+@Component
+public class TaskSearchIndexListener {
+
+    @Autowired
+    private ObjectProvider<TaskSearchIndex> taskSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Task task) {
+        taskSearchIndex.getObject().taskChanged(task);
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        taskSearchIndex.getObject().taskRemoved(task.getId());
+    }
+}
@@ -1,21 +1,38 @@
 package com.gestortarefas.service;
 
+import com.gestortarefas.dto.TaskCursor;
+import com.gestortarefas.dto.TaskSearchCriteria;
+import com.gestortarefas.dto.TaskView;
 import com.gestortarefas.model.Task;
 import com.gestortarefas.model.Task.TaskStatus;
 import com.gestortarefas.model.Task.TaskPriority;
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.Team;
 import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.TaskTombstoneRepository;
+import com.gestortarefas.repository.TaskViewRepository;
+import com.gestortarefas.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,10 +55,38 @@ public class TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
+    // Máximo de resultados de uma pesquisa só por texto (os mais relevantes); com outros
+    // filtros a consulta recebe todas as correspondências do índice
+    static final int MAX_SEARCH_RESULTS = 5000;
+
     // Repositório para acesso aos dados das tarefas
     @Autowired
     private TaskRepository taskRepository;
 
+    // Consultas de leitura que devolvem projeções planas (listagens)
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+
+    // Índice em memória da pesquisa por texto
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    // Sincronização por delta (/api/tasks/changes)
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskChangeSequence taskChangeSequence;
+
+    @Autowired
+    private UnreadCommentCounters unreadCommentCounters;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
     /**
      * Cria uma nova tarefa com informações básicas.
      * 
@@ -91,6 +136,14 @@ public class TaskService {
         return taskRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    /**
+     * IDs das tarefas de um utilizador (sem carregar as entidades)
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findTaskIdsByUser(User user) {
+        return taskRepository.findIdsByUser(user);
+    }
+
     /**
      * Lista tarefas de um utilizador ordenadas por prioridade
      */
@@ -134,17 +187,21 @@ public class TaskService {
     }
 
     /**
-     * Pesquisa tarefas por título
+     * Pesquisa tarefas por texto (título, etiquetas e descrição), da mais relevante para a menos
      */
+    @Transactional(readOnly = true)
     public List<Task> searchTasksByTitle(String title) {
-        return taskRepository.findByTitleContainingIgnoreCase(title);
+        List<Long> ids = taskSearchIndex.search(title, MAX_SEARCH_RESULTS);
+        return inRankOrder(ids, taskRepository.findAllById(ids), Task::getId);
     }
 
     /**
-     * Pesquisa tarefas de um utilizador por título
+     * Pesquisa tarefas de um utilizador por texto, da mais relevante para a menos
      */
+    @Transactional(readOnly = true)
     public List<Task> searchTasksByUserAndTitle(User user, String title) {
-        return taskRepository.findByUserAndTitleContainingIgnoreCase(user, title);
+        List<Long> ids = taskSearchIndex.searchAll(title);
+        return ids.isEmpty() ? List.of() : inRankOrder(ids, taskRepository.findByUserIdAndIdIn(user.getId(), ids), Task::getId);
     }
 
     /**
@@ -220,14 +277,14 @@ public class TaskService {
      * Lista tarefas em atraso
      */
     public List<Task> findOverdueTasks() {
-        return taskRepository.findOverdueTasks(LocalDateTime.now());
+        return taskRepository.findOverdueTasks(LocalDateTime.now(), TaskStatus.OPEN);
     }
 
     /**
      * Lista tarefas em atraso de um utilizador
      */
     public List<Task> findOverdueTasksByUser(User user) {
-        return taskRepository.findOverdueTasksByUser(user, LocalDateTime.now());
+        return taskRepository.findOverdueTasksByUser(user, LocalDateTime.now(), TaskStatus.OPEN);
     }
 
     /**
@@ -236,7 +293,7 @@ public class TaskService {
     public List<Task> findTasksDueSoon() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime threeDaysLater = now.plusDays(3);
-        return taskRepository.findTasksDueSoon(now, threeDaysLater);
+        return taskRepository.findTasksDueSoon(now, threeDaysLater, TaskStatus.OPEN);
     }
 
     /**
@@ -281,6 +338,7 @@ public class TaskService {
     public boolean deleteTask(Long taskId) {
         if (taskRepository.existsById(taskId)) {
             taskRepository.deleteById(taskId);
+            unreadCommentCounters.tasksRemoved(List.of(taskId));
             return true;
         }
         return false;
@@ -301,6 +359,188 @@ public class TaskService {
         return taskRepository.findAll();
     }
 
+    /**
+     * Pesquisa paginada de tarefas com filtros e ordenação executados na base de dados
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskView> searchTasks(TaskSearchCriteria criteria, int page, int size) {
+        return taskRepository.searchTasks(resolveSearch(criteria), PageRequest.of(page, size));
+    }
+
+    /**
+     * Exportação: envia a sink, uma a uma e pela ordem dos critérios, todas as tarefas
+     * que satisfazem os filtros, lidas em streaming da base de dados. Devolve o número
+     * de tarefas enviadas.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskSearchCriteria criteria, Consumer<TaskView> sink) {
+        long count = 0;
+        try (Stream<TaskView> tasks = taskRepository.streamTasks(resolveSearch(criteria))) {
+            Iterator<TaskView> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pesquisa por cursor (keyset): devolve até limit tarefas após o cursor indicado
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> seekTasks(TaskSearchCriteria criteria, TaskCursor after, int limit) {
+        return taskRepository.seekTasks(resolveSearch(criteria), after, limit);
+    }
+
+    /**
+     * Token de sincronização por delta que corresponde ao estado atual.
+     * Deve ser obtido antes de carregar a listagem a que se refere.
+     */
+    public String currentChangeToken() {
+        return Long.toString(taskChangeSequence.safeToken());
+    }
+
+    /**
+     * Alterações de tarefas posteriores ao token (até limit): tarefas criadas/alteradas que
+     * satisfazem os filtros e IDs a remover (eliminadas, ou alteradas e fora dos filtros).
+     *
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    @Transactional(readOnly = true)
+    public TaskChanges getTaskChanges(TaskSearchCriteria criteria, String token, int limit) {
+        long since;
+        try {
+            since = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+        if (since < 0 || limit < 1) {
+            throw new IllegalArgumentException("Parâmetros de sincronização inválidos");
+        }
+
+        long safe = taskChangeSequence.safeToken();
+        if (since > safe) {
+            // Token de outra base de dados (ex.: reposta): o cliente deve recarregar tudo
+            return new TaskChanges(List.of(), List.of(), Long.toString(safe), false, true);
+        }
+
+        // Alterações e eliminações por ordem de sequência, juntas e cortadas em limit
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<long[]> changes = new ArrayList<>();
+        for (Object[] row : taskRepository.findChangesAfter(since, window)) {
+            changes.add(new long[] {(Long) row[0], (Long) row[1], 0});
+        }
+        for (Object[] row : taskTombstoneRepository.findChangesAfter(since, window)) {
+            changes.add(new long[] {(Long) row[0], (Long) row[1], 1});
+        }
+        changes.sort((a, b) -> Long.compare(a[1], b[1]));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        for (long[] change : changes) {
+            (change[2] == 0 ? changedIds : removedIds).add(change[0]);
+        }
+        List<TaskView> tasks = taskRepository.findMatchingTasks(resolveSearch(criteria), changedIds);
+        Set<Long> matchedIds = new HashSet<>();
+        tasks.forEach(task -> matchedIds.add(task.id()));
+        removedIds.removeAll(new HashSet<>(changedIds)); // reposta depois (ex.: saiu do arquivo)
+        changedIds.stream().filter(id -> !matchedIds.contains(id)).forEach(removedIds::add);
+
+        // Nunca avançar para lá de safe: sequências menores ainda podem vir a ser confirmadas
+        long next = hasMore ? Math.min(changes.get(changes.size() - 1)[1], safe) : safe;
+        return new TaskChanges(tasks, removedIds, Long.toString(Math.max(next, since)), hasMore, false);
+    }
+
+    /**
+     * Listagens em projeção TaskView (uma consulta com joins, sem entidades geridas)
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> findTaskViewsByUser(User user) {
+        return taskViewRepository.findByUserId(user.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findTaskViewsByUserAndStatus(User user, TaskStatus status) {
+        return taskViewRepository.findByUserIdAndStatus(user.getId(), status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> searchTaskViewsByTitle(String title, int limit) {
+        List<Long> ids = taskSearchIndex.search(title, limit);
+        return ids.isEmpty() ? List.of() : inRankOrder(ids, taskViewRepository.findByIdIn(ids), TaskView::id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> searchTaskViewsByUserAndTitle(User user, String title, int limit) {
+        // Sem limite no índice: o filtro por utilizador é aplicado depois, na consulta
+        List<Long> ids = taskSearchIndex.searchAll(title);
+        if (ids.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        List<TaskView> tasks = inRankOrder(ids, taskViewRepository.findByUserIdAndIdIn(user.getId(), ids), TaskView::id);
+        return tasks.size() > limit ? tasks.subList(0, limit) : tasks;
+    }
+
+    /**
+     * Ordena as tarefas carregadas pela ordem de relevância dos IDs devolvidos pelo índice
+     * (IDs que já não existem na base de dados são ignorados)
+     */
+    private static <T> List<T> inRankOrder(List<Long> ids, List<T> tasks, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        tasks.forEach(task -> byId.put(idOf.apply(task), task));
+        List<T> ranked = new ArrayList<>(tasks.size());
+        for (Long id : ids) {
+            T task = byId.get(id);
+            if (task != null) {
+                ranked.add(task);
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Resolve o texto de pesquisa dos critérios em todos os IDs do índice que o contêm,
+     * para que a consulta filtre por ID em vez de LIKE sem perder correspondências nos
+     * outros filtros, nas páginas seguintes ou na exportação
+     */
+    private TaskSearchCriteria resolveSearch(TaskSearchCriteria criteria) {
+        if (TaskSearchCriteria.hasText(criteria.getSearch()) && criteria.getSearchIds() == null) {
+            criteria.setSearchIds(taskSearchIndex.searchAll(criteria.getSearch()));
+        }
+        return criteria;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findOverdueTaskViews() {
+        return taskViewRepository.findOverdue(LocalDateTime.now(), TaskStatus.OPEN);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findOverdueTaskViewsByUser(User user) {
+        return taskViewRepository.findOverdueByUserId(user.getId(), LocalDateTime.now(), TaskStatus.OPEN);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findPendingAndInProgressTaskViews() {
+        return taskViewRepository.findByStatusIn(Arrays.asList(TaskStatus.PENDENTE, TaskStatus.EM_ANDAMENTO));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findTaskViewsDueSoon() {
+        LocalDateTime now = LocalDateTime.now();
+        return taskViewRepository.findDueBetween(now, now.plusDays(3), TaskStatus.OPEN);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findCompletedTaskViewsLast3Days() {
+        return taskViewRepository.findCompletedSince(LocalDateTime.now().minusDays(3));
+    }
+
     /**
      * Duplica uma tarefa existente
      */
@@ -322,14 +562,6 @@ public class TaskService {
         return taskRepository.save(duplicatedTask);
     }
 
-    /**
-     * Remove tarefas concluídas antigas (mais de 30 dias)
-     */
-    public void cleanupOldCompletedTasks() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-        taskRepository.deleteOldCompletedTasks(cutoffDate);
-    }
-
     // Novos métodos para suporte a equipas
 
     /**
@@ -370,7 +602,11 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> getVisibleTasksForUser(User user) {
-        return taskRepository.findVisibleTasksForUser(user);
+        List<Long> teamIds = membershipIndex.getTeamIds(user.getId());
+        if (teamIds.isEmpty()) {
+            return taskRepository.findByUser(user);
+        }
+        return taskRepository.findVisibleTasksForUser(user, teamIds);
     }
 
     /**
@@ -381,6 +617,14 @@ public class TaskService {
         return taskRepository.findTasksForManagedTeams(manager);
     }
 
+    /**
+     * Nº de tarefas das equipas de um gerente (sem carregar as tarefas)
+     */
+    @Transactional(readOnly = true)
+    public long countTasksForManager(User manager) {
+        return taskRepository.countTasksForManagedTeams(manager);
+    }
+
     /**
      * Busca tarefas de uma equipa específica
      */
@@ -395,11 +639,42 @@ public class TaskService {
     }
 
     /**
-     * Busca tarefas por tag
+     * Busca tarefas por tag (comparação exata, sem distinguir maiúsculas)
      */
     @Transactional(readOnly = true)
-    public List<Task> getTasksByTag(String tag) {
-        return taskRepository.findByTag(tag);
+    public List<TaskView> getTasksByTag(String tag) {
+        return taskViewRepository.findByTag(Task.normalizeTag(tag));
+    }
+
+    /**
+     * Busca tarefas por várias tags: com todas (matchAll) ou com pelo menos uma
+     *
+     * @throws IllegalArgumentException se não for indicada nenhuma tag
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByTags(List<String> tags, boolean matchAll) {
+        Set<String> names = new HashSet<>();
+        for (String tag : tags) {
+            Task.splitTags(tag).forEach(name -> names.add(Task.normalizeTag(name)));
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Indique pelo menos uma tag");
+        }
+        return matchAll
+            ? taskViewRepository.findByAllTags(names, names.size())
+            : taskViewRepository.findByAnyTag(names);
+    }
+
+    /**
+     * Nuvem de tags: nº de tarefas por tag, das mais usadas para as menos usadas
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getTagCounts(int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : taskRepository.countTasksByTag(PageRequest.of(0, limit))) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 
     /**
@@ -410,12 +685,80 @@ public class TaskService {
         return taskRepository.findPendingTasksByUser(user);
     }
 
+    /**
+     * Dashboard do funcionário - obtém as 4 colunas e a contagem total com uma consulta
+     * de tarefas e uma contagem, classificando cada tarefa numa única passagem.
+     * Os critérios de cada coluna são os mesmos de getPendingTasksForUser,
+     * getTodayTasksForUser, getOverdueTasksForUser e getCompletedTasksForUser.
+     */
+    @Transactional(readOnly = true)
+    public DashboardColumns getEmployeeDashboard(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        DashboardColumns columns = DashboardColumns.classify(
+            taskViewRepository.findDashboardByUserId(user.getId(), now.minusDays(3)), now);
+        columns.setTotalTasks(taskRepository.countByUser(user));
+        return columns;
+    }
+
+    /**
+     * Dashboard - 4 colunas de uma equipa numa só consulta
+     * (mesmos critérios de getPendingTasksForTeam, getTodayTasksForTeam,
+     * getOverdueTasksForTeam e getCompletedTasksForTeam)
+     */
+    @Transactional(readOnly = true)
+    public DashboardColumns getTeamDashboardColumns(Team team, User requester) {
+        if (!canViewTeamTasks(team, requester)) {
+            throw new IllegalArgumentException("Sem permissão para ver tarefas desta equipa");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return DashboardColumns.classify(
+            taskViewRepository.findDashboardByTeamId(team.getId(), now.minusDays(3)), now);
+    }
+
+    /**
+     * Dashboard - colunas em que uma tarefa aparece no dashboard do utilizador
+     * (atualização de uma só linha após um evento de /api/events).
+     * Usa as mesmas regras do dashboard de cada papel: funcionário (tarefas próprias),
+     * gerente (equipas ativas que gere) e administrador (visão global).
+     * Devolve colunas vazias se a tarefa não existir ou não aparecer no dashboard.
+     */
+    @Transactional(readOnly = true)
+    public DashboardColumns getDashboardColumnsForTask(Long taskId, User viewer) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<TaskView> taskOpt = taskViewRepository.findViewById(taskId);
+        if (taskOpt.isEmpty()) {
+            return new DashboardColumns();
+        }
+        TaskView task = taskOpt.get();
+        if (viewer.getRole().isAdmin()) {
+            return DashboardColumns.classifyGlobal(List.of(task), now);
+        }
+
+        boolean visible;
+        if (viewer.getRole().isManagerOrAbove()) {
+            visible = task.teamId() != null && teamRepository.findByManagerAndActiveTrue(viewer).stream()
+                .anyMatch(team -> team.getId().equals(task.teamId()));
+        } else {
+            visible = viewer.getId().equals(task.userId());
+        }
+        // Mesmo filtro de findDashboardByUserId / findDashboardByTeamId
+        boolean archived = Boolean.TRUE.equals(task.archived());
+        boolean oldCompleted = task.status() == TaskStatus.CONCLUIDA
+            && (task.completedAt() == null || !task.completedAt().isAfter(now.minusDays(3)));
+        if (!visible || archived || oldCompleted) {
+            return new DashboardColumns();
+        }
+        return DashboardColumns.classify(List.of(task), now);
+    }
+
     /**
      * Dashboard - Busca tarefas com prazo hoje do utilizador
      */
     @Transactional(readOnly = true)
     public List<Task> getTodayTasksForUser(User user) {
-        return taskRepository.findTasksDueTodayByUser(user, LocalDateTime.now());
+        LocalDate today = LocalDate.now();
+        return taskRepository.findTasksDueTodayByUser(user, today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+            TaskStatus.OPEN);
     }
 
     /**
@@ -423,7 +766,7 @@ public class TaskService {
      */
     @Transactional(readOnly = true)
     public List<Task> getOverdueTasksForUser(User user) {
-        return taskRepository.findOverdueTasksByUser(user, LocalDateTime.now());
+        return taskRepository.findOverdueTasksByUser(user, LocalDateTime.now(), TaskStatus.OPEN);
     }
 
     /**
@@ -462,7 +805,9 @@ public class TaskService {
         if (!canViewTeamTasks(team, requester)) {
             throw new IllegalArgumentException("Sem permissão para ver tarefas desta equipa");
         }
-        return taskRepository.findTasksDueTodayByTeam(team, LocalDateTime.now());
+        LocalDate today = LocalDate.now();
+        return taskRepository.findTasksDueTodayByTeam(team, today.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+            TaskStatus.OPEN);
     }
 
     /**
@@ -473,7 +818,7 @@ public class TaskService {
         if (!canViewTeamTasks(team, requester)) {
             throw new IllegalArgumentException("Sem permissão para ver tarefas desta equipa");
         }
-        return taskRepository.findOverdueTasksByTeam(team, LocalDateTime.now());
+        return taskRepository.findOverdueTasksByTeam(team, LocalDateTime.now(), TaskStatus.OPEN);
     }
 
     /**
@@ -530,12 +875,9 @@ public class TaskService {
             throw new IllegalArgumentException("Sem permissão para editar esta tarefa");
         }
 
+        // setTags ignora as tags que a tarefa já tem
         String currentTags = task.getTags();
-        if (currentTags == null || currentTags.trim().isEmpty()) {
-            task.setTags(newTags);
-        } else {
-            task.setTags(currentTags + ", " + newTags);
-        }
+        task.setTags(currentTags == null ? newTags : currentTags + ", " + newTags);
         
         return taskRepository.save(task);
     }
@@ -638,7 +980,7 @@ public class TaskService {
     private boolean canAssignTaskToTeam(Team team, User user) {
         return user.getRole().isAdmin() || 
                team.getManager().equals(user) || 
-               team.getMembers().contains(user);
+               membershipIndex.isMember(user.getId(), team.getId());
     }
 
     /**
@@ -659,6 +1001,115 @@ public class TaskService {
     private boolean canViewTeamTasks(Team team, User user) {
         return user.getRole().isAdmin() || 
                team.getManager().equals(user) || 
-               team.getMembers().contains(user);
+               membershipIndex.isMember(user.getId(), team.getId());
+    }
+
+    /**
+     * Resultado de getTaskChanges
+     */
+    public static class TaskChanges {
+        private final List<TaskView> tasks;
+        private final List<Long> removedIds;
+        private final String nextToken;
+        private final boolean hasMore;
+        private final boolean reset;
+
+        TaskChanges(List<TaskView> tasks, List<Long> removedIds, String nextToken, boolean hasMore, boolean reset) {
+            this.tasks = tasks;
+            this.removedIds = removedIds;
+            this.nextToken = nextToken;
+            this.hasMore = hasMore;
+            this.reset = reset;
+        }
+
+        public List<TaskView> getTasks() { return tasks; }
+        public List<Long> getRemovedIds() { return removedIds; }
+        public String getNextToken() { return nextToken; }
+        public boolean isHasMore() { return hasMore; }
+        public boolean isReset() { return reset; }
+    }
+
+    /**
+     * Colunas (pendentes, hoje, em atraso, concluídas) e contagem total de um dashboard
+     */
+    public static class DashboardColumns {
+        private final List<TaskView> pending = new ArrayList<>();
+        private final List<TaskView> today = new ArrayList<>();
+        private final List<TaskView> overdue = new ArrayList<>();
+        private final List<TaskView> completed = new ArrayList<>();
+        private long totalTasks;
+
+        /**
+         * Classifica as tarefas nas 4 colunas numa única passagem
+         * (uma tarefa pode estar em várias colunas, ex.: pendente e em atraso)
+         */
+        static DashboardColumns classify(List<TaskView> tasks, LocalDateTime now) {
+            LocalDateTime threeDaysAgo = now.minusDays(3);
+            LocalDate today = now.toLocalDate();
+
+            DashboardColumns columns = new DashboardColumns();
+            for (TaskView task : tasks) {
+                boolean done = task.isCompleted();
+
+                if (task.status() != TaskStatus.CONCLUIDA) {
+                    columns.pending.add(task);
+                }
+                if (!done && task.dueDate() != null) {
+                    if (task.dueDate().toLocalDate().equals(today)) {
+                        columns.today.add(task);
+                    }
+                    if (task.dueDate().isBefore(now)) {
+                        columns.overdue.add(task);
+                    }
+                }
+                if (done && task.completedAt() != null && task.completedAt().isAfter(threeDaysAgo)) {
+                    columns.completed.add(task);
+                }
+            }
+            columns.totalTasks = tasks.size();
+            return columns;
+        }
+
+        /**
+         * Classificação do dashboard do administrador (mesmos critérios de
+         * findPendingAndInProgressTaskViews, findTaskViewsDueSoon, findOverdueTaskViews
+         * e findCompletedTaskViewsLast3Days)
+         */
+        static DashboardColumns classifyGlobal(List<TaskView> tasks, LocalDateTime now) {
+            LocalDateTime threeDaysAgo = now.minusDays(3);
+            LocalDateTime inThreeDays = now.plusDays(3);
+
+            DashboardColumns columns = new DashboardColumns();
+            for (TaskView task : tasks) {
+                boolean open = !task.isCompleted() && !Boolean.TRUE.equals(task.archived());
+
+                if (task.status() == TaskStatus.PENDENTE || task.status() == TaskStatus.EM_ANDAMENTO) {
+                    columns.pending.add(task);
+                }
+                if (open && task.dueDate() != null) {
+                    if (!task.dueDate().isBefore(now) && !task.dueDate().isAfter(inThreeDays)) {
+                        columns.today.add(task);
+                    }
+                    if (task.dueDate().isBefore(now)) {
+                        columns.overdue.add(task);
+                    }
+                }
+                if (task.status() == TaskStatus.CONCLUIDA && !Boolean.TRUE.equals(task.archived())
+                        && task.completedAt() != null && task.completedAt().isAfter(threeDaysAgo)) {
+                    columns.completed.add(task);
+                }
+            }
+            columns.totalTasks = tasks.size();
+            return columns;
+        }
+
+        // Getters e Setters
+        public List<TaskView> getPending() { return pending; }
+        public List<TaskView> getToday() { return today; }
+        public List<TaskView> getOverdue() { return overdue; }
+        public List<TaskView> getCompleted() { return completed; }
+
+        public long getTotalTasks() { return totalTasks; }
+        public void setTotalTasks(long totalTasks) { this.totalTasks = totalTasks; }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+
+/**
+ * Preenche as colunas de ordenação de tasks (title_sort, priority_rank, status_rank,
+ * due_date_sort) nas linhas que ainda não as têm: tarefas anteriores a estas colunas
+ * ou inseridas por SQL fora da aplicação.
+ *
+ * Corre no arranque; as tarefas gravadas pela aplicação já as mantêm em Task.updateSortKeys.
+ */
+@Component
+public class TaskSortKeyMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSortKeyMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Colunas de ordenação e as expressões que as calculam a partir de title, priority, status
+    // e due_date, para um INSERT ... SELECT (o "?" é NO_DUE_DATE_SORT)
+    static final String SORT_KEY_COLUMNS = "title_sort, priority_rank, status_rank, due_date_sort";
+    static final String SORT_KEY_VALUES = "LOWER(title), " + ordinalCase("priority", TaskPriority.values()) + ", " +
+        ordinalCase("status", TaskStatus.values()) + ", COALESCE(due_date, ?)";
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        int updated = jdbcTemplate.update("UPDATE tasks SET title_sort = LOWER(title), " +
+            "priority_rank = " + ordinalCase("priority", TaskPriority.values()) + ", " +
+            "status_rank = " + ordinalCase("status", TaskStatus.values()) + ", " +
+            "due_date_sort = COALESCE(due_date, ?) " +
+            "WHERE title_sort IS NULL OR priority_rank IS NULL OR status_rank IS NULL OR due_date_sort IS NULL",
+            Timestamp.valueOf(Task.NO_DUE_DATE_SORT));
+        if (updated > 0) {
+            logger.info("Colunas de ordenação preenchidas em {} tarefas", updated);
+        }
+    }
+
+    /**
+     * CASE que converte um enum guardado como texto no seu ordinal
+     */
+    private static String ordinalCase(String column, Enum<?>[] values) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (Enum<?> value : values) {
+            sql.append(" WHEN '").append(value.name()).append("' THEN ").append(value.ordinal());
+        }
+        return sql.append(" END").toString();
+    }
+}
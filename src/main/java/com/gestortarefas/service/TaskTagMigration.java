@@ -0,0 +1,60 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migração das tags guardadas apenas como texto (tasks.tags) para a tabela task_tags.
+ *
+ * Corre no arranque e só trata tarefas com texto de tags e sem linhas em task_tags,
+ * pelo que depois da primeira execução não encontra nada para migrar. As tarefas
+ * gravadas pela aplicação já mantêm task_tags através de Task.setTags.
+ */
+@Component
+public class TaskTagMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTagMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> pending = jdbcTemplate.query(
+            "SELECT t.id, t.tags FROM tasks t WHERE t.tags IS NOT NULL AND t.tags <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM task_tags tt WHERE tt.task_id = t.id)",
+            (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2)});
+
+        for (Object[] task : pending) {
+            Set<String> names = new LinkedHashSet<>();
+            for (String tag : Task.splitTags((String) task[1])) {
+                String name = Task.normalizeTag(tag);
+                if (name.length() <= Task.MAX_TAG_LENGTH) {
+                    names.add(name);
+                } else {
+                    logger.warn("Tag demasiado longa ignorada na tarefa {}: {}", task[0], tag);
+                }
+            }
+            names.forEach(name -> rows.add(new Object[] {task[0], name}));
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", rows);
+            logger.info("Tags migradas para task_tags: {} tarefas, {} tags", pending.size(), rows.size());
+        }
+    }
+}
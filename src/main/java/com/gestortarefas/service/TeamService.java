@@ -23,6 +23,18 @@ public class TeamService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private TaskEventPublisher taskEventPublisher;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
     /**
      * Cria uma nova equipa
      */
@@ -66,6 +78,10 @@ public class TeamService {
 
         // Adicionar membro usando o método auxiliar que mantém a consistência
         userToAdd.addToTeam(team);
+        membershipIndex.memberAdded(teamId, userId);
+        teamStatsAggregate.membershipChanged(teamId);
+        taskEventPublisher.membershipChanged(teamId);
+        dataVersion.changed(); // a tabela de membros não dispara eventos JPA
         
         // Salvar ambos para garantir persistência
         userRepository.save(userToAdd);
@@ -87,6 +103,10 @@ public class TeamService {
 
         // Remover membro usando o método auxiliar que mantém a consistência
         userToRemove.removeFromTeam(team);
+        membershipIndex.memberRemoved(teamId, userId);
+        teamStatsAggregate.membershipChanged(teamId);
+        taskEventPublisher.membershipChanged(teamId);
+        dataVersion.changed(); // a tabela de membros não dispara eventos JPA
         
         // Salvar ambos para garantir persistência
         userRepository.save(userToRemove);
@@ -173,6 +193,7 @@ public class TeamService {
         }
 
         team.setManager(newManager);
+        taskEventPublisher.membershipChanged(teamId);
         return teamRepository.save(team);
     }
 
@@ -237,19 +258,16 @@ public class TeamService {
             throw new IllegalArgumentException("Sem permissão para ver esta equipa");
         }
 
+        // Contagens mantidas incrementalmente (sem carregar team.getTasks()/getMembers())
+        TeamStatsAggregate.TeamCounts counts = teamStatsAggregate.getCounts(teamId);
+
         TeamStats stats = new TeamStats();
         stats.setTeamId(teamId);
         stats.setTeamName(team.getName());
-        stats.setMemberCount(team.getMembers().size());
-        stats.setTaskCount(team.getTasks().size());
-        // Contar tarefas pendentes e concluídas usando a lógica da entidade
-        long pendingTasks = team.getTasks().stream()
-            .filter(task -> task.getStatus() != com.gestortarefas.model.Task.TaskStatus.CONCLUIDA)
-            .count();
-        long completedTasks = team.getCompletedTasksCount();
-        
-        stats.setPendingTaskCount((int) pendingTasks);
-        stats.setCompletedTaskCount((int) completedTasks);
+        stats.setMemberCount(counts.getMemberCount());
+        stats.setTaskCount((int) counts.getTotalTasks());
+        stats.setPendingTaskCount((int) counts.getPendingTasks());
+        stats.setCompletedTaskCount((int) counts.getCompletedTasks());
 
         return stats;
     }
@@ -268,7 +286,7 @@ public class TeamService {
     private boolean canViewTeam(Team team, User user) {
         return user.getRole().isAdmin() || 
                (team.getManager() != null && team.getManager().equals(user)) || 
-               team.getMembers().contains(user);
+               membershipIndex.isMember(user.getId(), team.getId());
     }
 
     /**
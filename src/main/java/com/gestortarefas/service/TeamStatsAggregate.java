@@ -0,0 +1,239 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estatísticas de equipa: (equipa, status) → nº de tarefas e equipa → nº de membros.
+ *
+ * As tarefas são contadas na tabela team_task_counts, atualizada na mesma transação de
+ * cada alteração: o TeamTaskStatsListener (e os movimentos por JDBC do arquivo e da
+ * retenção) enviam o delta de cada insert/update/delete de Task. Um rollback desfaz
+ * o delta com a alteração e todas as instâncias da aplicação leem as mesmas contagens.
+ * A tabela é reconstruída por GROUP BY no arranque (tarefas inseridas por SQL fora da
+ * aplicação); operações em massa que não enviem deltas devem chamar rebuild().
+ *
+ * Os membros são contados em memória, carregados uma vez e recontados por equipa
+ * quando os serviços que alteram membros a marcam (após o commit).
+ */
+@Service
+public class TeamStatsAggregate {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamStatsAggregate.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    // Protegidos por "this"; memberCounts == null enquanto não carregado
+    private Map<Long, Integer> memberCounts;
+    private final Set<Long> dirtyMemberTeams = new HashSet<>();
+
+    /**
+     * Estatísticas de uma equipa (0 em tudo se a equipa não tiver tarefas nem membros)
+     */
+    @Transactional(readOnly = true)
+    public TeamCounts getCounts(Long teamId) {
+        return getCounts(List.of(teamId)).get(teamId);
+    }
+
+    /**
+     * Estatísticas de várias equipas de uma vez
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, TeamCounts> getCounts(Collection<Long> teamIds) {
+        Map<Long, long[]> taskCounts = new HashMap<>();
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(teamIds));
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query("SELECT team_id, status, task_count FROM team_task_counts WHERE team_id IN (" +
+                String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", rs -> {
+                    taskCounts.computeIfAbsent(rs.getLong(1), id -> new long[TaskStatus.values().length])
+                        [TaskStatus.valueOf(rs.getString(2)).ordinal()] = rs.getLong(3);
+                }, ids.toArray());
+        }
+        Map<Long, Integer> members = memberCounts();
+
+        Map<Long, TeamCounts> result = new HashMap<>();
+        for (Long teamId : ids) {
+            result.put(teamId, new TeamCounts(
+                taskCounts.getOrDefault(teamId, new long[TaskStatus.values().length]),
+                members.getOrDefault(teamId, 0)));
+        }
+        return result;
+    }
+
+    /**
+     * Regista a mudança de uma tarefa de (oldTeamId, oldStatus) para (newTeamId, newStatus),
+     * na transação corrente. Valores nulos indicam que a tarefa não existia / deixou de
+     * existir ou não tinha equipa.
+     */
+    public void taskChanged(Long oldTeamId, TaskStatus oldStatus, Long newTeamId, TaskStatus newStatus) {
+        boolean sameTeam = oldTeamId == null ? newTeamId == null : oldTeamId.equals(newTeamId);
+        if (sameTeam && oldStatus == newStatus) {
+            return;
+        }
+        boolean decrement = oldTeamId != null && oldStatus != null;
+        boolean increment = newTeamId != null && newStatus != null;
+        // Linhas sempre pela mesma ordem (equipa, status), para que duas transações que
+        // movem tarefas em sentidos opostos não bloqueiem uma à outra
+        if (decrement && increment && compare(newTeamId, newStatus, oldTeamId, oldStatus) < 0) {
+            increment(newTeamId, newStatus);
+            decrement(oldTeamId, oldStatus);
+            return;
+        }
+        if (decrement) {
+            decrement(oldTeamId, oldStatus);
+        }
+        if (increment) {
+            increment(newTeamId, newStatus);
+        }
+    }
+
+    /**
+     * Marca a equipa para recontagem de membros (após o commit)
+     */
+    public void membershipChanged(Long teamId) {
+        if (teamId != null) {
+            AfterCommit.run(() -> markMembersDirty(teamId));
+        }
+    }
+
+    /**
+     * Reconstrói as contagens de tarefas a partir da tabela tasks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM team_task_counts");
+        int rows = jdbcTemplate.update("INSERT INTO team_task_counts (team_id, status, task_count) " +
+            "SELECT assigned_team_id, status, COUNT(*) FROM tasks WHERE assigned_team_id IS NOT NULL " +
+            "GROUP BY assigned_team_id, status");
+        logger.debug("Estatísticas de equipa reconstruídas: {} pares (equipa, status)", rows);
+    }
+
+    private void increment(Long teamId, TaskStatus status) {
+        jdbcTemplate.update("INSERT INTO team_task_counts (team_id, status, task_count) VALUES (?, ?, 1) " +
+            "ON DUPLICATE KEY UPDATE task_count = task_count + 1", teamId, status.name());
+    }
+
+    private void decrement(Long teamId, TaskStatus status) {
+        jdbcTemplate.update("UPDATE team_task_counts SET task_count = task_count - 1 WHERE team_id = ? AND status = ?",
+            teamId, status.name());
+    }
+
+    private static int compare(Long teamId, TaskStatus status, Long otherTeamId, TaskStatus otherStatus) {
+        int byTeam = teamId.compareTo(otherTeamId);
+        return byTeam != 0 ? byTeam : status.name().compareTo(otherStatus.name());
+    }
+
+    private synchronized void markMembersDirty(Long teamId) {
+        dirtyMemberTeams.add(teamId);
+    }
+
+    /**
+     * Membros por equipa: carregados na primeira leitura e depois só recontadas as equipas
+     * marcadas. As consultas correm fora do monitor (uma alteração confirmada entretanto
+     * volta a marcar a equipa).
+     */
+    private Map<Long, Integer> memberCounts() {
+        boolean loaded;
+        List<Long> teamIds;
+        synchronized (this) {
+            loaded = memberCounts != null;
+            teamIds = new ArrayList<>(dirtyMemberTeams);
+            dirtyMemberTeams.clear();
+        }
+        if (!loaded) {
+            Map<Long, Integer> counts = new HashMap<>();
+            for (Object[] row : teamRepository.countMembersByTeam()) {
+                counts.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+            synchronized (this) {
+                if (memberCounts == null) {
+                    memberCounts = counts;
+                }
+                return new HashMap<>(memberCounts);
+            }
+        }
+        if (!teamIds.isEmpty()) {
+            Map<Long, Integer> counts = new HashMap<>();
+            teamIds.forEach(teamId -> counts.put(teamId, 0));
+            for (Object[] row : teamRepository.countMembersByTeamIds(teamIds)) {
+                counts.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+            synchronized (this) {
+                memberCounts.putAll(counts);
+            }
+        }
+        synchronized (this) {
+            return new HashMap<>(memberCounts);
+        }
+    }
+
+    /**
+     * Contagens de uma equipa num dado momento
+     */
+    public static class TeamCounts {
+        private final long[] taskCounts;
+        private final int memberCount;
+
+        TeamCounts(long[] taskCounts, int memberCount) {
+            this.taskCounts = taskCounts;
+            this.memberCount = memberCount;
+        }
+
+        public long getCount(TaskStatus status) {
+            return taskCounts[status.ordinal()];
+        }
+
+        public long getTotalTasks() {
+            long total = 0;
+            for (long count : taskCounts) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Tarefas não concluídas (mesma regra de TeamService.getTeamStats)
+         */
+        public long getPendingTasks() {
+            return getTotalTasks() - getCount(TaskStatus.CONCLUIDA);
+        }
+
+        /**
+         * Tarefas ativas: nem concluídas nem canceladas (mesma regra de Team.getActiveTasksCount)
+         */
+        public long getActiveTasks() {
+            return getPendingTasks() - getCount(TaskStatus.CANCELADA);
+        }
+
+        public long getCompletedTasks() {
+            return getCount(TaskStatus.CONCLUIDA);
+        }
+
+        public int getMemberCount() {
+            return memberCount;
+        }
+    }
+}
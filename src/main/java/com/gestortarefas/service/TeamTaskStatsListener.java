@@ -0,0 +1,48 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.Task;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de Task que mantém o TeamStatsAggregate atualizado.
+ *
+ * Funciona para qualquer caminho de escrita (serviços, controllers, inicializadores),
+ * comparando a equipa/status guardados no carregamento com os valores atuais.
+ * O agregado é obtido de forma lazy para não criar dependência circular com
+ * a EntityManagerFactory durante o arranque.
+ */
+@Component
+public class TeamTaskStatsListener {
+
+    @Autowired
+    private ObjectProvider<TeamStatsAggregate> teamStatsAggregate;
+
+    @PostLoad
+    public void onLoad(Task task) {
+        task.markStatsState();
+    }
+
+    @PostPersist
+    public void onPersist(Task task) {
+        teamStatsAggregate.getObject().taskChanged(null, null, task.getAssignedTeamId(), task.getStatus());
+        task.markStatsState();
+    }
+
+    @PostUpdate
+    public void onUpdate(Task task) {
+        teamStatsAggregate.getObject().taskChanged(task.getStatsTeamId(), task.getStatsStatus(),
+            task.getAssignedTeamId(), task.getStatus());
+        task.markStatsState();
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        teamStatsAggregate.getObject().taskChanged(task.getStatsTeamId(), task.getStatsStatus(), null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.gestortarefas.service;
+
+import com.gestortarefas.model.TaskComment;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PreRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Listener JPA de TaskComment que mantém os contadores de não lidos, seja qual for o
+ * caminho que grava o comentário (chat, mensagens do sistema, operações em lote).
+ * Os contadores são atualizados por JDBC na mesma transação.
+ */
+@Component
+public class UnreadCommentCounterListener {
+
+    @Autowired
+    private ObjectProvider<UnreadCommentCounters> unreadCommentCounters;
+
+    @PostPersist
+    public void onCreate(TaskComment comment) {
+        unreadCommentCounters.getObject().commentAdded(comment.getTask().getId());
+    }
+
+    // Antes do DELETE, enquanto a linha ainda existe para saber a quem estava por ler
+    @PreRemove
+    public void onRemove(TaskComment comment) {
+        unreadCommentCounters.getObject().commentsRemoved(List.of(comment.getId()));
+    }
+}
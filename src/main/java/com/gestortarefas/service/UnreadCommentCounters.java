@@ -0,0 +1,163 @@
+package com.gestortarefas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores materializados de comentários não lidos (task_unread_counters), para que os
+ * dashboards leiam as contagens por chave em vez de contar comentários a cada pedido.
+ *
+ * Cada comentário novo incrementa o contador de todos os que podem ver a tarefa
+ * (responsável, criador, membros e gerente da equipa atribuída, administradores); quem
+ * ainda não tem contador recebe-o com os comentários posteriores à sua última leitura.
+ * Eliminar um comentário ainda não lido decrementa-os e marcar como lido repõe o do
+ * utilizador a zero. A leitura é só uma consulta por chave: sem contador, nada por ler.
+ * No arranque são criados os contadores que faltam para as tarefas com comentários.
+ *
+ * Comentários novos ou eliminados atribuem também um novo changeSeq à tarefa, para que os
+ * clientes que sincronizam por /api/tasks/changes (sem ligação de eventos) atualizem as
+ * contagens da linha sem esperar pelo refresh completo. Marcar como lido não o faz: só
+ * muda a contagem de quem leu, e o cliente atualiza a sua linha a seguir.
+ *
+ * Transacional para que o JdbcTemplate use a ligação já aberta pela sessão JPA do pedido
+ * (open-in-view) em vez de pedir uma segunda ao pool.
+ */
+@Component
+@Transactional
+public class UnreadCommentCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCommentCounters.class);
+
+    // Pares (tarefa, utilizador) de quem pode ver as tarefas que cumprem a condição "%1$s"
+    // (sobre t); UNION para que cada par apareça uma só vez
+    private static final String VISIBLE_USERS =
+        "SELECT t.id AS task_id, t.user_id AS user_id FROM tasks t WHERE %1$s " +
+        "UNION SELECT t.id, t.created_by_user_id FROM tasks t WHERE t.created_by_user_id IS NOT NULL AND %1$s " +
+        "UNION SELECT t.id, ut.user_id FROM tasks t JOIN user_teams ut ON ut.team_id = t.assigned_team_id WHERE %1$s " +
+        "UNION SELECT t.id, tm.manager_id FROM tasks t JOIN teams tm ON tm.id = t.assigned_team_id " +
+        "WHERE tm.manager_id IS NOT NULL AND %1$s " +
+        "UNION SELECT t.id, u.id FROM tasks t CROSS JOIN users u WHERE u.user_role = 'ADMINISTRADOR' AND %1$s";
+
+    // Comentários da tarefa v.task_id posteriores à última leitura de v.user_id
+    private static final String UNREAD_SINCE_LAST_READ =
+        "(SELECT COUNT(*) FROM task_comments c WHERE c.task_id = v.task_id AND c.created_at > COALESCE(" +
+        "(SELECT r.last_read_at FROM task_comment_reads r WHERE r.task_id = v.task_id AND r.user_id = v.user_id), " +
+        "TIMESTAMP '1900-01-01 00:00:00'))";
+
+    private static final String COMMENT_ADDED = "INSERT INTO task_unread_counters (user_id, task_id, unread_count) " +
+        "SELECT v.user_id, v.task_id, " + UNREAD_SINCE_LAST_READ + " FROM (" + String.format(VISIBLE_USERS, "t.id = ?") +
+        ") v ON DUPLICATE KEY UPDATE unread_count = unread_count + 1";
+
+    private static final String BACKFILL = "INSERT INTO task_unread_counters (user_id, task_id, unread_count) " +
+        "SELECT v.user_id, v.task_id, " + UNREAD_SINCE_LAST_READ + " FROM (" +
+        String.format(VISIBLE_USERS, "EXISTS (SELECT 1 FROM task_comments tc WHERE tc.task_id = t.id)") + ") v " +
+        "WHERE NOT EXISTS (SELECT 1 FROM task_unread_counters x WHERE x.user_id = v.user_id AND x.task_id = v.task_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskChangeSequence taskChangeSequence;
+
+    /**
+     * Cria os contadores em falta das tarefas com comentários: bases de dados anteriores
+     * a estes contadores (eram criados na primeira leitura) ou comentários inseridos por SQL
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int created = jdbcTemplate.update(BACKFILL);
+        if (created > 0) {
+            logger.info("Criados {} contadores de comentários não lidos", created);
+        }
+    }
+
+    /**
+     * Não lidos por tarefa (só as que têm comentários por ler)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getUnreadCounts(Long userId, Collection<Long> taskIds) {
+        Map<Long, Long> unread = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return unread;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        jdbcTemplate.query("SELECT task_id, unread_count FROM task_unread_counters WHERE user_id = ? AND task_id IN (" +
+            placeholders(ids.size()) + ") AND unread_count > 0", rs -> {
+                unread.put(rs.getLong(1), (long) rs.getInt(2));
+            }, prepend(userId, ids));
+        return unread;
+    }
+
+    /**
+     * Um comentário novo na tarefa (já inserido): mais um não lido para cada um dos que a
+     * podem ver
+     */
+    public void commentAdded(Long taskId) {
+        jdbcTemplate.update(COMMENT_ADDED, taskId, taskId, taskId, taskId, taskId);
+        jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id = ?", taskChangeSequence.next(), taskId);
+    }
+
+    /**
+     * Comentários a eliminar (chamar antes do DELETE): decrementa os contadores de quem
+     * ainda não os tinha lido
+     */
+    public void commentsRemoved(List<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
+        }
+        String in = placeholders(commentIds.size());
+        List<Object> args = new ArrayList<>(commentIds);
+        args.addAll(commentIds);
+        jdbcTemplate.update("UPDATE task_unread_counters SET unread_count = GREATEST(0, unread_count - " +
+            "(SELECT COUNT(*) FROM task_comments c WHERE c.id IN (" + in + ") " +
+            "AND c.task_id = task_unread_counters.task_id AND c.created_at > COALESCE(" +
+            "(SELECT r.last_read_at FROM task_comment_reads r WHERE r.task_id = task_unread_counters.task_id " +
+            "AND r.user_id = task_unread_counters.user_id), TIMESTAMP '1900-01-01 00:00:00'))) " +
+            "WHERE task_id IN (SELECT task_id FROM task_comments WHERE id IN (" + in + "))", args.toArray());
+        jdbcTemplate.update("UPDATE tasks SET change_seq = ? WHERE id IN (SELECT task_id FROM task_comments WHERE id IN (" +
+            in + "))", prepend(taskChangeSequence.next(), commentIds));
+    }
+
+    /**
+     * O utilizador leu os comentários da tarefa
+     */
+    public void markRead(Long userId, Long taskId) {
+        jdbcTemplate.update("INSERT INTO task_unread_counters (user_id, task_id, unread_count) VALUES (?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE unread_count = 0", userId, taskId);
+    }
+
+    /**
+     * Tarefas eliminadas definitivamente
+     */
+    public void tasksRemoved(List<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM task_unread_counters WHERE task_id IN (" + placeholders(taskIds.size()) + ")",
+                taskIds.toArray());
+        }
+    }
+
+    private static Object[] prepend(Object first, List<Long> ids) {
+        List<Object> args = new ArrayList<>();
+        args.add(first);
+        args.addAll(ids);
+        return args.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -3,6 +3,7 @@ package com.gestortarefas.service;
 import com.gestortarefas.model.User;
 import com.gestortarefas.model.Team;
 import com.gestortarefas.model.UserRole;
+import com.gestortarefas.repository.ArchivedTaskRepository;
 import com.gestortarefas.repository.UserRepository;
 import com.gestortarefas.repository.TeamRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,9 +29,24 @@ public class UserService {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TeamStatsAggregate teamStatsAggregate;
+
+    @Autowired
+    private TaskEventPublisher taskEventPublisher;
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private DataVersion dataVersion;
+
     /**
      * Autentica um utilizador
      */
@@ -178,6 +194,7 @@ public class UserService {
             
             if (teamId != null) {
                 // Remover utilizador de todas as equipas atuais
+                existingUser.getTeams().forEach(team -> membershipChanged(team.getId()));
                 existingUser.getTeams().clear();
                 
                 // Adicionar à nova equipa
@@ -185,10 +202,12 @@ public class UserService {
                 if (teamOpt.isPresent()) {
                     Team team = teamOpt.get();
                     existingUser.addToTeam(team);
+                    membershipChanged(team.getId());
                 }
             }
         } else {
             // Se não há teamId ou é null, remover de todas as equipas
+            existingUser.getTeams().forEach(team -> membershipChanged(team.getId()));
             existingUser.getTeams().clear();
         }
 
@@ -289,11 +308,22 @@ public class UserService {
         }
 
         User user = userOpt.get();
-        if (!user.getTasks().isEmpty()) {
+        if (!user.getTasks().isEmpty() || archivedTaskRepository.existsByUserId(userId)) {
             throw new IllegalStateException("Não é possível eliminar utilizador com tarefas associadas");
         }
 
+        user.getTeams().forEach(team -> membershipChanged(team.getId()));
         userRepository.delete(user);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Membros de uma equipa alterados: estatísticas, destinatários dos eventos e versão dos dados
+     */
+    private void membershipChanged(Long teamId) {
+        membershipIndex.teamChanged(teamId);
+        teamStatsAggregate.membershipChanged(teamId);
+        taskEventPublisher.membershipChanged(teamId);
+        dataVersion.changed();
+    }
+}
@@ -0,0 +1,54 @@
+package com.gestortarefas.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+/**
+ * CLI tool to stream a CSV or NDJSON file to POST /api/import/{type}.
+ * The file is sent without being loaded into memory and the server's progress lines
+ * are printed as each batch is committed.
+ *
+ * Usage: java com.gestortarefas.tools.ImportCli <tasks|users|teams> <file> <adminUser> <password> [baseUrl]
+ * The format comes from the file extension (.csv, .ndjson or .jsonl).
+ */
+public class ImportCli {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.out.println("Usage: java com.gestortarefas.tools.ImportCli <tasks|users|teams> <file> <adminUser> <password> [baseUrl]");
+            System.exit(1);
+        }
+
+        String type = args[0];
+        Path file = Path.of(args[1]);
+        String baseUrl = args.length > 4 ? args[4] : "http://localhost:8080";
+        String name = file.getFileName().toString().toLowerCase();
+        String format = name.endsWith(".csv") ? "csv" : "ndjson";
+        String credentials = Base64.getEncoder()
+            .encodeToString((args[2] + ":" + args[3]).getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("Importing " + type + " from " + file + " (" + Files.size(file) + " bytes, " + format + ")");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/import/" + type + "?format=" + format))
+            .header("Authorization", "Basic " + credentials)
+            .header("Content-Type", format.equals("csv") ? "text/csv" : "application/x-ndjson")
+            .POST(HttpRequest.BodyPublishers.ofFile(file))
+            .build();
+
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+            .send(request, HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            lines.forEach(System.out::println);
+        }
+        if (response.statusCode() != 200) {
+            System.out.println("Import failed: HTTP " + response.statusCode());
+            System.exit(2);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Utilitário para exportação de dados para CSV
@@ -22,9 +23,13 @@ public class CSVExporter {
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     /**
-     * Exporta lista de tarefas para ficheiro CSV
+     * Exporta as tarefas que satisfazem os filtros (os mesmos de GET /api/tasks) para CSV.
+     * O servidor gera o ficheiro em streaming (GET /api/tasks/export) e a resposta é
+     * copiada diretamente para o ficheiro escolhido, em segundo plano.
+     *
+     * @return false se o utilizador cancelar a escolha do ficheiro
      */
-    public static boolean exportTasks(Component parent, List<Map<String, Object>> tasks, String username) {
+    public static boolean exportTasks(Component parent, Map<String, String> filters, String username) {
         // Escolher localização do ficheiro
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Exportar Tarefas para CSV");
@@ -40,63 +45,43 @@ public class CSVExporter {
             return false;
         }
         
-        File file = fileChooser.getSelectedFile();
-        if (!file.getName().toLowerCase().endsWith(".csv")) {
-            file = new File(file.getParentFile(), file.getName() + ".csv");
-        }
+        File selected = fileChooser.getSelectedFile();
+        File file = selected.getName().toLowerCase().endsWith(".csv")
+            ? selected : new File(selected.getParentFile(), selected.getName() + ".csv");
         
-        try {
-            exportTasksToFile(tasks, file);
-            
-            // Mostrar mensagem de sucesso e opção para abrir ficheiro
-            int openResult = JOptionPane.showConfirmDialog(parent,
-                "Tarefas exportadas com sucesso para:\n" + file.getAbsolutePath() +
-                "\n\nDeseja abrir o ficheiro?",
-                "Exportação Concluída",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.INFORMATION_MESSAGE);
-                
-            if (openResult == JOptionPane.YES_OPTION) {
-                Desktop.getDesktop().open(file);
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return new RestApiClient().downloadTasksExport(filters, "csv", file);
             }
-            
-            return true;
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(parent,
-                "Erro ao exportar tarefas:\n" + e.getMessage(),
-                "Erro na Exportação",
-                JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
-    }
 
-    /**
-     * Exporta tarefas para ficheiro específico
-     */
-    private static void exportTasksToFile(List<Map<String, Object>> tasks, File file) throws IOException {
-        try (FileWriter writer = new FileWriter(file, java.nio.charset.StandardCharsets.UTF_8);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
-            
-            // Escrever cabeçalho manualmente
-            csvPrinter.printRecord("ID", "Título", "Descrição", "Status", "Prioridade", 
-                "Data Criação", "Data Limite", "Data Conclusão", "Utilizador", "Atrasada");
-            
-            for (Map<String, Object> task : tasks) {
-                csvPrinter.printRecord(
-                    task.get("id"),
-                    task.get("title"),
-                    task.get("description"),
-                    task.get("statusDisplay"),
-                    task.get("priorityDisplay"),
-                    formatDateTime((String) task.get("createdAt")),
-                    formatDateTime((String) task.get("dueDate")),
-                    formatDateTime((String) task.get("completedAt")),
-                    task.get("username"),
-                    task.get("isOverdue") != null && (Boolean) task.get("isOverdue") ? "Sim" : "Não"
-                );
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    
+                    // Mostrar mensagem de sucesso e opção para abrir ficheiro
+                    int openResult = JOptionPane.showConfirmDialog(parent,
+                        "Tarefas exportadas com sucesso para:\n" + file.getAbsolutePath() +
+                        "\n\nDeseja abrir o ficheiro?",
+                        "Exportação Concluída",
+                        JOptionPane.YES_NO_OPTION,
+                        JOptionPane.INFORMATION_MESSAGE);
+                        
+                    if (openResult == JOptionPane.YES_OPTION) {
+                        Desktop.getDesktop().open(file);
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(parent,
+                        "Erro ao exportar tarefas:\n" + cause.getMessage(),
+                        "Erro na Exportação",
+                        JOptionPane.ERROR_MESSAGE);
+                }
             }
-        }
+        }.execute();
+        
+        return true;
     }
 
     /**
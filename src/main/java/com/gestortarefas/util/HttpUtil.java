@@ -9,6 +9,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -24,20 +26,43 @@ public class HttpUtil {
     private static final ObjectMapper objectMapper = new ObjectMapper()
         .registerModule(new JavaTimeModule());
 
+    // Última resposta 200 com ETag de cada URL (LRU), devolvida quando o servidor responde 304
+    private static final int CONDITIONAL_CACHE_SIZE = 32;
+    private static final Map<String, HttpResponse<String>> conditionalCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HttpResponse<String>> eldest) {
+                return size() > CONDITIONAL_CACHE_SIZE;
+            }
+        });
+
     /**
-     * Executa uma requisição GET
+     * Executa uma requisição GET (condicional: se o servidor responder 304,
+     * devolve a resposta anterior guardada para o mesmo URL)
      */
     public static HttpResponse<String> get(String endpoint) throws IOException, InterruptedException {
         String fullUrl = BASE_URL + endpoint;
         System.out.println("HttpUtil: GET " + fullUrl);
         
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpResponse<String> cached = conditionalCache.get(fullUrl);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
             .uri(URI.create(fullUrl))
             .timeout(Duration.ofSeconds(30))
-            .GET()
-            .build();
+            .GET();
+        if (cached != null) {
+            cached.headers().firstValue("ETag").ifPresent(etag -> builder.header("If-None-Match", etag));
+        }
             
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 304 && cached != null) {
+            System.out.println("HttpUtil: Not modified, using cached response");
+            return cached;
+        }
+        if (response.statusCode() == 200 && response.headers().firstValue("ETag").isPresent()) {
+            conditionalCache.put(fullUrl, response);
+        } else {
+            conditionalCache.remove(fullUrl);
+        }
         System.out.println("HttpUtil: Response status: " + response.statusCode() + ", body length: " + 
             (response.body() != null ? response.body().length() : "null"));
         
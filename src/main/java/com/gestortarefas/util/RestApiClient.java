@@ -5,8 +5,15 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.http.*;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +23,18 @@ import java.util.Map;
 public class RestApiClient {
     
     private static final String BASE_URL = "http://localhost:8080/api";
+    private static final int CONDITIONAL_CACHE_SIZE = 32;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+
+    // Último corpo (JSON) e ETag de cada URL consultado com getConditional (LRU)
+    private final Map<String, CachedResponse> conditionalCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > CONDITIONAL_CACHE_SIZE;
+            }
+        });
     
     public RestApiClient() {
         // Configurar timeouts para evitar problemas de conexão
@@ -66,8 +83,7 @@ public class RestApiClient {
     public Map<String, Object> getEmployeeDashboard(Long userId) {
         try {
             String url = BASE_URL + "/dashboard/employee/" + userId;
-            ResponseEntity<?> response = restTemplate.getForEntity(url, Map.class);
-            return (Map<String, Object>) response.getBody();
+            return getConditional(url, Map.class);
         } catch (Exception e) {
             System.err.println("Erro ao buscar dashboard do funcionário: " + e.getMessage());
             return null;
@@ -81,8 +97,7 @@ public class RestApiClient {
     public Map<String, Object> getManagerDashboard(Long userId) {
         try {
             String url = BASE_URL + "/dashboard/manager/" + userId;
-            ResponseEntity<?> response = restTemplate.getForEntity(url, Map.class);
-            return (Map<String, Object>) response.getBody();
+            return getConditional(url, Map.class);
         } catch (Exception e) {
             System.err.println("Erro ao buscar dashboard do gerente: " + e.getMessage());
             return null;
@@ -112,8 +127,7 @@ public class RestApiClient {
         try {
             String url = BASE_URL + "/dashboard/admin/" + userId;
             System.out.println("RestApiClient: Calling " + url);
-            ResponseEntity<?> response = restTemplate.getForEntity(url, Map.class);
-            Map<String, Object> result = (Map<String, Object>) response.getBody();
+            Map<String, Object> result = getConditional(url, Map.class);
             System.out.println("RestApiClient: Response received, completed tasks: " + ((List<?>) result.get("completed")).size());
             return result;
         } catch (Exception e) {
@@ -147,8 +161,7 @@ public class RestApiClient {
     public List<Map<String, Object>> getAllTeams() {
         try {
             String url = BASE_URL + "/teams";
-            ResponseEntity<?> response = restTemplate.getForEntity(url, List.class);
-            return (List<Map<String, Object>>) response.getBody();
+            return getConditional(url, List.class);
         } catch (Exception e) {
             System.err.println("Erro ao listar equipas: " + e.getMessage());
             return null;
@@ -162,8 +175,7 @@ public class RestApiClient {
     public List<Map<String, Object>> getTeamsSummary() {
         try {
             String url = BASE_URL + "/teams/summary";
-            ResponseEntity<?> response = restTemplate.getForEntity(url, List.class);
-            return (List<Map<String, Object>>) response.getBody();
+            return getConditional(url, List.class);
         } catch (Exception e) {
             System.err.println("Erro ao listar resumo de equipas: " + e.getMessage());
             return null;
@@ -274,8 +286,7 @@ public class RestApiClient {
     public List<Map<String, Object>> getAllUsers() {
         try {
             String url = BASE_URL + "/users?includeInactive=true";
-            ResponseEntity<?> response = restTemplate.getForEntity(url, Map.class);
-            Map<String, Object> result = (Map<String, Object>) response.getBody();
+            Map<String, Object> result = getConditional(url, Map.class);
             if (result != null && result.containsKey("users")) {
                 return (List<Map<String, Object>>) result.get("users");
             }
@@ -364,14 +375,28 @@ public class RestApiClient {
                 }
             }
             
-            ResponseEntity<?> response = restTemplate.getForEntity(url.toString(), Map.class);
-            return (Map<String, Object>) response.getBody();
+            return getConditional(url.toString(), Map.class);
         } catch (Exception e) {
             System.err.println("Erro ao listar tarefas com filtros: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Descarrega GET /api/tasks/export (format = csv | ndjson) diretamente para o ficheiro,
+     * sem carregar as tarefas em memória. Devolve o número de bytes escritos.
+     */
+    public long downloadTasksExport(Map<String, String> filters, String format, File file) throws IOException {
+        UriComponentsBuilder url = UriComponentsBuilder.fromUriString(BASE_URL + "/tasks/export")
+            .queryParam("format", format);
+        if (filters != null) {
+            filters.forEach(url::queryParam);
+        }
+        Long bytes = restTemplate.execute(url.build().encode().toUri(), HttpMethod.GET, null,
+            response -> Files.copy(response.getBody(), file.toPath(), StandardCopyOption.REPLACE_EXISTING));
+        return bytes != null ? bytes : 0;
+    }
+
     /**
      * Obtém tarefa por ID
      */
@@ -387,6 +412,57 @@ public class RestApiClient {
         }
     }
     
+    /**
+     * Busca uma tarefa no formato do dashboard do utilizador: as colunas pending/today/
+     * overdue/completed contêm a tarefa apenas onde ela deve aparecer
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getDashboardTask(Long taskId, Long userId) {
+        try {
+            String url = BASE_URL + "/dashboard/task/" + taskId + "/" + userId;
+            ResponseEntity<?> response = restTemplate.getForEntity(url, Map.class);
+            return (Map<String, Object>) response.getBody();
+        } catch (Exception e) {
+            System.err.println("Erro ao obter tarefa do dashboard: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Alterações de tarefas desde um token (/api/tasks/changes): "tasks" a inserir ou
+     * substituir, IDs em "removed" a retirar e o "nextToken" para o pedido seguinte
+     *
+     * @param since Token de uma listagem (changesToken) ou de uma chamada anterior
+     * @param filters Mesmos filtros de getAllTasks (ordenação e cursor são ignorados)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getTaskChanges(String since, Map<String, String> filters) {
+        try {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + "/tasks/changes")
+                .queryParam("since", since);
+            if (filters != null) {
+                filters.forEach(builder::queryParam);
+            }
+            ResponseEntity<?> response = restTemplate.getForEntity(builder.build().encode().toUri(), Map.class);
+            return (Map<String, Object>) response.getBody();
+        } catch (Exception e) {
+            System.err.println("Erro ao obter alterações de tarefas: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Subscreve os eventos de alteração do utilizador (/api/events).
+     * A subscrição volta a ligar sozinha; deve ser fechada com close() ao sair.
+     */
+    public ServerEventSubscription subscribeToEvents(Long userId, ServerEventSubscription.Listener listener) {
+        ServerEventSubscription subscription =
+            new ServerEventSubscription(BASE_URL + "/events?userId=" + userId, objectMapper);
+        subscription.addListener(listener);
+        subscription.start();
+        return subscription;
+    }
+    
     /**
      * Atualiza status de uma tarefa
      */
@@ -666,6 +742,31 @@ public class RestApiClient {
         }
     }
     
+    /**
+     * Página de comentários de uma tarefa: com before (ou nenhum cursor) os anteriores a
+     * esse id, mais recentes primeiro; com after os novos desde esse id, mais antigos
+     * primeiro. A resposta inclui "hasMore" e o "total" de comentários da tarefa.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getTaskCommentsPage(Long taskId, Long before, Long after, int limit) {
+        try {
+            UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(BASE_URL + "/tasks/" + taskId + "/comments")
+                .queryParam("limit", limit);
+            if (before != null) {
+                builder.queryParam("before", before);
+            }
+            if (after != null) {
+                builder.queryParam("after", after);
+            }
+            ResponseEntity<?> response = restTemplate.getForEntity(builder.build().toUri(), Map.class);
+            return (Map<String, Object>) response.getBody();
+        } catch (Exception e) {
+            System.err.println("Erro ao buscar comentários da tarefa: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Adiciona comentário a uma tarefa
      */
@@ -790,4 +891,41 @@ public class RestApiClient {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * GET condicional: envia o ETag da última resposta (If-None-Match) e, se o servidor
+     * responder 304, reutiliza o corpo guardado em vez de o voltar a transferir.
+     */
+    private <T> T getConditional(String url, Class<T> type) throws IOException {
+        CachedResponse cached = conditionalCache.get(url);
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag);
+        }
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        String body;
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            body = cached.body;
+        } else {
+            body = response.getBody();
+            String etag = response.getHeaders().getETag();
+            if (etag != null && body != null) {
+                conditionalCache.put(url, new CachedResponse(etag, body));
+            } else {
+                conditionalCache.remove(url);
+            }
+        }
+        return body != null ? objectMapper.readValue(body, type) : null;
+    }
+
+    private static class CachedResponse {
+        private final String etag;
+        private final String body;
+
+        CachedResponse(String etag, String body) {
+            this.etag = etag;
+            this.body = body;
+        }
+    }
+}
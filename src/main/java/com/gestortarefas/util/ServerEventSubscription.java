@@ -0,0 +1,195 @@
+package com.gestortarefas.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Subscrição do stream de eventos do servidor (/api/events, Server-Sent Events).
+ *
+ * A leitura corre numa thread daemon própria que volta a ligar automaticamente,
+ * com espera crescente, quando a ligação cai. Os listeners são chamados nessa
+ * thread: quem atualiza componentes Swing deve usar SwingUtilities.invokeLater.
+ */
+public class ServerEventSubscription implements AutoCloseable {
+
+    private static final long INITIAL_RETRY_DELAY_MS = 1000;
+    private static final long MAX_RETRY_DELAY_MS = 30000;
+
+    /**
+     * Recebe os eventos e as mudanças de estado da ligação
+     */
+    public interface Listener {
+        void onEvent(String type, Map<String, Object> data);
+
+        default void onConnectionChanged(boolean connected) {
+        }
+    }
+
+    private final String url;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile InputStream body;
+
+    ServerEventSubscription(String url, ObjectMapper objectMapper) {
+        this.url = url;
+        this.objectMapper = objectMapper;
+        this.thread = new Thread(this::run, "gestor-eventos");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Indica se a ligação está ativa (enquanto não estiver, os clientes usam o refresh periódico)
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        InputStream current = body;
+        if (current != null) {
+            try {
+                current.close(); // desbloqueia a leitura em curso
+            } catch (IOException e) {
+                // a ligação já estava fechada
+            }
+        }
+    }
+
+    private void run() {
+        long retryDelay = INITIAL_RETRY_DELAY_MS;
+        while (!closed) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                body = response.body();
+                if (response.statusCode() != 200) {
+                    body.close();
+                    throw new IOException("HTTP " + response.statusCode());
+                }
+                retryDelay = INITIAL_RETRY_DELAY_MS;
+                readEvents(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                if (!closed && connected) {
+                    System.err.println("Ligação de eventos perdida: " + e);
+                }
+            }
+
+            setConnected(false);
+            if (closed) {
+                break;
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                break;
+            }
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+        }
+    }
+
+    /**
+     * Lê eventos no formato SSE: linhas "event:" e "data:" terminadas por uma linha vazia;
+     * linhas começadas por ":" são comentários (heartbeat)
+     */
+    private void readEvents(BufferedReader reader) throws IOException {
+        String type = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (!closed && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    dispatch(type != null ? type : "message", data.toString());
+                }
+                type = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                type = fieldValue(line, 6);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(fieldValue(line, 5));
+            }
+        }
+    }
+
+    private static String fieldValue(String line, int prefixLength) {
+        String value = line.substring(prefixLength);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(String type, String json) {
+        Map<String, Object> data;
+        try {
+            data = objectMapper.readValue(json, Map.class);
+        } catch (IOException e) {
+            data = new HashMap<>();
+        }
+
+        // O servidor envia "connected" assim que a subscrição fica registada
+        if ("connected".equals(type)) {
+            setConnected(true);
+            return;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onEvent(type, data);
+            } catch (Exception e) {
+                System.err.println("Erro ao processar evento " + type + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void setConnected(boolean value) {
+        if (connected == value) {
+            return;
+        }
+        connected = value;
+        for (Listener listener : listeners) {
+            listener.onConnectionChanged(value);
+        }
+    }
+}
@@ -15,6 +15,8 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -42,6 +44,15 @@ public class AdminDashboardPanel extends DashboardBasePanel {
     private JComboBox<String> sortByCombo;
     private JComboBox<String> sortDirectionCombo;
     
+    // Paginação por cursor da tabela de tarefas
+    private JButton prevPageBtn;
+    private JButton nextPageBtn;
+    private JLabel pageInfoLabel;
+    private final Deque<String> previousCursors = new ArrayDeque<>(); // cursores das páginas anteriores
+    private String currentCursor = "";
+    private String nextCursor;
+    private String tasksChangesToken; // sincronização por delta da página mostrada (/api/tasks/changes)
+    
     // Labels para estatísticas globais
     private JLabel totalUsersLabel;
     private JLabel totalTeamsLabel;
@@ -208,7 +219,7 @@ public class AdminDashboardPanel extends DashboardBasePanel {
         newTaskBtn.addActionListener(e -> createNewTask());
         
         JButton refreshTasksBtn = new JButton("🔄 Atualizar");
-        refreshTasksBtn.addActionListener(e -> loadAllTasks());
+        refreshTasksBtn.addActionListener(e -> syncAllTasks());
         
         JButton exportTasksBtn = new JButton("📤 Exportar");
         exportTasksBtn.addActionListener(e -> exportAllTasks());
@@ -564,6 +575,17 @@ public class AdminDashboardPanel extends DashboardBasePanel {
         });
     }
     
+    /**
+     * Além das colunas do dashboard, mantém atualizada a página do separador de tarefas
+     */
+    @Override
+    protected void handleServerEvent(String type, Map<String, Object> data) {
+        super.handleServerEvent(type, data);
+        if (type.startsWith("task.") && tasksTableModel != null) {
+            syncAllTasks();
+        }
+    }
+    
     /**
      * Mostra modo demo quando a API não funciona
      */
@@ -1321,62 +1343,22 @@ public class AdminDashboardPanel extends DashboardBasePanel {
     }
     
     private void exportAllTasks() {
-        try {
-            System.out.println("AdminDashboard: Iniciando exportação CSV...");
-            
-            // Obter todas as tarefas da API (sem filtros para exportação completa)
-            Map<String, Object> response = apiClient.getAllTasks(new HashMap<>());
-
-            System.out.println("AdminDashboard: Resposta da API: " + (response != null ? "OK" : "NULL"));
-
-            if (response != null && (Boolean) response.get("success")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> tasks = (List<Map<String, Object>>) response.get("tasks");
-
-                System.out.println("AdminDashboard: Tarefas obtidas: " + (tasks != null ? tasks.size() : 0));
-
-                if (tasks != null && !tasks.isEmpty()) {
-                    // Debug: mostrar estrutura da primeira tarefa
-                    if (!tasks.isEmpty()) {
-                        System.out.println("AdminDashboard: Estrutura da primeira tarefa: " + tasks.get(0).keySet());
-                    }
-                    
-                    // Usar o CSVExporter para exportar as tarefas
-                    String username = "admin"; // Username padrão
-                    if (adminInfoLabel != null && adminInfoLabel.getText() != null) {
-                        String labelText = adminInfoLabel.getText();
-                        if (labelText.contains("(")) {
-                            username = labelText.substring(0, labelText.indexOf("(")).trim();
-                        }
-                    }
-                    boolean success = CSVExporter.exportTasks(this, tasks, username);
-
-                    if (success) {
-                        System.out.println("AdminDashboard: Exportação CSV concluída com sucesso");
-                    } else {
-                        System.out.println("AdminDashboard: Exportação CSV cancelada pelo utilizador");
-                    }
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                        "Não há tarefas para exportar.",
-                        "Exportação CSV",
-                        JOptionPane.INFORMATION_MESSAGE);
-                }
-            } else {
-                System.err.println("AdminDashboard: Erro na resposta da API: " + response);
-                JOptionPane.showMessageDialog(this,
-                    "Erro ao obter tarefas para exportação.",
-                    "Erro na Exportação",
-                    JOptionPane.ERROR_MESSAGE);
+        System.out.println("AdminDashboard: Iniciando exportação CSV...");
+        
+        // Usar o CSVExporter para exportar as tarefas (sem filtros para exportação completa)
+        String username = "admin"; // Username padrão
+        if (adminInfoLabel != null && adminInfoLabel.getText() != null) {
+            String labelText = adminInfoLabel.getText();
+            if (labelText.contains("(")) {
+                username = labelText.substring(0, labelText.indexOf("(")).trim();
             }
+        }
+        boolean started = CSVExporter.exportTasks(this, new HashMap<>(), username);
 
-        } catch (Exception e) {
-            System.err.println("Erro na exportação CSV: " + e.getMessage());
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                "Erro ao exportar tarefas: " + e.getMessage(),
-                "Erro na Exportação",
-                JOptionPane.ERROR_MESSAGE);
+        if (started) {
+            System.out.println("AdminDashboard: Exportação CSV iniciada (streaming do servidor)");
+        } else {
+            System.out.println("AdminDashboard: Exportação CSV cancelada pelo utilizador");
         }
     }
     
@@ -1559,12 +1541,13 @@ public class AdminDashboardPanel extends DashboardBasePanel {
                 task.getId(),
                 task.getTitle(),
                 currentUserId,
-                apiClient
+                apiClient,
+                eventSubscription
             );
             commentsDialog.setVisible(true);
 
             if (commentsDialog.isMarkedAsRead()) {
-                refreshDashboard();
+                patchTaskRow(task.getId());
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -1666,33 +1649,45 @@ public class AdminDashboardPanel extends DashboardBasePanel {
         JPanel paginationPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         paginationPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
         
-        JButton prevBtn = new JButton("◀ Anterior");
-        prevBtn.addActionListener(e -> previousPage());
+        prevPageBtn = new JButton("◀ Anterior");
+        prevPageBtn.addActionListener(e -> previousPage());
+        prevPageBtn.setEnabled(false);
         
-        JLabel pageInfo = new JLabel("Página 1 de 1");
+        pageInfoLabel = new JLabel("Página 1");
         
-        JButton nextBtn = new JButton("Próxima ▶");
-        nextBtn.addActionListener(e -> nextPage());
+        nextPageBtn = new JButton("Próxima ▶");
+        nextPageBtn.addActionListener(e -> nextPage());
+        nextPageBtn.setEnabled(false);
         
-        paginationPanel.add(prevBtn);
-        paginationPanel.add(pageInfo);
-        paginationPanel.add(nextBtn);
+        paginationPanel.add(prevPageBtn);
+        paginationPanel.add(pageInfoLabel);
+        paginationPanel.add(nextPageBtn);
         
         return paginationPanel;
     }
     
     /**
-     * Carrega todas as tarefas do sistema
+     * Carrega todas as tarefas do sistema (volta à primeira página)
      */
     private void loadAllTasks() {
+        previousCursors.clear();
+        currentCursor = "";
+        loadTasksPage();
+    }
+    
+    /**
+     * Carrega a página de tarefas indicada por currentCursor (paginação por cursor no servidor)
+     */
+    private void loadTasksPage() {
         SwingUtilities.invokeLater(() -> {
             try {
                 if (tasksTableModel != null) {
                     tasksTableModel.setRowCount(0);
                 }
                 
-                // Fazer chamada à API para buscar todas as tarefas
+                // Fazer chamada à API para buscar a página atual de tarefas
                 Map<String, String> filters = getCurrentFilters();
+                filters.put("cursor", currentCursor);
                 Map<String, Object> response = apiClient.getAllTasks(filters);
                 
                 if (response != null && (Boolean) response.get("success")) {
@@ -1703,6 +1698,12 @@ public class AdminDashboardPanel extends DashboardBasePanel {
                         addTaskToTable(task);
                     }
                     
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> pagination = (Map<String, Object>) response.get("pagination");
+                    nextCursor = pagination != null ? (String) pagination.get("nextCursor") : null;
+                    tasksChangesToken = (String) response.get("changesToken");
+                    updatePaginationControls();
+                    
                     System.out.println("AdminDashboard: Loaded " + tasks.size() + " tasks");
                 }
                 
@@ -1717,10 +1718,76 @@ public class AdminDashboardPanel extends DashboardBasePanel {
         });
     }
     
+    /**
+     * Atualiza a página mostrada apenas com as alterações desde o último carregamento:
+     * substitui as linhas alteradas, retira as eliminadas ou que saíram dos filtros e,
+     * na primeira página ordenada pelas mais recentes, acrescenta as tarefas novas no topo
+     */
+    private void syncAllTasks() {
+        SwingUtilities.invokeLater(() -> {
+            if (tasksChangesToken == null) {
+                loadTasksPage();
+                return;
+            }
+            
+            Map<String, Object> response = apiClient.getTaskChanges(tasksChangesToken, getCurrentFilters());
+            if (response == null || !Boolean.TRUE.equals(response.get("success"))
+                    || Boolean.TRUE.equals(response.get("reset")) || Boolean.TRUE.equals(response.get("hasMore"))) {
+                loadTasksPage();
+                return;
+            }
+            
+            @SuppressWarnings("unchecked")
+            List<Number> removed = (List<Number>) response.get("removed");
+            for (Number taskId : removed) {
+                int row = findTaskRow(taskId.longValue());
+                if (row >= 0) {
+                    tasksTableModel.removeRow(row);
+                }
+            }
+            
+            boolean newestFirstPage = previousCursors.isEmpty()
+                && "createdAt".equals(sortByCombo.getSelectedItem())
+                && "desc".equals(sortDirectionCombo.getSelectedItem());
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> tasks = (List<Map<String, Object>>) response.get("tasks");
+            // Resposta na ordem da listagem: inserir de trás para a frente mantém as novas por ordem
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                Map<String, Object> task = tasks.get(i);
+                Object[] rowData = createTaskRowData(task);
+                int row = findTaskRow(((Number) task.get("id")).longValue());
+                if (row >= 0) {
+                    for (int column = 0; column < rowData.length; column++) {
+                        tasksTableModel.setValueAt(rowData[column], row, column);
+                    }
+                } else if (newestFirstPage) {
+                    tasksTableModel.insertRow(0, rowData);
+                }
+            }
+            
+            tasksChangesToken = (String) response.get("nextToken");
+            System.out.println("AdminDashboard: Synced " + tasks.size() + " changed and " + removed.size() + " removed tasks");
+        });
+    }
+    
+    private int findTaskRow(long taskId) {
+        for (int row = 0; row < tasksTableModel.getRowCount(); row++) {
+            Object id = tasksTableModel.getValueAt(row, 0);
+            if (id instanceof Number && ((Number) id).longValue() == taskId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+    
     /**
      * Adiciona uma tarefa à tabela
      */
     private void addTaskToTable(Map<String, Object> task) {
+        tasksTableModel.addRow(createTaskRowData(task));
+    }
+    
+    private Object[] createTaskRowData(Map<String, Object> task) {
         Object[] rowData = new Object[12];
         
         rowData[0] = task.get("id");
@@ -1755,7 +1822,7 @@ public class AdminDashboardPanel extends DashboardBasePanel {
         rowData[10] = formatDateTime((String) task.get("completedAt"));
         rowData[11] = "Ver Detalhes";
         
-        tasksTableModel.addRow(rowData);
+        return rowData;
     }
     
     /**
@@ -1977,18 +2044,35 @@ public class AdminDashboardPanel extends DashboardBasePanel {
      * Página anterior
      */
     private void previousPage() {
-        // TODO: Implementar paginação quando necessário
-        JOptionPane.showMessageDialog(this, "Funcionalidade de paginação será implementada em breve", 
-                                    "Info", JOptionPane.INFORMATION_MESSAGE);
+        if (previousCursors.isEmpty()) {
+            return;
+        }
+        currentCursor = previousCursors.pop();
+        loadTasksPage();
     }
     
     /**
      * Próxima página
      */
     private void nextPage() {
-        // TODO: Implementar paginação quando necessário
-        JOptionPane.showMessageDialog(this, "Funcionalidade de paginação será implementada em breve", 
-                                    "Info", JOptionPane.INFORMATION_MESSAGE);
+        if (nextCursor == null) {
+            return;
+        }
+        previousCursors.push(currentCursor);
+        currentCursor = nextCursor;
+        loadTasksPage();
+    }
+    
+    /**
+     * Atualiza botões e indicador da paginação
+     */
+    private void updatePaginationControls() {
+        if (pageInfoLabel == null) {
+            return;
+        }
+        pageInfoLabel.setText("Página " + (previousCursors.size() + 1));
+        prevPageBtn.setEnabled(!previousCursors.isEmpty());
+        nextPageBtn.setEnabled(nextCursor != null);
     }
     
     /**
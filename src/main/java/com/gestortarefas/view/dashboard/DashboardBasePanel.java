@@ -1,6 +1,7 @@
 package com.gestortarefas.view.dashboard;
 
 import com.gestortarefas.util.RestApiClient;
+import com.gestortarefas.util.ServerEventSubscription;
 import com.gestortarefas.util.I18nManager;
 import com.gestortarefas.gui.Colors;
 
@@ -18,10 +19,18 @@ import java.util.Map;
  */
 public class DashboardBasePanel extends JPanel {
     
+    // Refresh periódico: 30s sem ligação de eventos; com ligação só reconcilia
+    // as colunas que mudam com a hora (hoje/em atraso) e os totais
+    private static final int POLL_INTERVAL_MS = 30000;
+    private static final int RECONCILE_INTERVAL_MS = 300000;
+    
+    // Sem ligação de eventos, o refresh de 30s pede só as alterações (/api/tasks/changes);
+    // acima deste número de linhas afetadas recarrega o dashboard completo
+    private static final int MAX_PATCHED_ROWS = 20;
+    
     /**
      * Ordena tabela por coluna clicada (alterna entre ascendente/descendente)
      */
-    @SuppressWarnings("unchecked")
     private void sortTableByColumn(JTable table, int column) {
         // Verificar se o modelo é TaskTableModel
         if (!(table.getModel() instanceof TaskTableModel)) {
@@ -29,12 +38,7 @@ public class DashboardBasePanel extends JPanel {
             return;
         }
         
-        TaskTableModel model = (TaskTableModel) table.getModel();
-        
-        // Obter tasks atuais
-        java.util.List<TaskItem> tasks = new java.util.ArrayList<>(model.tasks);
-        
-        if (tasks.isEmpty()) return;
+        if (((TaskTableModel) table.getModel()).tasks.isEmpty()) return;
         
         // Determinar direção de ordenação (alterna entre asc/desc)
         boolean ascending = true;
@@ -47,7 +51,18 @@ public class DashboardBasePanel extends JPanel {
         table.putClientProperty("lastSortColumn", column);
         table.putClientProperty("lastSortAscending", ascending);
         
-        final boolean isAscending = ascending;
+        sortTable(table, column, ascending);
+    }
+    
+    /**
+     * Ordena a tabela pela coluna e direção indicadas (sem alternar)
+     */
+    @SuppressWarnings("unchecked")
+    private void sortTable(JTable table, int column, boolean isAscending) {
+        TaskTableModel model = (TaskTableModel) table.getModel();
+        
+        // Obter tasks atuais
+        java.util.List<TaskItem> tasks = new java.util.ArrayList<>(model.tasks);
         
         // Ordenar tasks baseado na coluna
         Collections.sort(tasks, (t1, t2) -> {
@@ -115,6 +130,12 @@ public class DashboardBasePanel extends JPanel {
     protected RestApiClient apiClient;
     protected Long currentUserId;
     protected Timer refreshTimer;
+    protected ServerEventSubscription eventSubscription;
+    private boolean eventsConnectedBefore = false;
+    private volatile boolean eventsConnected = false;
+    private volatile String changesToken;
+    private volatile long lastFullRefresh;
+    private boolean statsFromColumns = false;
     protected I18nManager i18n;
     
     // Painéis das 4 colunas
@@ -150,6 +171,7 @@ public class DashboardBasePanel extends JPanel {
         initializeComponents();
         setupLayout();
         setupRefreshTimer();
+        subscribeToEvents();
     }
     
     private void initializeComponents() {
@@ -381,11 +403,164 @@ public class DashboardBasePanel extends JPanel {
     }
     
     private void setupRefreshTimer() {
-        // Atualizar a cada 30 segundos
-        refreshTimer = new Timer(30000, e -> refreshDashboard());
+        // Atualizar a cada 30 segundos (até a ligação de eventos estar ativa)
+        refreshTimer = new Timer(POLL_INTERVAL_MS, e -> onRefreshTimer());
         refreshTimer.start();
     }
     
+    private void onRefreshTimer() {
+        if (eventsConnected || changesToken == null
+                || System.currentTimeMillis() - lastFullRefresh >= RECONCILE_INTERVAL_MS) {
+            refreshDashboard();
+        } else {
+            new Thread(this::syncChanges, "dashboard-sync").start();
+        }
+    }
+    
+    /**
+     * Pede as alterações desde o último token e atualiza apenas as linhas afetadas
+     */
+    @SuppressWarnings("unchecked")
+    private void syncChanges() {
+        String token = changesToken;
+        Map<String, Object> changes = apiClient.getTaskChanges(token, getChangesFilters());
+        if (changes == null || !Boolean.TRUE.equals(changes.get("success"))) {
+            return; // o próximo refresh tenta de novo
+        }
+        
+        List<Map<String, Object>> tasks = (List<Map<String, Object>>) changes.get("tasks");
+        List<Number> removed = (List<Number>) changes.get("removed");
+        if (Boolean.TRUE.equals(changes.get("reset")) || Boolean.TRUE.equals(changes.get("hasMore"))
+                || tasks.size() + removed.size() > MAX_PATCHED_ROWS) {
+            refreshDashboard();
+            return;
+        }
+        
+        // A coluna de cada tarefa depende das regras do dashboard: pedida ao servidor linha a linha
+        for (Map<String, Object> task : tasks) {
+            patchTaskRow(((Number) task.get("id")).longValue());
+        }
+        if (!removed.isEmpty()) {
+            SwingUtilities.invokeLater(() -> {
+                removed.forEach(id -> removeTaskRow(id.longValue()));
+                updateColumnCounts();
+            });
+        }
+        
+        // Não substituir um token mais recente de um refresh completo entretanto feito
+        if (token.equals(changesToken)) {
+            changesToken = (String) changes.get("nextToken");
+        }
+    }
+    
+    /**
+     * Filtros do pedido de alterações (por omissão todas as tarefas; as tarefas que não
+     * aparecem no dashboard são ignoradas pelo servidor em /dashboard/task)
+     */
+    protected Map<String, String> getChangesFilters() {
+        return new java.util.HashMap<>();
+    }
+    
+    /**
+     * Subscreve os eventos do servidor: cada alteração atualiza apenas a linha afetada
+     * e o timer fica como recurso
+     */
+    private void subscribeToEvents() {
+        eventSubscription = apiClient.subscribeToEvents(currentUserId, new ServerEventSubscription.Listener() {
+            @Override
+            public void onEvent(String type, Map<String, Object> data) {
+                handleServerEvent(type, data);
+            }
+            
+            @Override
+            public void onConnectionChanged(boolean connected) {
+                SwingUtilities.invokeLater(() -> eventsConnectionChanged(connected));
+            }
+        });
+    }
+    
+    private void eventsConnectionChanged(boolean connected) {
+        if (eventSubscription == null) {
+            return; // painel já fechado
+        }
+        eventsConnected = connected;
+        refreshTimer.setDelay(connected ? RECONCILE_INTERVAL_MS : POLL_INTERVAL_MS);
+        refreshTimer.restart();
+        
+        // Ao voltar a ligar, recuperar as alterações perdidas enquanto esteve desligado
+        if (connected && eventsConnectedBefore) {
+            refreshDashboard();
+        }
+        eventsConnectedBefore |= connected;
+    }
+    
+    /**
+     * Trata um evento do servidor (chamado na thread da subscrição)
+     */
+    protected void handleServerEvent(String type, Map<String, Object> data) {
+        Object taskId = data.get("taskId");
+        if (taskId instanceof Number) {
+            patchTaskRow(((Number) taskId).longValue());
+        } else {
+            // Eventos sem tarefa (ex.: membros de equipa alterados)
+            refreshDashboard();
+        }
+    }
+    
+    /**
+     * Atualiza apenas a linha de uma tarefa nas 4 tabelas
+     */
+    protected void patchTaskRow(Long taskId) {
+        Map<String, Object> taskData = apiClient.getDashboardTask(taskId, currentUserId);
+        if (taskData == null) {
+            return; // o próximo refresh periódico corrige
+        }
+        SwingUtilities.invokeLater(() -> applyTaskRow(taskId, taskData));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void applyTaskRow(Long taskId, Map<String, Object> taskData) {
+        patchTaskTable(pendingTableModel, taskId, (List<Map<String, Object>>) taskData.get("pending"));
+        patchTaskTable(todayTableModel, taskId, (List<Map<String, Object>>) taskData.get("today"));
+        patchTaskTable(overdueTableModel, taskId, (List<Map<String, Object>>) taskData.get("overdue"));
+        patchTaskTable(completedTableModel, taskId, (List<Map<String, Object>>) taskData.get("completed"));
+        updateColumnCounts();
+    }
+    
+    private void removeTaskRow(Long taskId) {
+        pendingTableModel.removeTask(taskId);
+        todayTableModel.removeTask(taskId);
+        overdueTableModel.removeTask(taskId);
+        completedTableModel.removeTask(taskId);
+    }
+    
+    private void updateColumnCounts() {
+        if (statsFromColumns) {
+            pendingCountLabel.setText("Pendentes: " + pendingTableModel.getRowCount());
+            todayCountLabel.setText("Hoje: " + todayTableModel.getRowCount());
+            overdueCountLabel.setText("Atrasadas: " + overdueTableModel.getRowCount());
+            completedCountLabel.setText("Concluídas: " + completedTableModel.getRowCount());
+        }
+    }
+    
+    private void patchTaskTable(TaskTableModel tableModel, Long taskId, List<Map<String, Object>> tasks) {
+        if (tasks != null && !tasks.isEmpty()) {
+            tableModel.putTask(new TaskItem(tasks.get(0)));
+        } else {
+            tableModel.removeTask(taskId);
+        }
+        
+        // Manter a ordenação escolhida pelo utilizador
+        JTable table = getTableForModel(tableModel);
+        if (table != null) {
+            Integer lastSortColumn = (Integer) table.getClientProperty("lastSortColumn");
+            Boolean lastSortAscending = (Boolean) table.getClientProperty("lastSortAscending");
+            if (lastSortColumn != null && lastSortAscending != null) {
+                sortTable(table, lastSortColumn, lastSortAscending);
+            }
+        }
+    }
+    
     /**
      * Método para ser sobrescrito pelas classes filhas
      */
@@ -410,6 +585,10 @@ public class DashboardBasePanel extends JPanel {
      */
     @SuppressWarnings("unchecked")
     protected void updateTaskLists(Map<String, Object> dashboardData) {
+        // Ponto de partida das sincronizações por delta seguintes
+        changesToken = (String) dashboardData.get("changesToken");
+        lastFullRefresh = System.currentTimeMillis();
+        
         SwingUtilities.invokeLater(() -> {
             clearAllLists();
             
@@ -470,6 +649,8 @@ public class DashboardBasePanel extends JPanel {
     @SuppressWarnings("unchecked")
     private void updateStats(Map<String, Object> dashboardData) {
         Map<String, Object> stats = (Map<String, Object>) dashboardData.get("stats");
+        // Contagens iguais ao tamanho das colunas: podem ser atualizadas linha a linha
+        statsFromColumns = stats != null && stats.containsKey("pendingCount");
         if (stats != null) {
             totalTasksLabel.setText("Total: " + getIntValue(stats, "totalTasks"));
             pendingCountLabel.setText("Pendentes: " + getIntValue(stats, "pendingCount"));
@@ -895,17 +1076,18 @@ public class DashboardBasePanel extends JPanel {
                         task.getId(),
                         task.getTitle(),
                         currentUserId,
-                        apiClient
+                        apiClient,
+                        eventSubscription
                     );
 
                 commentsDialog.setVisible(true);
 
                 // Ao fechar o diálogo (o JDialog é modal), marcar os comentários como lidos
-                // e recarregar o dashboard para actualizar as badges
+                // e actualizar a linha da tarefa para actualizar as badges
                 try {
                     boolean ok = apiClient.markCommentsAsRead(task.getId(), currentUserId);
                     if (ok) {
-                        refreshDashboard();
+                        patchTaskRow(task.getId());
                     }
                 } catch (Exception ex) {
                     ex.printStackTrace();
@@ -947,7 +1129,20 @@ public class DashboardBasePanel extends JPanel {
         JOptionPane.showMessageDialog(this, details, "Detalhes da Tarefa", JOptionPane.INFORMATION_MESSAGE);
     }
     
+    /**
+     * Ao sair do ecrã (troca de dashboard, logout) fechar a subscrição de eventos e o timer
+     */
+    @Override
+    public void removeNotify() {
+        cleanup();
+        super.removeNotify();
+    }
+    
     public void cleanup() {
+        if (eventSubscription != null) {
+            eventSubscription.close();
+            eventSubscription = null;
+        }
         if (refreshTimer != null) {
             refreshTimer.stop();
         }
@@ -1013,6 +1208,31 @@ public class DashboardBasePanel extends JPanel {
             return null;
         }
         
+        /**
+         * Substitui a linha da tarefa (mesma posição) ou acrescenta-a no fim
+         */
+        public void putTask(TaskItem task) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).getId().equals(task.getId())) {
+                    tasks.set(i, task);
+                    fireTableRowsUpdated(i, i);
+                    return;
+                }
+            }
+            tasks.add(task);
+            fireTableRowsInserted(tasks.size() - 1, tasks.size() - 1);
+        }
+        
+        public void removeTask(Long taskId) {
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).getId().equals(taskId)) {
+                    tasks.remove(i);
+                    fireTableRowsDeleted(i, i);
+                    return;
+                }
+            }
+        }
+        
         public void setTasks(java.util.List<TaskItem> newTasks) {
             this.tasks.clear();
             if (newTasks != null) {
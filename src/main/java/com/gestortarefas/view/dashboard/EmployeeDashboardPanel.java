@@ -82,6 +82,16 @@ public class EmployeeDashboardPanel extends DashboardBasePanel {
         });
     }
     
+    /**
+     * O dashboard do funcionário só mostra as suas tarefas
+     */
+    @Override
+    protected Map<String, String> getChangesFilters() {
+        Map<String, String> filters = super.getChangesFilters();
+        filters.put("assignedUserId", currentUserId.toString());
+        return filters;
+    }
+    
     private void loadEmployeeData() {
         // Carregar dados iniciais
         refreshDashboard();
@@ -339,14 +349,15 @@ public class EmployeeDashboardPanel extends DashboardBasePanel {
                 task.getId(),
                 task.getTitle(),
                 currentUserId,
-                apiClient
+                apiClient,
+                eventSubscription
             );
             commentsDialog.setVisible(true);
 
             // Se o utilizador marcou os comentários como lidos dentro do diálogo,
-            // recarregar o dashboard para atualizar badges
+            // atualizar a linha da tarefa para atualizar badges
             if (commentsDialog.isMarkedAsRead()) {
-                refreshDashboard();
+                patchTaskRow(task.getId());
             }
         } catch (Exception e) {
             e.printStackTrace();
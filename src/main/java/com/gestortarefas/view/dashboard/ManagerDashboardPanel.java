@@ -1243,12 +1243,13 @@ public class ManagerDashboardPanel extends DashboardBasePanel {
                 task.getId(),
                 task.getTitle(),
                 currentUserId,
-                apiClient
+                apiClient,
+                eventSubscription
             );
             commentsDialog.setVisible(true);
 
             if (commentsDialog.isMarkedAsRead()) {
-                refreshDashboard();
+                patchTaskRow(task.getId());
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -1,6 +1,7 @@
 package com.gestortarefas.view.dialogs;
 
 import com.gestortarefas.util.RestApiClient;
+import com.gestortarefas.util.ServerEventSubscription;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -8,9 +9,12 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.function.Consumer;
 
 /**
  * Diálogo para visualização e adição de comentários nas tarefas (sistema de chat)
@@ -36,14 +40,49 @@ public class TaskCommentsDialog extends JDialog {
     private JLabel statusLabel;
     private JLabel commentCountLabel;
     
+    // Comentários carregados por páginas (mais recentes primeiro); os novos são pedidos
+    // a partir do mais recente e os antigos a partir do mais antigo, ao chegar ao fim da lista
+    private static final int PAGE_SIZE = 50;
+    private Long newestCommentId;
+    private Long oldestCommentId;
+    private boolean hasOlderComments;
+    private boolean loadingComments;
+    private boolean pendingNewComments;
+    private boolean pendingReload;
+
     private Timer refreshTimer;
+    private final ServerEventSubscription events;
+    private final ServerEventSubscription.Listener commentListener = new ServerEventSubscription.Listener() {
+        @Override
+        public void onEvent(String type, Map<String, Object> data) {
+            Object eventTaskId = data.get("taskId");
+            if (type.startsWith("comment.") && eventTaskId instanceof Number
+                    && ((Number) eventTaskId).longValue() == taskId) {
+                if ("comment.added".equals(type)) {
+                    loadNewComments();
+                } else {
+                    loadComments();
+                }
+            }
+        }
+    };
     
     public TaskCommentsDialog(Window parent, Long taskId, String taskTitle, Long currentUserId, RestApiClient apiClient) {
+        this(parent, taskId, taskTitle, currentUserId, apiClient, null);
+    }
+
+    /**
+     * @param events subscrição de eventos do dashboard (opcional): quando ligada, os comentários
+     *               são recarregados apenas quando chega um evento desta tarefa
+     */
+    public TaskCommentsDialog(Window parent, Long taskId, String taskTitle, Long currentUserId,
+                              RestApiClient apiClient, ServerEventSubscription events) {
         super(parent, "Comentários - " + taskTitle, ModalityType.APPLICATION_MODAL);
         this.taskId = taskId;
         this.currentUserId = currentUserId;
         this.apiClient = apiClient;
         this.taskTitle = taskTitle;
+        this.events = events;
         
         initializeComponents();
         setupDialog();
@@ -95,6 +134,15 @@ public class TaskCommentsDialog extends JDialog {
         commentsScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         commentsScrollPane.setBorder(BorderFactory.createTitledBorder("Histórico de Comentários"));
         
+        // Ao chegar ao fim do histórico, carregar a página de comentários anteriores
+        commentsScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = commentsScrollPane.getVerticalScrollBar();
+            if (!e.getValueIsAdjusting() && hasOlderComments && !loadingComments
+                    && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - 20) {
+                loadOlderComments();
+            }
+        });
+
         centerPanel.add(commentsScrollPane, BorderLayout.CENTER);
         
         // Painel para novo comentário
@@ -216,100 +264,181 @@ public class TaskCommentsDialog extends JDialog {
         });
     }
     
+    /**
+     * Carrega a página mais recente de comentários, substituindo o que está no ecrã
+     */
     private void loadComments() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                statusLabel.setText("Carregando comentários...");
-                statusLabel.setForeground(Color.BLACK);
-                
-                // Chamar API para obter comentários
-                Map<String, Object> response = apiClient.getTaskComments(taskId);
-                
-                if (response != null && response.containsKey("comments")) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> comments = (List<Map<String, Object>>) response.get("comments");
-                    
-                    displayComments(comments);
-                    
-                    // Atualizar contador
-                    int total = comments.size();
+        fetchComments(null, null, response -> {
+            List<Map<String, Object>> comments = commentsOf(response);
+            hasOlderComments = Boolean.TRUE.equals(response.get("hasMore"));
+            newestCommentId = comments.isEmpty() ? null : commentId(comments.get(0));
+            oldestCommentId = comments.isEmpty() ? null : commentId(comments.get(comments.size() - 1));
+
+            if (comments.isEmpty()) {
+                commentsArea.setText("Nenhum comentário ainda.\nSeja o primeiro a comentar!");
+            } else {
+                commentsArea.setText(formatComments(comments));
+            }
+            commentsArea.setCaretPosition(0);
+        });
+    }
+
+    /**
+     * Acrescenta no fim a página de comentários anteriores ao mais antigo carregado
+     */
+    private void loadOlderComments() {
+        if (!hasOlderComments || oldestCommentId == null) {
+            return;
+        }
+        fetchComments(oldestCommentId, null, response -> {
+            List<Map<String, Object>> comments = commentsOf(response);
+            hasOlderComments = Boolean.TRUE.equals(response.get("hasMore"));
+            if (!comments.isEmpty()) {
+                oldestCommentId = commentId(comments.get(comments.size() - 1));
+                commentsArea.append("\n" + formatComments(comments));
+            }
+        });
+    }
+
+    /**
+     * Acrescenta no topo só os comentários novos desde o mais recente carregado
+     */
+    private void loadNewComments() {
+        if (newestCommentId == null) {
+            loadComments();
+            return;
+        }
+        fetchComments(null, newestCommentId, response -> {
+            List<Map<String, Object>> comments = new ArrayList<>(commentsOf(response));
+            if (!comments.isEmpty()) {
+                Collections.reverse(comments); // chegam dos mais antigos para os mais recentes
+                newestCommentId = commentId(comments.get(0));
+                commentsArea.insert(formatComments(comments) + "\n", 0);
+            }
+            if (Boolean.TRUE.equals(response.get("hasMore"))) {
+                loadNewComments();
+            }
+        });
+    }
+
+    /**
+     * Pede uma página à API em segundo plano e aplica-a no EDT. Enquanto há um pedido em
+     * curso, páginas antigas são ignoradas e recargas ou comentários novos ficam para o fim.
+     */
+    private void fetchComments(Long before, Long after, Consumer<Map<String, Object>> onLoaded) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> fetchComments(before, after, onLoaded));
+            return;
+        }
+        if (loadingComments) {
+            if (before == null && after == null) {
+                pendingReload = true;
+            } else if (after != null) {
+                pendingNewComments = true;
+            }
+            return;
+        }
+        loadingComments = true;
+        statusLabel.setText("Carregando comentários...");
+        statusLabel.setForeground(Color.BLACK);
+
+        new SwingWorker<Map<String, Object>, Void>() {
+            @Override
+            protected Map<String, Object> doInBackground() {
+                return apiClient.getTaskCommentsPage(taskId, before, after, PAGE_SIZE);
+            }
+
+            @Override
+            protected void done() {
+                loadingComments = false;
+                try {
+                    Map<String, Object> response = get();
+                    if (response == null || !response.containsKey("comments")) {
+                        statusLabel.setText("Erro ao carregar comentários");
+                        statusLabel.setForeground(Color.RED);
+                        return;
+                    }
+                    onLoaded.accept(response);
+
+                    long total = response.get("total") instanceof Number ? ((Number) response.get("total")).longValue() : 0;
                     commentCountLabel.setText(total + (total == 1 ? " comentário" : " comentários"));
-                    
-                    statusLabel.setText("Comentários atualizados (" + 
+                    statusLabel.setText("Comentários atualizados (" +
                         LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")) + ")");
                     statusLabel.setForeground(new Color(34, 139, 34));
-                } else {
-                    commentsArea.setText("Nenhum comentário ainda.\nSeja o primeiro a comentar!");
-                    commentCountLabel.setText("0 comentários");
-                    statusLabel.setText("Nenhum comentário encontrado");
-                    statusLabel.setForeground(Color.GRAY);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    statusLabel.setText("Erro ao carregar comentários");
+                    statusLabel.setForeground(Color.RED);
+                } finally {
+                    if (!loadingComments && (pendingReload || pendingNewComments)) {
+                        boolean reload = pendingReload;
+                        pendingReload = false;
+                        pendingNewComments = false;
+                        if (reload) {
+                            loadComments();
+                        } else {
+                            loadNewComments();
+                        }
+                    }
                 }
-                
-            } catch (Exception e) {
-                e.printStackTrace();
-                commentsArea.setText("❌ Erro ao carregar comentários: " + e.getMessage());
-                statusLabel.setText("Erro ao carregar comentários");
-                statusLabel.setForeground(Color.RED);
             }
-        });
+        }.execute();
     }
-    
-    private void displayComments(List<Map<String, Object>> comments) {
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> commentsOf(Map<String, Object> response) {
+        return (List<Map<String, Object>>) response.get("comments");
+    }
+
+    private static Long commentId(Map<String, Object> comment) {
+        Object id = comment.get("id");
+        return id instanceof Number ? ((Number) id).longValue() : null;
+    }
+
+    /**
+     * Formata uma lista de comentários (pela ordem recebida) para a área de histórico
+     */
+    private String formatComments(List<Map<String, Object>> comments) {
         StringBuilder sb = new StringBuilder();
-        
-        if (comments.isEmpty()) {
-            sb.append("Nenhum comentário ainda.\nSeja o primeiro a comentar!");
-        } else {
-            for (int i = 0; i < comments.size(); i++) {
-                Map<String, Object> comment = comments.get(i);
-                
-                // Extrair dados do comentário
-                String userName = extractUserName(comment);
-                String commentText = getStringValue(comment, "commentText", "");
-                String createdAt = getStringValue(comment, "createdAt", "");
-                Boolean isSystemMessage = (Boolean) comment.get("isSystemMessage");
-                
-                // Debug - imprimir dados do comentário
-                System.out.println("DEBUG - Comentário " + i + ":");
-                System.out.println("  commentText bruto: [" + comment.get("commentText") + "]");
-                System.out.println("  commentText extraído: [" + commentText + "]");
-                System.out.println("  commentText length: " + (commentText != null ? commentText.length() : "null"));
-                System.out.println("  userName: [" + userName + "]");
-                System.out.println("  Todas as chaves: " + comment.keySet());
-                
-                // Verificar se comentText está vazio e forçar um valor para debug
-                if (commentText == null || commentText.trim().isEmpty()) {
-                    Object rawText = comment.get("commentText");
-                    commentText = "[DEBUG] Texto vazio - Raw: [" + rawText + "] - Tipo: " + 
-                                 (rawText != null ? rawText.getClass().getSimpleName() : "null");
-                } else {
-                    // Garantir que o texto não seja perdido
-                    commentText = commentText.trim();
-                }
-                
-                // Formatar data e hora
-                String formattedDate = formatDateTime(createdAt);
-                
-                if (Boolean.TRUE.equals(isSystemMessage)) {
-                    // Mensagem do sistema
-                    sb.append("🔔 ").append(formattedDate).append(" - SISTEMA\n");
-                    sb.append("   ").append(commentText).append("\n");
-                } else {
-                    // Comentário normal do usuário
-                    sb.append("💬 ").append(formattedDate).append(" - ").append(userName).append("\n");
-                    sb.append("   ").append(commentText).append("\n");
-                }
-                
-                if (i < comments.size() - 1) {
-                    sb.append("\n");
-                }
+        for (int i = 0; i < comments.size(); i++) {
+            Map<String, Object> comment = comments.get(i);
+
+            // Extrair dados do comentário
+            String userName = extractUserName(comment);
+            String commentText = getStringValue(comment, "commentText", "");
+            String createdAt = getStringValue(comment, "createdAt", "");
+            Boolean isSystemMessage = (Boolean) comment.get("isSystemMessage");
+
+            // Verificar se comentText está vazio e forçar um valor para debug
+            if (commentText == null || commentText.trim().isEmpty()) {
+                Object rawText = comment.get("commentText");
+                commentText = "[DEBUG] Texto vazio - Raw: [" + rawText + "] - Tipo: " +
+                             (rawText != null ? rawText.getClass().getSimpleName() : "null");
+            } else {
+                // Garantir que o texto não seja perdido
+                commentText = commentText.trim();
+            }
+
+            // Formatar data e hora
+            String formattedDate = formatDateTime(createdAt);
+
+            if (Boolean.TRUE.equals(isSystemMessage)) {
+                // Mensagem do sistema
+                sb.append("🔔 ").append(formattedDate).append(" - SISTEMA\n");
+                sb.append("   ").append(commentText).append("\n");
+            } else {
+                // Comentário normal do usuário
+                sb.append("💬 ").append(formattedDate).append(" - ").append(userName).append("\n");
+                sb.append("   ").append(commentText).append("\n");
+            }
+
+            if (i < comments.size() - 1) {
+                sb.append("\n");
             }
         }
-        
-        commentsArea.setText(sb.toString());
-        commentsArea.setCaretPosition(commentsArea.getDocument().getLength());
+        return sb.toString();
     }
-    
+
     /**
      * Extrai o nome do utilizador do comentário, tentando várias estruturas possíveis
      */
@@ -452,8 +581,8 @@ public class TaskCommentsDialog extends JDialog {
                         newCommentArea.setText("Digite seu comentário aqui...");
                         newCommentArea.setForeground(Color.GRAY);
                         
-                        // Recarregar comentários
-                        loadComments();
+                        // Carregar o comentário enviado (e outros novos)
+                        loadNewComments();
                         
                         statusLabel.setText("Comentário enviado com sucesso!");
                         statusLabel.setForeground(new Color(34, 139, 34));
@@ -481,14 +610,27 @@ public class TaskCommentsDialog extends JDialog {
     }
     
     private void startAutoRefresh() {
-        // Auto-refresh a cada 30 segundos
+        // Com eventos, recarregar quando chega um comentário desta tarefa
+        if (events != null) {
+            events.addListener(commentListener);
+        }
+        
+        // Auto-refresh a cada 30 segundos (só como recurso, se não houver ligação de eventos)
         refreshTimer = new Timer(30000, e -> {
-            if (isDisplayable() && isVisible()) {
-                loadComments();
+            if (isDisplayable() && isVisible() && (events == null || !events.isConnected())) {
+                loadNewComments();
             }
         });
         refreshTimer.start();
     }
+    
+    @Override
+    public void dispose() {
+        if (events != null) {
+            events.removeListener(commentListener);
+        }
+        super.dispose();
+    }
 
     /**
      * Marca comentários como lidos via API e fecha o diálogo em caso de sucesso.
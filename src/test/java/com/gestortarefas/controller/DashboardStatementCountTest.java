@@ -0,0 +1,121 @@
+package com.gestortarefas.controller;
+
+import com.gestortarefas.BackendOnlyApplication;
+import com.gestortarefas.model.Task;
+import com.gestortarefas.model.Task.TaskPriority;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.TaskComment;
+import com.gestortarefas.model.User;
+import com.gestortarefas.model.UserRole;
+import com.gestortarefas.repository.TaskCommentRepository;
+import com.gestortarefas.repository.TaskRepository;
+import com.gestortarefas.repository.UserRepository;
+import com.gestortarefas.support.SqlRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número de instruções SQL de um pedido ao dashboard do funcionário (incluindo as
+ * contagens de comentários e a serialização da resposta): não depende do número de
+ * tarefas do utilizador.
+ */
+@SpringBootTest(classes = BackendOnlyApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlRecorder.class)
+class DashboardStatementCountTest {
+
+    private static final String ADMIN_AUTH = "Basic " + Base64.getEncoder()
+        .encodeToString("martim.sottomayor:martim.sottomayor123".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCommentRepository taskCommentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Test
+    void employeeDashboardStatementCountDoesNotGrowWithTasks() throws Exception {
+        Map<Integer, Integer> statements = new LinkedHashMap<>();
+        for (int tasks : new int[] {10, 100, 1000}) {
+            User employee = createEmployeeWithTasks(tasks);
+            String url = "/api/dashboard/employee/" + employee.getId();
+
+            // Primeiro pedido fora da contagem: caches do utilizador já carregadas
+            mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, ADMIN_AUTH)).andExpect(status().isOk());
+
+            sqlRecorder.start();
+            mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, ADMIN_AUTH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.totalTasks").value(tasks))
+                .andExpect(jsonPath("$.pending[?(@.unreadComments == 2)]").isNotEmpty());
+            statements.put(tasks, sqlRecorder.stop().size());
+        }
+
+        assertThat(statements.get(10)).isPositive();
+        assertThat(statements.values()).as("instruções por nº de tarefas: %s", statements).containsOnly(statements.get(10));
+    }
+
+    /**
+     * Funcionário com "count" tarefas distribuídas pelas 4 colunas do dashboard; um terço
+     * delas com dois comentários de outro utilizador (por ler)
+     */
+    private User createEmployeeWithTasks(int count) {
+        return transactionTemplate.execute(status -> {
+            User author = userRepository.findByUsername("martim.sottomayor").orElseThrow();
+            User employee = userRepository.save(new User("dashboard.test" + count, "dashboard.test" + count + "@example.com",
+                "password123", "Dashboard Test " + count, UserRole.FUNCIONARIO));
+            LocalDateTime now = LocalDateTime.now();
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Task task = new Task("Tarefa " + i, "Descrição " + i, TaskPriority.NORMAL, employee);
+                task.setCreatedBy(author);
+                switch (i % 4) {
+                    case 0 -> task.setDueDate(now.plusDays(10));
+                    case 1 -> task.setDueDate(now.plusHours(1));
+                    case 2 -> task.setDueDate(now.minusDays(2));
+                    default -> task.setStatus(TaskStatus.CONCLUIDA);
+                }
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+            for (int i = 0; i < count; i += 3) {
+                taskCommentRepository.save(new TaskComment(tasks.get(i), author, "Primeiro comentário"));
+                taskCommentRepository.save(new TaskComment(tasks.get(i), author, "Segundo comentário"));
+            }
+            return employee;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.gestortarefas.repository;
+
+import com.gestortarefas.BackendOnlyApplication;
+import com.gestortarefas.model.Task.TaskStatus;
+import com.gestortarefas.model.Team;
+import com.gestortarefas.model.User;
+import com.gestortarefas.support.SqlRecorder;
+import com.gestortarefas.support.SqlRecorder.RecordedStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planos (EXPLAIN no H2 em modo MySQL) das consultas de prazo para hoje, em atraso e
+ * concluídas: cada uma deve usar o índice declarado em Task para o seu filtro.
+ */
+@SpringBootTest(classes = BackendOnlyApplication.class)
+@ActiveProfiles("test")
+@Import(SqlRecorder.class)
+class TaskQueryPlanTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskViewRepository taskViewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    private User user;
+    private Team team;
+    private LocalDateTime now;
+    private LocalDateTime dayStart;
+    private LocalDateTime dayEnd;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findAll().get(0);
+        team = teamRepository.findAll().get(0);
+        now = LocalDateTime.now();
+        dayStart = LocalDate.now().atStartOfDay();
+        dayEnd = dayStart.plusDays(1);
+    }
+
+    @Test
+    void dueTodayQueriesUseTheOpenDueIndexes() {
+        assertThat(plan(() -> taskRepository.findTasksDueToday(dayStart, dayEnd, TaskStatus.OPEN)))
+            .contains("idx_tasks_status_due");
+        assertThat(plan(() -> taskRepository.findTasksDueTodayByUser(user, dayStart, dayEnd, TaskStatus.OPEN)))
+            .contains("idx_tasks_user_open_due");
+        assertThat(plan(() -> taskRepository.findTasksDueTodayByTeam(team, dayStart, dayEnd, TaskStatus.OPEN)))
+            .contains("idx_tasks_team_open_due");
+    }
+
+    @Test
+    void overdueQueriesUseTheOpenDueIndexes() {
+        assertThat(plan(() -> taskRepository.findOverdueTasks(now, TaskStatus.OPEN)))
+            .contains("idx_tasks_status_due");
+        assertThat(plan(() -> taskRepository.findOverdueTasksByUser(user, now, TaskStatus.OPEN)))
+            .contains("idx_tasks_user_open_due");
+        assertThat(plan(() -> taskRepository.findOverdueTasksByTeam(team, now, TaskStatus.OPEN)))
+            .contains("idx_tasks_team_open_due");
+        assertThat(plan(() -> taskViewRepository.findOverdue(now, TaskStatus.OPEN)))
+            .contains("idx_tasks_status_due");
+        assertThat(plan(() -> taskViewRepository.findOverdueByUserId(user.getId(), now, TaskStatus.OPEN)))
+            .contains("idx_tasks_user_open_due");
+    }
+
+    @Test
+    void completedQueriesUseTheStatusCompletedIndex() {
+        assertThat(plan(() -> taskRepository.findRecentlyCompletedTasks()))
+            .contains("idx_tasks_status_completed");
+        assertThat(plan(() -> taskRepository.findTasksCompletedBetween(now.minusDays(7), now)))
+            .contains("idx_tasks_status_completed");
+        assertThat(plan(() -> taskViewRepository.findCompletedSince(now.minusDays(3))))
+            .contains("idx_tasks_status_completed");
+    }
+
+    /**
+     * Executa a consulta, e devolve o EXPLAIN da instrução sobre tasks que ela gerou
+     * (com os mesmos parâmetros)
+     */
+    private String plan(Runnable query) {
+        sqlRecorder.start();
+        query.run();
+        List<RecordedStatement> statements = sqlRecorder.stop();
+        RecordedStatement select = statements.stream()
+            .filter(statement -> statement.sql().toLowerCase().contains("from tasks"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Nenhuma consulta sobre tasks: " + statements));
+        return jdbcTemplate.queryForObject("EXPLAIN " + select.sql(), String.class, select.parameters().toArray());
+    }
+}
@@ -0,0 +1,113 @@
+package com.gestortarefas.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Envolve o DataSource da aplicação e regista, entre start() e stop(), cada instrução
+ * executada (SQL e parâmetros), seja do Hibernate ou do JdbcTemplate.
+ * Para usar num teste: @Import(SqlRecorder.class).
+ */
+@TestComponent
+public class SqlRecorder implements BeanPostProcessor {
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private volatile boolean recording;
+
+    /**
+     * Começa a registar (descarta o que foi registado antes)
+     */
+    public synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    /**
+     * Para de registar e devolve as instruções executadas desde start()
+     */
+    public synchronized List<RecordedStatement> stop() {
+        recording = false;
+        return new ArrayList<>(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                return result instanceof Connection connection ? recordingConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Connection recordingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                return recordingStatement(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return recordingStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T recordingStatement(Class<T> type, T statement, String preparedSql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                record(sql, new ArrayList<>(parameters.values()));
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private synchronized void record(String sql, List<Object> parameters) {
+        if (recording) {
+            statements.add(new RecordedStatement(sql, parameters));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Instrução executada, com os parâmetros pela ordem dos "?"
+     */
+    public record RecordedStatement(String sql, List<Object> parameters) {
+    }
+}
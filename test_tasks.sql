@@ -1,5 +1,15 @@
+-- Os IDs das tarefas vêm do gerador da aplicação (linha 'tasks' de id_generators), não de
+-- AUTO_INCREMENT: reservar aqui um bloco acima do próximo valor do gerador, com a margem de
+-- um bloco da aplicação (50), para não usar IDs que uma instância em execução já reservou.
+-- Correr depois de a aplicação ter arrancado uma vez (cria as tabelas e o gerador) e
+-- reiniciá-la no fim, para preencher as colunas de ordenação, as etiquetas e o índice de pesquisa.
+START TRANSACTION;
+SELECT next_val INTO @task_id FROM id_generators WHERE name = 'tasks' FOR UPDATE;
+UPDATE id_generators SET next_val = next_val + 3 + 50 WHERE name = 'tasks';
+COMMIT;
+
 -- Inserir apenas algumas tarefas de teste primeiro
-INSERT INTO tasks (title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
-('Planeamento Estratégico 2025', 'Definir objetivos estratégicos da empresa para o próximo ano', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 15 DAY), 'estrategia', 40),
-('Reunião Investidores', 'Apresentar resultados do trimestre', 'EM_ANDAMENTO', 'URGENTE', 68, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'investidores', 8),
-('Proposta Cliente ABC', 'Elaborar proposta comercial para 500 toneladas de tubos', 'PENDENTE', 'URGENTE', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 2 DAY), 'proposta', 4);
\ No newline at end of file
+INSERT INTO tasks (id, archived, title, description, status, priority, user_id, created_at, updated_at, due_date, tags, estimated_hours) VALUES
+(@task_id + 1, FALSE, 'Planeamento Estratégico 2025', 'Definir objetivos estratégicos da empresa para o próximo ano', 'PENDENTE', 'ALTA', 67, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 15 DAY), 'estrategia', 40),
+(@task_id + 2, FALSE, 'Reunião Investidores', 'Apresentar resultados do trimestre', 'EM_ANDAMENTO', 'URGENTE', 68, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 7 DAY), 'investidores', 8),
+(@task_id + 3, FALSE, 'Proposta Cliente ABC', 'Elaborar proposta comercial para 500 toneladas de tubos', 'PENDENTE', 'URGENTE', 53, NOW(), NOW(), DATE_ADD(NOW(), INTERVAL 2 DAY), 'proposta', 4);
\ No newline at end of file